@@ -0,0 +1,629 @@
+/**
+ * Jose Jimenez-Olivas
+ * Brandon Cramer
+ * Email: jjj023@ucsd.edu
+ *
+ *                 University of California, San Diego
+ *                           IEEE Micromouse
+ *
+ * File Name:   AlgorithmBenchmark.java
+ * Description: Measures the time and allocation of the maze and mouse
+ *              algorithms by maze dimension and number of non-tree edges,
+ *              and fails if a result regressed against a saved baseline.
+ */
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Maze and mouse algorithm benchmark. Run with: make perf
+ *
+ *   AlgorithmBenchmark [-benchmark <names>] [-dimension <sizes>]
+ *     [-edges <counts>] [-warmup <n>] [-iterations <n>] [-time <ms>]
+ *     [-save <file>] [-baseline <file>] [-tolerance <fraction>]
+ *
+ * Lists are comma separated. Every benchmark runs for every dimension and
+ * non-tree edge count on a thread of its own, so the allocation of the
+ * benchmark is the allocation of that thread. Mazes are generated from a
+ * fixed seed, so every run measures the same mazes; the maze of a dimension
+ * and edge count is generated once and shared by the benchmarks that read it.
+ * Warmup runs operations for warmup * time, then every measured iteration
+ * runs operations for at least time - an operation slower than that is one
+ * operation per iteration. Like the JMH GC profiler, allocation is reported
+ * per operation and as a rate, with the collections during measurement.
+ *
+ * With -save the results are written to a file; with -baseline the results
+ * are compared to a saved file and the program exits with status 1 if a
+ * result is slower or allocates more than the tolerance allows.
+ */
+public class AlgorithmBenchmark {
+  private static final int[] DIMENSIONS = { 16, 64, 256, 1024 };
+  private static final int[] NON_TREE_EDGES = { 0, 10 };
+  private static final int WARMUP = 2;          /* iterations worth of time */
+  private static final int ITERATIONS = 3;
+  private static final long ITERATION_TIME = 1000; /* milliseconds */
+  private static final double TOLERANCE = 0.25;
+  private static final long ALLOCATION_SLACK = 1024; /* bytes per operation */
+  private static final long STACK_SIZE = 1L << 30;   /* dfs and flood fill recurse per cell */
+  private static final long SEED = 1;                /* same mazes in every run */
+  private static final int MESSAGES = 4096;
+  private static final int MESSAGES_PER_OPERATION = 1000;
+  private static final String[] HEADINGS = { "north", "east", "south", "west" };
+  private static final String[] WALLS = { "", "up", "left,right", "up,right,down", "left,up" };
+  private static final double NANOS_PER_MILLI = 1e6;
+  private static final double BYTES_PER_MEGABYTE = 1024.0 * 1024.0;
+
+  private static int checksum = 0; /* keeps results alive */
+
+  /* state shared by the benchmarks of one dimension and edge count */
+  private static Maze maze;
+  private static Maze copy;
+  private static Mouse mouse;
+  private static byte[] encoded;
+  private static ByteArrayInputStream encodedStream;
+  private static final ByteArrayOutputStream encoder = new ByteArrayOutputStream();
+  private static final PeriscopeTextParser parser = new PeriscopeTextParser();
+  private static String[] messages;
+
+  /**
+   * One benchmarked operation and the state it needs.
+   */
+  private static abstract class Workload {
+    private final String name;
+    private final boolean usesEdges;
+
+    /**
+     * Creates a named workload.
+     * @param name name printed and saved with the results.
+     * @param usesEdges false if the number of non-tree edges is irrelevant,
+     *                  in which case the workload runs once per dimension.
+     * @return Nothing.
+     */
+    Workload( String name, boolean usesEdges ) {
+      this.name = name;
+      this.usesEdges = usesEdges;
+    }
+
+    /**
+     * Prepares the state of one operation - not measured.
+     * @param dimension side of the maze.
+     * @param edges number of non-tree edges of the maze.
+     * @return Nothing.
+     */
+    void setup( int dimension, int edges ) {
+    }
+
+    /**
+     * Runs one operation.
+     * @param invocation number of operations run before this one.
+     * @return a value derived from the result.
+     * @throws IOException if the maze could not be encoded or decoded.
+     */
+    abstract int run( long invocation ) throws IOException;
+  }
+
+  private static final Workload[] WORKLOADS = {
+    new Workload( "createRandomMaze", true ) {
+      private Maze generated;
+      private int non_tree_edges;
+
+      /**
+       * Allocates the maze that is regenerated.
+       * @param dimension side of the maze.
+       * @param edges number of non-tree edges of the maze.
+       * @return Nothing.
+       */
+      @Override
+      void setup( int dimension, int edges ) {
+        generated = new Maze( dimension );
+        non_tree_edges = edges;
+      }
+
+      /**
+       * Clears and regenerates the maze, as the new maze button does.
+       * @param invocation number of operations run before this one.
+       * @return number of cells.
+       */
+      @Override
+      int run( long invocation ) {
+        generated.clear();
+        generated.createRandomMaze( non_tree_edges, new Random(SEED) );
+        return generated.getWidth();
+      }
+    },
+    new Workload( "dijkstra", true ) {
+      /**
+       * Solves the maze, alternating direction so the path is not cached.
+       * @param invocation number of operations run before this one.
+       * @return length of the path.
+       */
+      @Override
+      int run( long invocation ) {
+        boolean forward = invocation % 2 == 0;
+        maze.dijkstra( forward ? maze.getBegin() : maze.getEnd(), forward ? maze.getEnd() : maze.getBegin() );
+        return maze.getDijkstraPath().size();
+      }
+    },
+    new Workload( "dfs", true ) {
+      /**
+       * Solves the maze, alternating direction so the path is not cached.
+       * @param invocation number of operations run before this one.
+       * @return length of the path.
+       */
+      @Override
+      int run( long invocation ) {
+        boolean forward = invocation % 2 == 0;
+        maze.dfs( forward ? maze.getBegin() : maze.getEnd(), forward ? maze.getEnd() : maze.getBegin() );
+        return maze.getDFSPath().size();
+      }
+    },
+    new Workload( "serialize", true ) {
+      /**
+       * Encodes the maze into a reused buffer.
+       * @param invocation number of operations run before this one.
+       * @return size of the encoding.
+       * @throws IOException never, the stream is in memory.
+       */
+      @Override
+      int run( long invocation ) throws IOException {
+        encoder.reset();
+        maze.serialize( encoder );
+        return encoder.size();
+      }
+    },
+    new Workload( "deserialize", true ) {
+      /**
+       * Decodes the encoded maze into a maze of the same dimension.
+       * @param invocation number of operations run before this one.
+       * @return 1 if the maze was decoded.
+       * @throws IOException never, the stream is in memory.
+       */
+      @Override
+      int run( long invocation ) throws IOException {
+        encodedStream.reset();
+        return copy.deserialize( encodedStream ) ? 1 : 0;
+      }
+    },
+    new Workload( "exploreNextCell", true ) {
+      /**
+       * Forgets the maze and explores it until the optimal path is found, as
+       * the animation does.
+       * @param invocation number of operations run before this one.
+       * @return number of runs the mouse needed.
+       */
+      @Override
+      int run( long invocation ) {
+        mouse.restart();
+        boolean exploring;
+        do {
+          exploring = mouse.exploreNextCell();
+        } while( exploring || !mouse.isDone() );
+        return mouse.getNumberOfRuns();
+      }
+    },
+    new Workload( "updateMazeDistances", true ) {
+      /**
+       * Explores the maze, so the maze memory of the mouse holds the walls
+       * it discovered.
+       * @param dimension side of the maze.
+       * @param edges number of non-tree edges of the maze.
+       * @return Nothing.
+       */
+      @Override
+      void setup( int dimension, int edges ) {
+        mouse.restart();
+        boolean exploring;
+        do {
+          exploring = mouse.exploreNextCell();
+        } while( exploring || !mouse.isDone() );
+      }
+
+      /**
+       * Floods the explored maze memory of the mouse from its start.
+       * @param invocation number of operations run before this one.
+       * @return distance of the target.
+       */
+      @Override
+      int run( long invocation ) {
+        Maze memory = mouse.getMaze();
+        mouse.updateMazeDistances( memory.getBegin() );
+        return memory.getEnd().distance;
+      }
+    },
+    new Workload( "periscopeTextParse", false ) {
+      /**
+       * Creates the messages of a mouse wandering a maze of the dimension.
+       * @param dimension side of the maze.
+       * @param edges unused.
+       * @return Nothing.
+       */
+      @Override
+      void setup( int dimension, int edges ) {
+        Random random = new Random( 1 );
+        messages = new String[ MESSAGES ];
+        for( int index = 0; index < MESSAGES; index++ ) {
+          messages[ index ] = String.format( "Periscope: (%dx%d)(%d,%d)(%s)(%s)", dimension, dimension,
+                                             random.nextInt(dimension), random.nextInt(dimension),
+                                             HEADINGS[ random.nextInt(HEADINGS.length) ], WALLS[ random.nextInt(WALLS.length) ] );
+        }
+      }
+
+      /**
+       * Parses MESSAGES_PER_OPERATION messages, so milliseconds per
+       * operation are microseconds per message.
+       * @param invocation number of operations run before this one.
+       * @return sum of the parsed walls.
+       */
+      @Override
+      int run( long invocation ) {
+        int sum = 0;
+        int first = (int)( invocation * MESSAGES_PER_OPERATION % MESSAGES );
+        for( int index = 0; index < MESSAGES_PER_OPERATION; index++ ) {
+          if( parser.parse(messages[ (first + index) % MESSAGES ]) ) sum += parser.getWalls();
+        }
+        return sum;
+      }
+    }
+  };
+
+  /**
+   * Result of one benchmark for one dimension and edge count.
+   */
+  private static class Result {
+    private final String key;
+    private final double millis;
+    private final double error;
+    private final double bytes;
+    private final double rate;
+    private final long collections;
+    private final long collection_millis;
+
+    /**
+     * Creates a result.
+     * @param key benchmark name, dimension and edge count.
+     * @param millis mean milliseconds per operation.
+     * @param error standard deviation of the iteration means.
+     * @param bytes bytes allocated per operation.
+     * @param rate megabytes allocated per second.
+     * @param collections garbage collections during measurement.
+     * @param collection_millis time spent in those collections.
+     * @return Nothing.
+     */
+    Result( String key, double millis, double error, double bytes, double rate, long collections, long collection_millis ) {
+      this.key = key;
+      this.millis = millis;
+      this.error = error;
+      this.bytes = bytes;
+      this.rate = rate;
+      this.collections = collections;
+      this.collection_millis = collection_millis;
+    }
+  }
+
+  /**
+   * Runs the selected benchmarks and compares them to the baseline.
+   * @param args command line arguments, see the class comment.
+   * @return Nothing.
+   * @throws Exception if the benchmark thread failed or a file could not be
+   *                   read or written.
+   */
+  public static void main( String[] args ) throws Exception {
+    List<String> names = new ArrayList<String>();
+    int[] dimensions = DIMENSIONS;
+    int[] edge_counts = NON_TREE_EDGES;
+    int warmup = WARMUP;
+    int iterations = ITERATIONS;
+    long time = ITERATION_TIME;
+    double tolerance = TOLERANCE;
+    File save = null;
+    File baseline = null;
+
+    for( int index = 0; index < args.length; index++ ) {
+      /* parse command line arguments */
+      switch( args[ index ] ) {
+        case "-benchmark": for( String name : args[ ++index ].split(",") ) names.add( name ); break;
+        case "-dimension": dimensions = parseList( args[ ++index ] ); break;
+        case "-edges": edge_counts = parseList( args[ ++index ] ); break;
+        case "-warmup": warmup = Integer.parseInt( args[ ++index ] ); break;
+        case "-iterations": iterations = Math.max( 1, Integer.parseInt(args[ ++index ]) ); break;
+        case "-time": time = Long.parseLong( args[ ++index ] ); break;
+        case "-tolerance": tolerance = Double.parseDouble( args[ ++index ] ); break;
+        case "-save": save = new File( args[ ++index ] ); break;
+        case "-baseline": baseline = new File( args[ ++index ] ); break;
+        default:
+          System.err.println( "Unknown argument: " + args[ index ] );
+          System.exit( 1 );
+      }
+    }
+    List<Workload> workloads = new ArrayList<Workload>();
+    for( Workload workload : WORKLOADS ) {
+      if( names.isEmpty() || names.contains(workload.name) ) workloads.add( workload );
+    }
+
+    final List<Result> results = new ArrayList<Result>();
+    final List<Workload> selected = workloads;
+    final int[] dimension_list = dimensions;
+    final int[] edge_list = edge_counts;
+    final int warmup_iterations = warmup;
+    final int measured_iterations = iterations;
+    final long iteration_time = time;
+    final Exception[] failure = new Exception[ 1 ];
+    Thread runner = new Thread( null, new Runnable() {
+      /**
+       * Runs every benchmark on this thread.
+       * @return Nothing.
+       */
+      @Override
+      public void run() {
+        try {
+          runAll( selected, dimension_list, edge_list, warmup_iterations, measured_iterations, iteration_time, results );
+        }
+        catch( Exception e ) {
+          failure[ 0 ] = e;
+        }
+      }
+    }, "AlgorithmBenchmark", STACK_SIZE );
+    runner.start();
+    runner.join();
+    if( failure[ 0 ] != null ) throw failure[ 0 ];
+    if( checksum == 42 ) System.out.println();
+
+    if( save != null ) saveResults( save, results );
+    if( baseline != null && !compare(baseline, results, tolerance) ) System.exit( 1 );
+  }
+
+  /**
+   * Runs every workload for every dimension and edge count and prints a row
+   * per result.
+   * @param workloads benchmarks to run.
+   * @param dimensions maze sides.
+   * @param edge_counts numbers of non-tree edges.
+   * @param warmup iterations worth of warmup time.
+   * @param iterations measured iterations.
+   * @param time minimum milliseconds per iteration.
+   * @param results list the results are appended to.
+   * @return Nothing.
+   * @throws IOException if a maze could not be encoded or decoded.
+   */
+  private static void runAll( List<Workload> workloads, int[] dimensions, int[] edge_counts, int warmup, int iterations, long time, List<Result> results ) throws IOException {
+    PrintStream err = System.err;
+    PrintStream silent = new PrintStream( new OutputStream() {
+      /**
+       * Discards the progress messages of the algorithms.
+       * @param b byte written.
+       * @return Nothing.
+       */
+      @Override
+      public void write( int b ) {
+      }
+    } );
+
+    System.out.printf( "%-20s %9s %6s %14s %12s %14s %10s %6s %8s%n", "benchmark", "dimension", "edges",
+                       "ms/op", "error", "B/op", "MB/s", "gc", "gc ms" );
+    for( int dimension : dimensions ) {
+      for( int edge_index = 0; edge_index < edge_counts.length; edge_index++ ) {
+        int edges = edge_counts[ edge_index ];
+        System.setErr( silent );
+        try {
+          boolean prepared = false;
+          for( Workload workload : workloads ) {
+            if( !workload.usesEdges && edge_index > 0 ) continue;
+            if( workload.usesEdges && !prepared ) {
+              /* shared maze of this dimension and edge count */
+              prepare( dimension, edges );
+              prepared = true;
+            }
+            workload.setup( dimension, edges );
+            Result result = measure( workload, workload.name + " " + dimension + " " + ( workload.usesEdges ? edges : "-" ), warmup, iterations, time );
+            results.add( result );
+            System.out.printf( "%-20s %9d %6s %14.4f %12.4f %14.1f %10.1f %6d %8d%n", workload.name, dimension,
+                               workload.usesEdges ? String.valueOf(edges) : "-", result.millis, result.error,
+                               result.bytes, result.rate, result.collections, result.collection_millis );
+          }
+        }
+        finally {
+          System.setErr( err );
+        }
+      }
+    }
+  }
+
+  /**
+   * Generates the shared maze, its encoding and a mouse in it - not
+   * measured.
+   * @param dimension side of the maze.
+   * @param edges number of non-tree edges of the maze.
+   * @return Nothing.
+   * @throws IOException if the maze could not be encoded.
+   */
+  private static void prepare( int dimension, int edges ) throws IOException {
+    maze = copy = null;
+    mouse = null;
+    maze = new Maze( dimension );
+    maze.createRandomMaze( edges, new Random(SEED) );
+    copy = new Maze( dimension );
+    encoder.reset();
+    maze.serialize( encoder );
+    encoded = encoder.toByteArray();
+    encodedStream = new ByteArrayInputStream( encoded );
+
+    mouse = new Mouse( maze.getBegin().row, maze.getBegin().column, maze, new Maze(dimension) );
+  }
+
+  /**
+   * Warms up and measures one workload.
+   * @param workload the benchmark.
+   * @param key benchmark name, dimension and edge count.
+   * @param warmup iterations worth of warmup time.
+   * @param iterations measured iterations.
+   * @param time minimum milliseconds per iteration.
+   * @return the result.
+   * @throws IOException if the workload failed.
+   */
+  private static Result measure( Workload workload, String key, int warmup, int iterations, long time ) throws IOException {
+    long invocation = 0;
+    long deadline = System.nanoTime() + warmup * time * (long) NANOS_PER_MILLI;
+    while( warmup > 0 ) {
+      checksum += workload.run( invocation++ );
+      if( System.nanoTime() >= deadline ) break;
+    }
+
+    System.gc();
+    double[] means = new double[ iterations ];
+    long operations = 0;
+    long collections = getCollectionCount();
+    long collection_millis = getCollectionTime();
+    long allocated = allocatedBytes();
+    long begin = System.nanoTime();
+    for( int iteration = 0; iteration < iterations; iteration++ ) {
+      long start = System.nanoTime();
+      long end = start + time * (long) NANOS_PER_MILLI;
+      long count = 0;
+      long now;
+      do {
+        checksum += workload.run( invocation++ );
+        count++;
+        now = System.nanoTime();
+      } while( now < end );
+      means[ iteration ] = (now - start) / NANOS_PER_MILLI / count;
+      operations += count;
+    }
+    double seconds = (System.nanoTime() - begin) / 1e9;
+    double bytes = allocatedBytes() - allocated;
+
+    double mean = 0;
+    for( double value : means ) mean += value / iterations;
+    double variance = 0;
+    for( double value : means ) variance += (value - mean) * (value - mean) / iterations;
+    return new Result( key, mean, Math.sqrt(variance), bytes / operations, bytes / BYTES_PER_MEGABYTE / seconds,
+                       getCollectionCount() - collections, getCollectionTime() - collection_millis );
+  }
+
+  /**
+   * Writes results to a baseline file, one per line: benchmark, dimension,
+   * edges, milliseconds and bytes per operation.
+   * @param file file to write.
+   * @param results results to write.
+   * @return Nothing.
+   * @throws IOException if the file could not be written.
+   */
+  private static void saveResults( File file, List<Result> results ) throws IOException {
+    PrintWriter out = new PrintWriter( new FileWriter(file) );
+    try {
+      for( Result result : results ) {
+        out.printf( "%s %.6f %.1f%n", result.key, result.millis, result.bytes );
+      }
+    }
+    finally {
+      out.close();
+    }
+    System.out.println( "Saved " + results.size() + " results to " + file );
+  }
+
+  /**
+   * Compares results to a baseline file written by saveResults. Results
+   * without a baseline are not compared.
+   * @param file baseline file.
+   * @param results results of this run.
+   * @param tolerance fraction a result may be slower or allocate more.
+   * @return true if no result regressed, false otherwise.
+   * @throws IOException if the file could not be read.
+   */
+  private static boolean compare( File file, List<Result> results, double tolerance ) throws IOException {
+    Map<String, double[]> baseline = new HashMap<String, double[]>();
+    BufferedReader in = new BufferedReader( new FileReader(file) );
+    try {
+      String line;
+      while( (line = in.readLine()) != null ) {
+        String[] fields = line.trim().split( "\\s+" );
+        if( fields.length != 5 ) continue;
+        baseline.put( fields[0] + " " + fields[1] + " " + fields[2],
+                      new double[] { Double.parseDouble(fields[3]), Double.parseDouble(fields[4]) } );
+      }
+    }
+    finally {
+      in.close();
+    }
+
+    int regressions = 0;
+    for( Result result : results ) {
+      double[] expected = baseline.get( result.key );
+      if( expected == null ) continue;
+      if( result.millis > expected[0] * (1 + tolerance) ) {
+        System.out.printf( "REGRESSION %s: %.4f ms/op, baseline %.4f ms/op%n", result.key, result.millis, expected[0] );
+        regressions++;
+      }
+      if( result.bytes > expected[1] * (1 + tolerance) + ALLOCATION_SLACK ) {
+        System.out.printf( "REGRESSION %s: %.1f B/op, baseline %.1f B/op%n", result.key, result.bytes, expected[1] );
+        regressions++;
+      }
+    }
+    System.out.println( ( regressions == 0 ) ? "No regressions against " + file : regressions + " regressions against " + file );
+    return regressions == 0;
+  }
+
+  /**
+   * Parses a comma separated list of numbers.
+   * @param list the list.
+   * @return the numbers.
+   */
+  private static int[] parseList( String list ) {
+    String[] values = list.split( "," );
+    int[] numbers = new int[ values.length ];
+    for( int index = 0; index < values.length; index++ ) {
+      numbers[ index ] = Integer.parseInt( values[ index ].trim() );
+    }
+    return numbers;
+  }
+
+  /**
+   * Total garbage collections of every collector so far.
+   * @return collection count.
+   */
+  private static long getCollectionCount() {
+    long count = 0;
+    for( GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans() ) {
+      count += Math.max( 0, bean.getCollectionCount() );
+    }
+    return count;
+  }
+
+  /**
+   * Total milliseconds spent in garbage collection so far.
+   * @return collection time.
+   */
+  private static long getCollectionTime() {
+    long millis = 0;
+    for( GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans() ) {
+      millis += Math.max( 0, bean.getCollectionTime() );
+    }
+    return millis;
+  }
+
+  /**
+   * Gets the number of bytes allocated by the current thread so far.
+   * @return allocated bytes, 0 if the JVM does not support the measurement.
+   */
+  private static long allocatedBytes() {
+    java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    if( bean instanceof com.sun.management.ThreadMXBean ) {
+      return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes( Thread.currentThread().getId() );
+    }
+    return 0;
+  }
+}
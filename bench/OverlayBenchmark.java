@@ -0,0 +1,119 @@
+/**
+ * Jose Jimenez-Olivas
+ * Brandon Cramer
+ * Email: jjj023@ucsd.edu
+ *
+ *                 University of California, San Diego
+ *                           IEEE Micromouse
+ *
+ * File Name:   OverlayBenchmark.java
+ * Description: Measures the render time and allocation of the flood fill 
+ *              value overlay by maze size, comparing per cell text layout 
+ *              against drawing glyphs from the GlyphCache.
+ */
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Flood fill overlay benchmark. Run with: make bench
+ */
+public class OverlayBenchmark {
+  private static final int[] DIMENSIONS = { 16, 32, 64, 128 };
+  private static final int CANVAS_SIDE = 1024;
+  private static final int WARMUP_FRAMES = 100;
+  private static final int MEASURED_FRAMES = 200;
+  private static final double FONT_PROPORTION = 0.5;
+
+  /**
+   * Runs the benchmark and prints the average time per frame.
+   * @param args unused.
+   * @return Nothing.
+   */
+  public static void main( String[] args ) {
+    BufferedImage canvas = new BufferedImage( CANVAS_SIDE, CANVAS_SIDE, BufferedImage.TYPE_INT_RGB );
+    Graphics2D g2d = canvas.createGraphics();
+
+    System.out.printf( "%-10s %16s %16s %18s %18s%n", "dimension", "drawString ms", "glyph cache ms", "drawString KB", "glyph cache KB" );
+    for( int dimension : DIMENSIONS ) {
+      Maze maze = new Maze( dimension );
+      int value = 0;
+      for( MazeNode cell : maze ) cell.setDistance( value++ % (2 * dimension) );
+
+      double[] text  = measure( g2d, maze, false );
+      double[] glyph = measure( g2d, maze, true );
+      System.out.printf( "%-10s %16.3f %16.3f %18.1f %18.1f%n", dimension + "x" + dimension, text[0], glyph[0], text[1], glyph[1] );
+    }
+    g2d.dispose();
+  }
+
+  /**
+   * Measures the average time and heap allocation to draw the overlay of one
+   * frame.
+   * @param g2d graphics environment of an offscreen canvas.
+   * @param maze maze with distance values.
+   * @param useGlyphCache true to draw cached glyphs, false to lay out text.
+   * @return average milliseconds and allocated kilobytes per frame.
+   */
+  private static double[] measure( Graphics2D g2d, Maze maze, boolean useGlyphCache ) {
+    GlyphCache glyphs = new GlyphCache( Font.SANS_SERIF, Font.BOLD, Color.DARK_GRAY );
+    for( int frame = 0; frame < WARMUP_FRAMES; frame++ ) {
+      drawOverlay( g2d, maze, glyphs, useGlyphCache );
+    }
+    long allocated = allocatedBytes();
+    long start = System.nanoTime();
+    for( int frame = 0; frame < MEASURED_FRAMES; frame++ ) {
+      drawOverlay( g2d, maze, glyphs, useGlyphCache );
+    }
+    double millis = (System.nanoTime() - start) / 1e6 / MEASURED_FRAMES;
+    double kilobytes = (allocatedBytes() - allocated) / 1024.0 / MEASURED_FRAMES;
+    return new double[] { millis, kilobytes };
+  }
+
+  /**
+   * Gets the number of bytes allocated by the current thread so far.
+   * @return allocated bytes, 0 if the JVM does not support the measurement.
+   */
+  private static long allocatedBytes() {
+    java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    if( bean instanceof com.sun.management.ThreadMXBean ) {
+      return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes( Thread.currentThread().getId() );
+    }
+    return 0;
+  }
+
+  /**
+   * Draws the flood fill value of every cell.
+   * @param g2d graphics environment of an offscreen canvas.
+   * @param maze maze with distance values.
+   * @param glyphs glyph cache used when useGlyphCache is set.
+   * @param useGlyphCache true to draw cached glyphs, false to lay out text.
+   * @return Nothing.
+   */
+  private static void drawOverlay( Graphics2D g2d, Maze maze, GlyphCache glyphs, boolean useGlyphCache ) {
+    double cell_unit = (1.0 / maze.getDimension()) * CANVAS_SIDE;
+    double height_offset = ((1 - FONT_PROPORTION) * cell_unit) / 2.0;
+
+    if( useGlyphCache ) {
+      /* current implementation */
+      glyphs.setFontSize( g2d, (int)(FONT_PROPORTION * cell_unit) );
+      for( MazeNode cell : maze ) {
+        int x = (int)(cell.x * cell_unit + cell_unit / 2.0);
+        int y = (int)((cell.y + 1) * cell_unit - height_offset);
+        glyphs.drawCentered( g2d, cell.distance, x, y );
+      }
+      return;
+    }
+
+    /* previous implementation */
+    g2d.setFont( new Font(Font.SANS_SERIF, Font.BOLD, (int)(FONT_PROPORTION * cell_unit)) );
+    g2d.setColor( Color.DARK_GRAY );
+    for( MazeNode cell : maze ) {
+      double width_offset = (cell_unit - g2d.getFontMetrics().stringWidth(Integer.toString(cell.distance))) / 2.0;
+      g2d.drawString( Integer.toString(cell.distance), (int)(cell.x * cell_unit + width_offset), (int)((cell.y + 1) * cell_unit - height_offset) );
+    }
+  }
+}
@@ -0,0 +1,144 @@
+/**
+ * Jose Jimenez-Olivas
+ * Brandon Cramer
+ * Email: jjj023@ucsd.edu
+ *
+ *                 University of California, San Diego
+ *                           IEEE Micromouse
+ *
+ * File Name:   TextParserBenchmark.java
+ * Description: Measures the throughput and allocation of decoding Periscope
+ *              text messages, comparing the previous split based parsing
+ *              against the PeriscopeTextParser.
+ */
+
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.Random;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Periscope text parser benchmark. Run with: make bench
+ */
+public class TextParserBenchmark {
+  private static final int DIMENSION = 16;
+  private static final int MESSAGES = 4096;
+  private static final int WARMUP_ROUNDS = 200;
+  private static final int MEASURED_ROUNDS = 400;
+  private static final String[] HEADINGS = { "north", "east", "south", "west" };
+  private static final String[] WALLS = { "up", "right", "down", "left", "" };
+
+  private static int checksum = 0; /* keeps results alive */
+
+  /**
+   * Runs the benchmark and prints messages per second and allocation per message.
+   * @param args unused.
+   * @return Nothing.
+   */
+  public static void main( String[] args ) {
+    ByteBuffer[] messages = createMessages();
+    Mouse mouse = new Mouse( DIMENSION - 1, 0, new Maze(DIMENSION), new Maze(DIMENSION) );
+    PeriscopeTextParser parser = new PeriscopeTextParser();
+
+    System.out.printf( "%-22s %16s %16s%n", "decoder", "messages/s", "bytes/message" );
+    for( int decoder = 0; decoder < 3; decoder++ ) {
+      for( int round = 0; round < WARMUP_ROUNDS; round++ ) {
+        decode( decoder, messages, parser, mouse );
+      }
+      long allocated = allocatedBytes();
+      long start = System.nanoTime();
+      for( int round = 0; round < MEASURED_ROUNDS; round++ ) {
+        decode( decoder, messages, parser, mouse );
+      }
+      double seconds = (System.nanoTime() - start) / 1e9;
+      long decoded = (long) MEASURED_ROUNDS * MESSAGES;
+      String name = ( decoder == 0 ) ? "split (previous)" : ( decoder == 1 ) ? "PeriscopeTextParser" : "Mouse.periscopeProtocol";
+      System.out.printf( "%-22s %16.0f %16.1f%n", name, decoded / seconds, (double)(allocatedBytes() - allocated) / decoded );
+    }
+    if( checksum == 42 ) System.out.println();
+  }
+
+  /**
+   * Decodes every message once.
+   * @param decoder 0 for the previous parsing, 1 for the parser alone, 2 for
+   *                parsing and applying the message to a mouse.
+   * @param messages received messages.
+   * @param parser reusable parser.
+   * @param mouse mouse the messages are applied to.
+   * @return Nothing.
+   */
+  private static void decode( int decoder, ByteBuffer[] messages, PeriscopeTextParser parser, Mouse mouse ) {
+    for( ByteBuffer message : messages ) {
+      if( decoder == 0 ) {
+        checksum += splitParse( message );
+      }
+      else if( decoder == 1 ) {
+        if( parser.parse(message) ) checksum += parser.getRow() + parser.getWalls();
+      }
+      else if( mouse.periscopeProtocol(message) ) {
+        checksum++;
+      }
+    }
+  }
+
+  /**
+   * Previous implementation: decodes the message to a String and validates
+   * the headers with substringsBetween and split.
+   * @param message received message.
+   * @return row of the mouse plus the wall code, -1 if the message is malformed.
+   */
+  private static int splitParse( ByteBuffer message ) {
+    String data = new String( message.array(), message.arrayOffset() + message.position(), message.remaining(), StandardCharsets.ISO_8859_1 );
+    if( !data.startsWith(PeriscopeTextParser.PREAMBLE) ) return -1;
+    String payload = data.substring( PeriscopeTextParser.PREAMBLE.length() );
+    String[] headers_array = StringUtils.substringsBetween( payload, "(", ")" );
+    if( headers_array == null || headers_array.length != PeriscopeTextParser.HEADERS ) return -1;
+    LinkedList<String> headers = new LinkedList<>( Arrays.asList(headers_array) );
+
+    String[] maze_dimensions = headers.removeFirst().split( "x" );
+    String[] mouse_location  = headers.removeFirst().split( "," );
+    String mouse_orientation = headers.removeFirst().toUpperCase();
+    String wall_detected     = headers.removeFirst();
+    for( String value : maze_dimensions ) {
+      if( !StringUtils.isNumeric(value) ) return -1;
+    }
+    for( String value : mouse_location ) {
+      if( !StringUtils.isNumeric(value) ) return -1;
+    }
+    int row = Integer.parseInt( mouse_location[0] );
+    if( !Arrays.asList(HEADINGS).contains(mouse_orientation.toLowerCase()) ) return -1;
+    if( !Arrays.asList(WALLS).contains(wall_detected) ) return -1;
+    return row + Arrays.asList(WALLS).indexOf( wall_detected );
+  }
+
+  /**
+   * Creates messages of a mouse wandering a maze, as received from the port.
+   * @return buffers bounding one message each, without delimiter.
+   */
+  private static ByteBuffer[] createMessages() {
+    Random random = new Random( 1 );
+    ByteBuffer[] messages = new ByteBuffer[ MESSAGES ];
+    for( int index = 0; index < MESSAGES; index++ ) {
+      String message = String.format( "Periscope: (%dx%d)(%d,%d)(%s)(%s)", DIMENSION, DIMENSION,
+                                      random.nextInt(DIMENSION), random.nextInt(DIMENSION),
+                                      HEADINGS[ random.nextInt(HEADINGS.length) ], WALLS[ random.nextInt(WALLS.length) ] );
+      messages[ index ] = ByteBuffer.wrap( message.getBytes(StandardCharsets.ISO_8859_1) );
+    }
+    return messages;
+  }
+
+  /**
+   * Gets the number of bytes allocated by the current thread so far.
+   * @return allocated bytes, 0 if the JVM does not support the measurement.
+   */
+  private static long allocatedBytes() {
+    java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    if( bean instanceof com.sun.management.ThreadMXBean ) {
+      return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes( Thread.currentThread().getId() );
+    }
+    return 0;
+  }
+}
@@ -19,11 +19,14 @@ import java.io.IOException;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.FileInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.util.LinkedList;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Random;
-import java.awt.Point;
 import java.util.PriorityQueue;
 import java.util.Stack;
 import java.util.Iterator;
@@ -35,21 +38,52 @@ import java.util.NoSuchElementException;
  */
 class Maze implements Iterable<MazeNode> {
   private static final int EVEN = 2;
-  private final int dimension;
+  private static final int CHANGE_LOG_SIZE = 256;
+  private final int width;  /* columns */
+  private final int height; /* rows */
   private int non_tree_edges;
   private MazeNode[][] maze;
   private LinkedList<MazeNode> dijkstraPath = new LinkedList<MazeNode>();
   private LinkedList<MazeNode> dfsPath = new LinkedList<MazeNode>();
+  private PathGeometry dijkstraGeometry = new PathGeometry();
+  private PathGeometry dfsGeometry = new PathGeometry();
+  private final List<MazeNode> dijkstraPathView = Collections.unmodifiableList( dijkstraPath );
+  private final List<MazeNode> dfsPathView = Collections.unmodifiableList( dfsPath );
+
+  /* begin - solver memoization */
+  private long dijkstra_version = -1;
+  private MazeNode dijkstra_begin = null;
+  private MazeNode dijkstra_end = null;
+  private long dfs_version = -1;
+  private MazeNode dfs_begin = null;
+  private MazeNode dfs_end = null;
+  /* end - solver memoization */
+
+  /* begin - wall modification tracking */
+  private long modifications = 0;
+  private long structural_modification = 0;
+  private final int[] change_log = new int[ CHANGE_LOG_SIZE ];
+  /* end - wall modification tracking */
 
   /**
-   * Creates a Maze object as a 2d array of MazeNodes.
+   * Creates a square Maze object as a 2d array of MazeNodes.
    * @param dimension Side units for square maze.
    */
   public Maze( int dimension ) {
-    /* dimension padding added to emulate maze walls */
-    this.dimension = dimension;
+    this( dimension, dimension );
+  }
+
+  /**
+   * Creates a rectangular Maze object as a 2d array of MazeNodes, e.g. for
+   * the test arena a micromouse reports in Periscope mode.
+   * @param width number of columns.
+   * @param height number of rows.
+   */
+  public Maze( int width, int height ) {
+    this.width = width;
+    this.height = height;
     this.non_tree_edges = 0;
-    maze = new MazeNode[ dimension ][ dimension ];
+    maze = new MazeNode[ height ][ width ];
 
     for( int row = 0; row < maze.length; row++ ) {
       for( int column = 0; column < maze[0].length; column++ ) {
@@ -59,7 +93,8 @@ class Maze implements Iterable<MazeNode> {
   }
 
   /**
-   * Create a MST from the maze with Dijkstra's Algorithm
+   * Create a MST from the maze with Dijkstra's Algorithm. The search only 
+   * runs if the walls or the vertices changed since the last search.
    * @param startVertex Where to begin traversing maze graph.
    * @return Nothing.
    */
@@ -69,6 +104,10 @@ class Maze implements Iterable<MazeNode> {
       System.err.println( "Invalid starting or ending vertex for Dijkstra." );
       return;
     }
+    if( dijkstra_version == modifications && startVertex == dijkstra_begin && endVertex == dijkstra_end ) {
+      /* dijkstraPath is up to date */
+      return;
+    }
 
     for( MazeNode node : this ) {
       /* set up initial environment in graph */
@@ -124,10 +163,15 @@ class Maze implements Iterable<MazeNode> {
       currentNode = pathStack.pop();
       dijkstraPath.addLast( currentNode );
     }
+    dijkstraGeometry.set( dijkstraPath );
+    dijkstra_version = modifications;
+    dijkstra_begin = startVertex;
+    dijkstra_end = endVertex;
   }
 
   /**
-   * DFS algorithm to find a solution to the maze.
+   * DFS algorithm to find a solution to the maze. The search only runs if 
+   * the walls or the vertices changed since the last search.
    * @param currentVertex traversing node in maze.
    * @param endVertex target node to end DFS.
    * @return Nothing.
@@ -138,6 +182,10 @@ class Maze implements Iterable<MazeNode> {
       System.err.println( "Maze.dfs: invalid vertices" );
       return;
     }
+    if( dfs_version == modifications && startVertex == dfs_begin && endVertex == dfs_end ) {
+      /* dfsPath is up to date */
+      return;
+    }
 
     for( MazeNode node : this ) {
       /* set up initial conditions for dfs */
@@ -146,6 +194,10 @@ class Maze implements Iterable<MazeNode> {
 
     dfsPath.clear();
     dfsHelper( startVertex, endVertex );
+    dfsGeometry.set( dfsPath );
+    dfs_version = modifications;
+    dfs_begin = startVertex;
+    dfs_end = endVertex;
   }
 
   /**
@@ -236,14 +288,34 @@ class Maze implements Iterable<MazeNode> {
     createRandomMaze();
   }
 
+  /**
+   * Creates a new random maze with the given number of non-tree edges; the
+   * same random sequence creates the same maze, e.g. for benchmarks.
+   * @param non_tree_edges Number of non tree cycles present in MST. 
+   * @param rand source of the random walls.
+   * @return Nothing.
+   */
+  public void createRandomMaze( int non_tree_edges, Random rand ) {
+    this.non_tree_edges = non_tree_edges;
+    createRandomMaze( rand );
+  }
+
   /**
    * Creates a random maze using Kruskals Algorithm.
    * @return Nothing.
    */
   public void createRandomMaze() {                                                                    
+    createRandomMaze( new Random() );
+  }
+
+  /**
+   * Creates a random maze using Kruskals Algorithm.
+   * @param rand source of the random walls.
+   * @return Nothing.
+   */
+  private void createRandomMaze( Random rand ) {
     final int MIN_DIM = 3;
     ArrayList<Pair<MazeNode, MazeNode>> walls = new ArrayList<Pair<MazeNode, MazeNode>>( getDimension() * getDimension() );
-    Random rand = new Random();
 
     System.err.println( "Generating Random Maze..." );
 
@@ -252,6 +324,11 @@ class Maze implements Iterable<MazeNode> {
       System.err.println( "Invalid Dimension for Maze Generation. Valid dimension >= 3." );
       return; 
     }
+    if( width != height ) {
+      /* center solution is only defined for square mazes */
+      System.err.println( "Invalid Dimension for Maze Generation. Maze must be square." );
+      return;
+    }
 
     for( int row = 0; row < maze.length; row++ ) {
       for( int column = 0; column < maze[0].length; column++ ) {
@@ -363,6 +440,7 @@ class Maze implements Iterable<MazeNode> {
     }
 
     extraWalls.clear();
+    recordStructuralChange();
     System.err.println( "Number of non-tree edges: " + numOfPaths );
     System.err.println( "Time taken for Maze Generation: " + (System.currentTimeMillis() - prevMillis) / 1000.0 + " sec" );
   }
@@ -378,6 +456,9 @@ class Maze implements Iterable<MazeNode> {
     }
     dfsPath.clear();
     dijkstraPath.clear();
+    dfsGeometry.clear();
+    dijkstraGeometry.clear();
+    recordStructuralChange();
   }
 
   /**
@@ -386,7 +467,7 @@ class Maze implements Iterable<MazeNode> {
    * @param beta second point in the maze.
    * @return true if an edge in alpha points to beta.
    */
-  public boolean wallBetween( Point alpha, Point beta ) {
+  public boolean wallBetween( GridPoint alpha, GridPoint beta ) {
     return wallBetween( at(alpha), at(beta) );
   }
 
@@ -491,6 +572,7 @@ class Maze implements Iterable<MazeNode> {
     /* undirected edge added */
     vertex_A.addNeighbor( vertex_B );
     vertex_B.addNeighbor( vertex_A );
+    recordChange( vertex_A, vertex_B );
   }
 
   /**
@@ -502,17 +584,19 @@ class Maze implements Iterable<MazeNode> {
     /* removing undirected edge */
     vertex_A.removeNeighbor( vertex_B );
     vertex_B.removeNeighbor( vertex_A );
+    recordChange( vertex_A, vertex_B );
   }
 
   /* END OF MAZE GENERATION ROUTINES */
 
   /**
-   * Checks if an index is out of the range of the maze.
-   * @param index x or y coordinate in the square 2d maze.
-   * @return true if and only if index does not exists in maze.
+   * Checks if a cell is out of the range of the maze.
+   * @param row y coordinate in the 2d maze.
+   * @param column x coordinate in the 2d maze.
+   * @return true if and only if the cell does not exists in maze.
    */
-  public boolean outOfBounds( int index ) {
-    return ( index < 0 || index >= getDimension() );
+  public boolean outOfBounds( int row, int column ) {
+    return ( row < 0 || row >= height || column < 0 || column >= width );
   }
 
   /**
@@ -520,7 +604,7 @@ class Maze implements Iterable<MazeNode> {
    * @param alpha point with x and y coordinate of node of interest.
    * @return MazeNode object at that coordinate given.
    */
-  public MazeNode at( Point alpha ) {
+  public MazeNode at( GridPoint alpha ) {
     /* Recall: y = row && x = column */
     return at( alpha.y, alpha.x );
   }
@@ -531,7 +615,7 @@ class Maze implements Iterable<MazeNode> {
    * @param column cell in 2d array maze.
    */
   public MazeNode at( int row, int column ) {
-    if( outOfBounds(row) || outOfBounds(column) ) {
+    if( outOfBounds(row, column) ) {
       System.err.println( "Maze:at() out of bounds (" + row + ", " + column + ")" );
       return null;
     }
@@ -550,16 +634,17 @@ class Maze implements Iterable<MazeNode> {
         /* create empty maze with no walls */
         MazeNode currentNode = maze[ row ][ column ];
     
-        if( !outOfBounds(row + 1) ) {
+        if( !outOfBounds(row + 1, column) ) {
 	        /* vertical deviation downwards */
 	        addEdge( currentNode, maze[ row + 1 ][ column ] );
 	      }
-	      if( !outOfBounds(column + 1) ) {
+	      if( !outOfBounds(row, column + 1) ) {
 	        /* horizontal deviation to the right */
 	        addEdge( currentNode, maze[ row ][ column + 1 ] );
 	      }
       }
     }
+    recordStructuralChange();
   }
 
   /**
@@ -585,7 +670,7 @@ class Maze implements Iterable<MazeNode> {
       int deviation = ( index < EVEN ) ? +1 : -1; 
       int dr = ( index % EVEN == 0 ) ? deviation : 0; 
       int dc = ( index % EVEN == 1 ) ? deviation : 0;
-      if( !outOfBounds(vertex.row + dr) && !outOfBounds(vertex.column + dc) ) {
+      if( !outOfBounds(vertex.row + dr, vertex.column + dc) ) {
         list.add( maze[ vertex.row + dr ][ vertex.column + dc ] );
       }
     }
@@ -594,27 +679,112 @@ class Maze implements Iterable<MazeNode> {
   }
 
   /**
-   * Gets the side dimension of created square maze.
+   * Records a wall change between two adjacent cells. The change is logged 
+   * under the upper left cell, which is the cell that owns the shared wall.
+   * @param vertex_A a node in the maze.
+   * @param vertex_B a node adjacent to vertex_A.
+   * @return Nothing.
+   */
+  private void recordChange( MazeNode vertex_A, MazeNode vertex_B ) {
+    int row = Math.min( vertex_A.row, vertex_B.row );
+    int column = Math.min( vertex_A.column, vertex_B.column );
+    modifications++;
+    change_log[ (int)(modifications % CHANGE_LOG_SIZE) ] = row * width + column;
+  }
+
+  /**
+   * Records a change that affects the whole maze, e.g. maze generation.
+   * @return Nothing.
+   */
+  private void recordStructuralChange() {
+    modifications++;
+    structural_modification = modifications;
+  }
+
+  /**
+   * Gets the number of wall modifications made to this maze; the value 
+   * increases every time a wall is added or removed.
+   * @return current modification count.
+   */
+  public long getModificationCount() {
+    return modifications;
+  }
+
+  /**
+   * Accumulates the cells whose walls changed after the given modification 
+   * count. A cell owns its right and bottom wall.
+   * @param since modification count previously observed by the caller.
+   * @param bounds cell bounds that the changed cells are added to.
+   * @return true if bounds covers every change, false if the whole maze 
+   *         changed or the change history is no longer available.
+   */
+  public boolean getChangedCells( long since, CellBounds bounds ) {
+    if( since > modifications || since < structural_modification ) return false;
+    if( modifications - since > CHANGE_LOG_SIZE ) return false;
+
+    for( long version = since + 1; version <= modifications; version++ ) {
+      /* replay change log */
+      int cell = change_log[ (int)(version % CHANGE_LOG_SIZE) ];
+      bounds.add( cell / width, cell % width );
+    }
+    return true;
+  }
+
+  /**
+   * Gets the side dimension of created square maze; for a rectangular maze
+   * the longer side, so square cells of a maze drawn into a square fit.
    * @return number of square units on one side of square.
    */
   public int getDimension() {                                                                         
-    return dimension;
+    return Math.max( width, height );
+  }
+
+  /**
+   * Gets the number of columns of the maze.
+   * @return maze width in cells.
+   */
+  public int getWidth() {
+    return width;
+  }
+
+  /**
+   * Gets the number of rows of the maze.
+   * @return maze height in cells.
+   */
+  public int getHeight() {
+    return height;
   }
 
   /**
-   * Gets a deep copy of dijkstraPath
-   * @return deep copy of dijkstraPath
+   * Gets a read-only view of dijkstraPath
+   * @return unmodifiable view of dijkstraPath
    */
-  public LinkedList<MazeNode> getDijkstraPath() {
-    return new LinkedList<MazeNode>( dijkstraPath );
+  public List<MazeNode> getDijkstraPath() {
+    return dijkstraPathView;
   }
 
   /**
-   * Gets a deep copy of dfsPath
-   * @return deep copt of dfsPath
+   * Gets a read-only view of dfsPath
+   * @return unmodifiable view of dfsPath
    */
-  public LinkedList<MazeNode> getDFSPath() {
-    return new LinkedList<MazeNode>( dfsPath );
+  public List<MazeNode> getDFSPath() {
+    return dfsPathView;
+  }
+
+  /**
+   * Gets the cached coordinates of dijkstraPath.
+   * @return read-only geometry of dijkstraPath.
+   */
+  public PathGeometry getDijkstraGeometry() {
+    return dijkstraGeometry;
+  }
+
+  /**
+   * Gets the cached coordinates of dfsPath.
+   * @return read-only geometry of dfsPath.
+   */
+  public PathGeometry getDFSGeometry() {
+    return dfsGeometry;
   }
 
   /**
@@ -631,7 +801,7 @@ class Maze implements Iterable<MazeNode> {
    * @return the starting position for solving the maze.
    */
   public MazeNode getBegin() {
-    return at( dimension - 1, 0 );
+    return at( height - 1, 0 );
   }
 
   /**
@@ -639,14 +809,15 @@ class Maze implements Iterable<MazeNode> {
    * @return the target position to solve the maze. 
    */
   public MazeNode getEnd() {
-    MazeNode end = at( getDimension() / EVEN, getDimension() / EVEN );
-    if( getDimension() % EVEN == 0 ) {
+    MazeNode end = at( height / EVEN, width / EVEN );
+    if( width % EVEN == 0 && height % EVEN == 0 ) {
       /* quad-cell solution set. find initial entrance node */
-      int lowerBound = getDimension() / EVEN - 1;
+      int lowerRow = height / EVEN - 1;
+      int lowerColumn = width / EVEN - 1;
       for( int delta = 0; delta < EVEN; delta++ ) {
         /* find target node with 3 children in quad-cell solution */
-        MazeNode topNode = at( lowerBound, lowerBound + delta );
-        MazeNode lowerNode = at( lowerBound + 1, lowerBound + delta );
+        MazeNode topNode = at( lowerRow, lowerColumn + delta );
+        MazeNode lowerNode = at( lowerRow + 1, lowerColumn + delta );
         if( topNode.getNeighborList().size() > EVEN ) {
           end = topNode;
           break;
@@ -710,6 +881,7 @@ class Maze implements Iterable<MazeNode> {
     try {
       in = new FileInputStream( datafile );
       status = deserialize( in );
+      recordStructuralChange();
     }
     catch( IOException e ) {
       e.printStackTrace();
@@ -739,20 +911,21 @@ class Maze implements Iterable<MazeNode> {
 
   /**
    * Binary string representation of Maze with decimal dimensions.
-   * @param stream output stream that serialize will write data to.
-   * @return String of encoded maze.
+   * @param outstream output stream that serialize will write data to, e.g. a
+   *                  datafile or the payload of a Periscope maze upload.
+   * @return Nothing.
    */ 
-  public void serialize( FileOutputStream outstream ) throws IOException {
+  public void serialize( OutputStream outstream ) throws IOException {
     int data = 0;
     int bitcount = 0;
     /* write dimensions of maze out to stream - order: width height */
     ByteBuffer buffer = ByteBuffer.allocate( EVEN * Integer.BYTES );
-    buffer.putInt( dimension ).putInt( dimension );
+    buffer.putInt( width ).putInt( height );
     outstream.write( buffer.array() );
 
     /* cell info to stream */
-    for( int row = 0; row < dimension; row++ ) {
-      for( int column = 0; column < dimension; column++ ) {
+    for( int row = 0; row < height; row++ ) {
+      for( int column = 0; column < width; column++ ) {
         MazeNode currentNode = at( row, column );
 	      /* bitflag of open down neighbor */
 	      data = data << 1;
@@ -776,11 +949,11 @@ class Maze implements Iterable<MazeNode> {
   }
 
   /**
-   * Deserialize encoded maze data.
-   * @param instream File stream pointing to an encoded data file.
+   * Deserialize encoded maze data, e.g. the output of serialize.
+   * @param instream stream of an encoded data file or maze upload.
    * @return True for successful deserialization, false otherwise.
    */
-  private boolean deserialize( FileInputStream instream ) throws IOException {
+  public boolean deserialize( InputStream instream ) throws IOException {
     final int EOF = -1;
     final int codeword_size = 2; /* bit size */
     final int codeword_bitmask = ( 0x3 << (Byte.SIZE - codeword_size) ); 
@@ -798,7 +971,7 @@ class Maze implements Iterable<MazeNode> {
     int read_width = buffer.getInt();
     int read_height = buffer.getInt();
     System.err.println( "Loading dimensions: (" + read_width + "," + read_height + ")" );
-    if( read_width != dimension || read_height != dimension ) {
+    if( read_width != width || read_height != height ) {
       /* width or height is not the same dimension as this maze object */
       System.err.println( "Incompatible dimensions read from file: Aborting maze build" );
       return false;
@@ -812,7 +985,7 @@ class Maze implements Iterable<MazeNode> {
     while( recieved != EOF ) {
       /* reading 2-bit codewords. (1 codeword = 1 encoded maze node) */
       for( int index = 0; index < Byte.SIZE / codeword_size; index++ ) {
-        if( row == dimension ) {
+        if( row == height ) {
                 /* maze building is done - all cells visited */
 	        if( instream.available() > 1 ) {
 	          System.err.println( "Curropted file detected: Incompatible file size: Aborting maze build" );
@@ -827,7 +1000,7 @@ class Maze implements Iterable<MazeNode> {
 	      deserializeNode( currentNode, codeword );
 	      recieved = recieved << codeword_size;
 	      column++;
-	      if( column == dimension ) {
+	      if( column == width ) {
                 column = 0;
 	        row++;
 	      }
@@ -847,11 +1020,11 @@ class Maze implements Iterable<MazeNode> {
     final int down_bitmask = 0x01 << 1;
     final int right_bitmask = 0x01;
 
-    if( (codeword & down_bitmask) == 0 && node.row != dimension - 1 ) {
+    if( (codeword & down_bitmask) == 0 && node.row != height - 1 ) {
       /* add down wall */
       addWall( at(node.row + 1, node.column), at(node.row, node.column) );
     }
-    if( (codeword & right_bitmask) == 0 && node.column != dimension - 1 ) {
+    if( (codeword & right_bitmask) == 0 && node.column != width - 1 ) {
       /* add right wall */
       addWall( at(node.row, node.column), at(node.row, node.column + 1) );
     }
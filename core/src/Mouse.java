@@ -16,24 +16,23 @@
 
 /*>>>>>>>>>>>>>>>>>>>>>  YOUR CODE GOES IN THIS CLASS! <<<<<<<<<<<<<<<<<<<<<<<*/
 
-import java.util.Arrays;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.lang.Integer;
-import java.awt.Graphics;
-import java.awt.Rectangle;
-import java.awt.Color;
-import java.awt.Point;
 import java.util.Stack;
 import java.util.LinkedList;
 import java.util.Queue;
-import org.apache.commons.lang3.StringUtils;
 
 /**
  * Micromouse class to emulate autonomous robot behavior.
  */
 public class Mouse {
-  private final double PROPORTION = 0.3;
   private final int EVEN = 2;
   public boolean periscopeDisplayCellValues = false;
+  private final PeriscopeFrame periscopeFrame = new PeriscopeFrame();
+  private final PeriscopeTextParser periscopeTextParser = new PeriscopeTextParser();
+  private static final Orientation[] HEADINGS = Orientation.values();
 
   public int x;
   public int y;
@@ -43,19 +42,23 @@ public class Mouse {
   private Maze ref_maze;
   private Maze maze;
 
-  private MouseShape mouse;
-  private Point center = new Point();
+  private GridPoint center = new GridPoint();
 
-  private Point origin;
-  private Point start_position;
+  private GridPoint origin;
+  private GridPoint start_position;
   private Orientation orientation;
   private Stack<MazeNode> explore_stack = new Stack<MazeNode>();
   private boolean visited[][]; 
 
   private int num_of_runs = 0;
   private LinkedList<MazeNode> mousePath    = new LinkedList<MazeNode>();
+  private PathGeometry mousePathGeometry    = new PathGeometry();
   private LinkedList<MazeNode> previousPath = new LinkedList<MazeNode>();
   private boolean done = false;
+
+  /* cells that need to be redrawn */
+  private CellBounds dirtyCells = new CellBounds();
+  private boolean allDirty = true;
  
   /**
    * Creates mouse object on GUI.
@@ -69,10 +72,9 @@ public class Mouse {
     this.column = this.x = column;
     this.ref_maze = ref_maze;
     this.maze = maze;
-    this.mouse = new MouseShape();
-    this.origin = new Point( x, y );
-    this.start_position = new Point( x, y );
-    this.visited = new boolean[ maze.getDimension() ][ maze.getDimension() ];
+    this.origin = new GridPoint( x, y );
+    this.start_position = new GridPoint( x, y );
+    this.visited = new boolean[ maze.getHeight() ][ maze.getWidth() ];
     start(); 
   }
 
@@ -180,7 +182,10 @@ public class Mouse {
     }
 
     /* update non target cell to a higher elevation */
-    if( cell.distance != 0 ) cell.distance = minDistance + 1;
+    if( cell.distance != 0 && cell.distance != minDistance + 1 ) {
+      cell.distance = minDistance + 1;
+      markDirty( cell );
+    }
 
     for( MazeNode globalNeighbor : maze.getAdjacentCellsList( cell ) ) {
       /* callibrate all global neighbors except for the target cells */
@@ -206,7 +211,7 @@ public class Mouse {
    * @param target target cell that will have a distance of 0.
    * @return Nothing.
    */
-  private void updateMazeDistances( MazeNode target ) {
+  public void updateMazeDistances( MazeNode target ) {
     Queue<MazeNode> q = new LinkedList<MazeNode>();
 
     for( MazeNode cell : maze ) {
@@ -217,6 +222,7 @@ public class Mouse {
     q.add( target );
     target.setVisited( true );
     target.distance = 0;
+    markAllDirty();
 
     while( !q.isEmpty() ) {
       /* BFS traversal */
@@ -240,6 +246,7 @@ public class Mouse {
   public void trackSteps() {
     mousePath.clear();
     updateMousePath( maze.at(start_position), maze.at(row, column) );
+    mousePathGeometry.set( mousePath );
   }
 
   /**
@@ -285,33 +292,31 @@ public class Mouse {
       if( ref_neighbors[ point.ordinal() ] == null ) {
         /* wall found in reference maze */
 	      maze.removeEdge( cell, neighbors[ point.ordinal() ] );
+        markDirty( cell );
       }
       point = point.next();
     }
   }
 
   /**
-   * Used in periscope mode, this function marks the neighboring wall indicated
-   * by the code argument and current orientation of the mouse.
-   * Example: mouse is facing south and wants to mark a code="right" wall, 
+   * Used in periscope mode, this function marks the neighboring walls
+   * indicated by the walls bitmask and current orientation of the mouse.
+   * Example: mouse is facing south and wants to mark a "right" wall, 
    *          then cell.left is a wall.
    * @param cell current location of mouse in maze.
-   * @param code Relative wall detected. See local variable code_list.
+   * @param walls Relative walls detected: PeriscopeTextParser.WALL_UP,
+   *              WALL_RIGHT, WALL_DOWN and WALL_LEFT bits.
    * @return Nothing.
    */
-  private void markNeighborWall( MazeNode cell, String code ) {
-    String[] code_list = {"up", "right", "down", "left"};
-    MazeNode[] neighbors = { cell.up, cell.right, cell.down, cell.left }; 
-    Orientation point = orientation;
-    do {
+  private void markNeighborWalls( MazeNode cell, int walls ) {
+    for( int code = 0; code < orientation.size(); code++ ) {
+      if( (walls & (1 << code)) == 0 ) continue;
       /* mark relative wall with respect to current orientation */
-      int index = (point.ordinal() - orientation.ordinal() + orientation.size()) % orientation.size();
-      if( code_list[ index ].equals(code) ) {
-        maze.addWall( cell, neighbors[ point.ordinal() ] );
-        return;
-      }
-      point = point.next();
-    } while( point != orientation );
+      MazeNode adjacent = getAdjacentCell( cell, HEADINGS[(orientation.ordinal() + code) % orientation.size()] );
+      if( adjacent == null ) continue; /* edge of the maze is always a wall */
+      maze.addWall( cell, adjacent );
+      markDirty( cell );
+    }
   }
 
   /**
@@ -337,100 +342,279 @@ public class Mouse {
     explore_stack.push( maze.at(row, column) );
   }
 
+  /**
+   * Communication protocol to display micromouse data in virtual environment.
+   * Messages are decoded straight from the received bytes.
+   * @param data bytes sent from micromouse to simulator.
+   * @return false if the message is a malformed Periscope message, true
+   *         otherwise, including messages that are not Periscope messages.
+   */
+  public boolean periscopeProtocol( ByteBuffer data ) {
+    if( PeriscopeFrame.isBinary(data) ) {
+      /* byte-based protocol */
+      return periscopeByteProtocol( data );
+    }
+    if( PeriscopeTextParser.isText(data) ) {
+      /* text-based protocol */
+      periscopeDisplayCellValues = false;
+      return periscopeTextParser.parse( data ) && periscopeTextProtocol( periscopeTextParser );
+    }
+    /* not a Periscope message, e.g. debug output */
+    return true;
+  }
+
   /**
    * Communication protocol to display micromouse data in virtual environment.
    * @param data Byte string sent from micromouse to simulator.
-   * @return Nothing.
+   * @return false if the message is a malformed Periscope message, true
+   *         otherwise, including messages that are not Periscope messages.
    */
-  public void periscopeProtocol( String data ) {
-    String textPreamble = "Periscope:";
+  public boolean periscopeProtocol( String data ) {
     byte[] bytePreamble = {(byte)0xBE, (byte)0xCA};
 
-    if( data.startsWith(textPreamble) ) {
+    if( data.startsWith(PeriscopeTextParser.PREAMBLE) ) {
       /*  text-based protocol */
       periscopeDisplayCellValues = false;
-      String payload = data.substring(textPreamble.length());
-      periscopeTextProtocol(payload);
+      return periscopeTextParser.parse( data ) && periscopeTextProtocol( periscopeTextParser );
     }
-    else if( data.startsWith(new String(bytePreamble)) ) {
+    else if( data.startsWith(new String(bytePreamble, StandardCharsets.ISO_8859_1)) ) {
       /* byte-based protocol */
-      periscopeDisplayCellValues = true;
-      String payload = data.substring(bytePreamble.length);
-      periscopeByteProtocol(payload);
+      return periscopeByteProtocol( ByteBuffer.wrap(data.getBytes(StandardCharsets.ISO_8859_1)) );
     }
+    /* not a Periscope message, e.g. debug output */
+    return true;
   }
 
   /**
    * Periscope Text Protocol handling.
    * Preamble: "Periscope: "
-   * Example payload: "(3x3)(0,0)(north)(up)"
-   * @param payload current data sent from micromouse.
-   * @return Nothing.
-   */
-  private void periscopeTextProtocol( String payload ) {
-    final int NUM_OF_HEADERS = 4;
-    String[] headers_array = StringUtils.substringsBetween(payload, "(", ")");
-    LinkedList<String> headers = new LinkedList<>( Arrays.asList(headers_array) );
+   * Example payload: "(16x8)(0,0)(north)(left,up)"
+   * Message layout: see PeriscopeTextParser.
+   * @param message parsed text message.
+   * @return true if the message was applied, false if the mouse lies outside the maze.
+   */
+  private boolean periscopeTextProtocol( PeriscopeTextParser message ) {
+    int row = message.getRow();
+    int column = message.getColumn();
+    if( row >= message.getHeight() || column >= message.getWidth() ) return false;
+    /* a new maze is only allocated when the dimensions change */
+    if( !fitMazeTo(message.getWidth(), message.getHeight()) ) return false;
 
-    if( headers.size() != NUM_OF_HEADERS ) {
-      return;
+    /* Successful parse. Update virtual mouse environment */
+    MazeNode cell = maze.at( row, column );
+    rotateTo( HEADINGS[ message.getHeading() ] );
+    moveTo( cell );
+    markNeighborWalls( cell, message.getWalls() );
+    return true;
+  }
+
+  /**
+   * Periscope byte protocol handling.
+   * Preamble header: {0xBE, 0xCA}
+   * Frame layout: see PeriscopeFrame. Cell, snapshot and delta frames turn on
+   * the flood fill values; transfer frames leave the display as it is.
+   * @param frame buffer whose position and limit bound exactly one frame.
+   * @return true if the frame was applied, false if it is corrupted or unknown.
+   */
+  private boolean periscopeByteProtocol( ByteBuffer frame ) {
+    if( !periscopeFrame.parse(frame) ) {
+      /* corrupted or unknown frame - counted by the caller */
+      return false;
+    }
+    switch( periscopeFrame.getType() ) {
+      case PeriscopeFrame.TYPE_CELL:
+        periscopeDisplayCellValues = true;
+        return applyCellFrame( periscopeFrame );
+      case PeriscopeFrame.TYPE_SNAPSHOT:
+      case PeriscopeFrame.TYPE_DELTA:
+        periscopeDisplayCellValues = true;
+        return applyDistanceFrame( periscopeFrame );
     }
+    /* frames meant for other listeners, e.g. maze upload acknowledgements */
+    return true;
+  }
 
-    String[] maze_dimensions = headers.removeFirst().split("x");
-    String[] mouse_location  = headers.removeFirst().split(",");
-    String mouse_orientation = headers.removeFirst().toUpperCase();
-    String wall_detected     = headers.removeFirst();
+  /**
+   * Updates the mouse location, heading, the walls of its cell and optionally
+   * the flood fill values around it from a Periscope cell frame.
+   * @param frame parsed cell frame.
+   * @return true if the frame was applied, false if the cell is outside the maze.
+   */
+  private boolean applyCellFrame( PeriscopeFrame frame ) {
+    int width = frame.getWidth();
+    int height = frame.getHeight();
+    int row = frame.getRow();
+    int column = frame.getColumn();
+    if( row >= height || column >= width ) return false;
+    if( !fitMazeTo(width, height) ) return false;
 
-    /* maze dimension parse */
-    for( String value : maze_dimensions ) {
-      if( !StringUtils.isNumeric(value) ) return;
+    MazeNode cell = maze.at( row, column );
+    rotateTo( HEADINGS[ frame.getHeading() ] );
+    moveTo( cell );
+
+    for( Orientation direction : HEADINGS ) {
+      /* absolute wall bitmask - walls may also be taken down */
+      MazeNode adjacent = getAdjacentCell( cell, direction );
+      if( adjacent == null ) continue;
+      boolean wall = (frame.getWalls() & (1 << direction.ordinal())) != 0;
+      boolean known_wall = getOpenNeighbor( cell, direction ) == null;
+      if( wall && !known_wall ) maze.addWall( cell, adjacent );
+      else if( !wall && known_wall ) maze.addEdge( cell, adjacent );
+      else continue;
+      markDirty( cell );
+    }
+
+    if( frame.hasFloodValues() ) {
+      /* on-board flood fill values */
+      setDistance( cell, frame.getDistance() );
+      for( Orientation direction : HEADINGS ) {
+        if( !frame.hasNeighbor(direction.ordinal()) ) continue;
+        setDistance( getAdjacentCell(cell, direction), frame.getNeighborDistance(direction.ordinal()) );
+      }
     }
-    int width  = Integer.parseInt( maze_dimensions[0] );
-    int height = Integer.parseInt( maze_dimensions[1] ); 
-    Maze tempMaze = maze;
-    if( width != tempMaze.getDimension() || height != tempMaze.getDimension() ) {
-      if( width != height ) System.err.println("Not implemented: non-square dimensions in periscope protocol");
-      tempMaze = new Maze( width );
-      tempMaze.clearWalls();
+    return true;
+  }
+
+  /**
+   * Writes the flood fill values of a Periscope snapshot or delta frame
+   * straight into the maze.
+   * @param frame parsed snapshot or delta frame.
+   * @return true if the frame was applied, false if it lies outside the maze.
+   */
+  private boolean applyDistanceFrame( PeriscopeFrame frame ) {
+    int width = frame.getWidth();
+    int height = frame.getHeight();
+    if( width == 0 || height == 0 ) return false;
+    if( !fitMazeTo(width, height) ) return false;
+
+    int cells = width * height;
+    for( int update = 0; update < frame.getUpdateCount(); update++ ) {
+      int index = frame.getUpdateIndex( update );
+      if( index < 0 || index >= cells ) return false;
+      setDistance( maze.at(index / width, index % width), frame.getUpdateValue(update) );
     }
+    return true;
+  }
+
+  /**
+   * Encodes the maze walls, flood fill values and mouse pose as Periscope
+   * binary frames: a cell frame for every cell, the mouse cell last, followed
+   * by distance snapshots. Applying the frames to a restarted mouse rebuilds
+   * this state. Frames describe mazes of at most PeriscopeFrame.MAX_DIMENSION
+   * cells per side, so a larger maze has no keyframe.
+   * @param out destination of the frames.
+   * @return true if the keyframe was written, false if the maze is too large.
+   */
+  public boolean writePeriscopeKeyframe( ByteArrayOutputStream out ) {
+    int width = maze.getWidth();
+    int height = maze.getHeight();
+    if( width > PeriscopeFrame.MAX_DIMENSION || height > PeriscopeFrame.MAX_DIMENSION ) return false;
+    byte[] frame = new byte[ PeriscopeFrame.MAX_FRAME_SIZE ];
+    int heading = orientation.ordinal();
+    int[] distances = new int[ width * height ];
 
-    /* mouse location parse */
-    for( String value : mouse_location ) {
-      if( !StringUtils.isNumeric(value) ) return;
+    for( MazeNode cell : maze ) {
+      distances[ cell.row * width + cell.column ] = cell.distance;
+      if( cell.row == row && cell.column == column ) continue;
+      out.write( frame, 0, PeriscopeFrame.writeCell(frame, 0, width, height, cell.row, cell.column, heading, getWallMask(cell), null) );
     }
-    int row = Integer.parseInt( mouse_location[0] );
-    int column = Integer.parseInt( mouse_location[1] );
-    if( tempMaze.outOfBounds(row) || tempMaze.outOfBounds(column) ) {
-      return;
+    /* mouse ends up on its own cell */
+    MazeNode current = maze.at( row, column );
+    out.write( frame, 0, PeriscopeFrame.writeCell(frame, 0, width, height, row, column, heading, getWallMask(current), null) );
+
+    for( int start = 0; start < distances.length; ) {
+      start += PeriscopeFrame.writeSnapshot( frame, 0, width, height, distances, start );
+      out.write( frame, 0, PeriscopeFrame.getFrameSize(frame, 0, frame.length) );
     }
+    return true;
+  }
 
-    /* mouse orientation parse */
-    if( !Orientation.contains(mouse_orientation) ) {
-      return;
+  /**
+   * Gets the walls of a cell as a Periscope wall bitmask.
+   * @param cell cell of interest.
+   * @return WALL_NORTH, WALL_EAST, WALL_SOUTH and WALL_WEST bits of known walls.
+   */
+  private int getWallMask( MazeNode cell ) {
+    int walls = 0;
+    for( Orientation direction : HEADINGS ) {
+      if( getAdjacentCell(cell, direction) != null && getOpenNeighbor(cell, direction) == null ) {
+        walls |= 1 << direction.ordinal();
+      }
     }
+    return walls;
+  }
+
+  /**
+   * Replaces the maze with an empty one if the micromouse reports different
+   * dimensions - at most PeriscopeFrame.MAX_DIMENSION per side, so a corrupted
+   * or hostile message never allocates a huge maze.
+   * @param width number of columns reported by the micromouse.
+   * @param height number of rows reported by the micromouse.
+   * @return true if the maze has the reported dimensions, false if they are out of range.
+   */
+  private boolean fitMazeTo( int width, int height ) {
+    if( width == maze.getWidth() && height == maze.getHeight() ) return true;
+    if( width < 1 || height < 1 || width > PeriscopeFrame.MAX_DIMENSION || height > PeriscopeFrame.MAX_DIMENSION ) return false;
+    setMaze( new Maze(width, height) );
+    maze.clearWalls();
+    markAllDirty();
+    return true;
+  }
+
+  /**
+   * Replaces the maze memory of the mouse, resizing what is kept per cell.
+   * @param maze new maze memory.
+   * @return Nothing.
+   */
+  private void setMaze( Maze maze ) {
+    this.maze = maze;
+    visited = new boolean[ maze.getHeight() ][ maze.getWidth() ];
+  }
 
-    /* walls detected parse */
-    String[] wallCodes = {"up", "right", "down", "left", ""}; 
-    if( !Arrays.asList(wallCodes).contains(wall_detected) ) {
-      return;
+  /**
+   * Gets the cell next to the given cell, regardless of walls.
+   * @param cell cell of interest.
+   * @param direction absolute direction of the adjacent cell.
+   * @return adjacent cell, null if it is outside of the maze.
+   */
+  private MazeNode getAdjacentCell( MazeNode cell, Orientation direction ) {
+    int row = cell.row;
+    int column = cell.column;
+    switch( direction ) {
+      case NORTH: row--; break;
+      case EAST: column++; break;
+      case SOUTH: row++; break;
+      case WEST: column--; break;
     }
+    if( maze.outOfBounds(row, column) ) return null;
+    return maze.at( row, column );
+  }
 
-    /* Successful parse. Update virtual mouse environment */
-    maze = tempMaze;
-    MazeNode cell = maze.at( row, column );
-    rotateTo( Orientation.valueOf(mouse_orientation) );
-    moveTo( cell );
-    markNeighborWall(cell, wall_detected);
+  /**
+   * Gets the neighbor of the given cell that is reachable without crossing a wall.
+   * @param cell cell of interest.
+   * @param direction absolute direction of the neighbor.
+   * @return neighbor, null if there is a wall in that direction.
+   */
+  private MazeNode getOpenNeighbor( MazeNode cell, Orientation direction ) {
+    switch( direction ) {
+      case NORTH: return cell.up;
+      case EAST: return cell.right;
+      case SOUTH: return cell.down;
+      default: return cell.left;
+    }
   }
 
   /**
-   * Periscope byte protocol handling.
-   * Preamble header: {0xBE, 0xCA}
-   * Example Protocol:  
-   * @param payload 
+   * Sets the flood fill value of a cell, marking it to be redrawn if it changed.
+   * @param cell cell of interest.
+   * @param distance new flood fill value.
+   * @return Nothing.
    */
-  private void periscopeByteProtocol( String payload ) {
-    System.err.println("Not Implemented");
+  private void setDistance( MazeNode cell, int distance ) {
+    if( cell.distance == distance ) return;
+    cell.distance = distance;
+    markDirty( cell );
   }
 
 
@@ -439,22 +623,24 @@ public class Mouse {
    * @return Nothing.
    */
   private void clearMazeMemory() {
-    if( maze.getDimension() != ref_maze.getDimension() ) {
-      /* periscope changed maze dimension - reset */
-      maze = new Maze( ref_maze.getDimension() );
+    if( maze.getWidth() != ref_maze.getWidth() || maze.getHeight() != ref_maze.getHeight() ) {
+      /* periscope changed maze dimensions - reset */
+      setMaze( new Maze(ref_maze.getWidth(), ref_maze.getHeight()) );
     }
     /* break all walls in maze - (this fully connected graph) */
     maze.clearWalls();
     /* erase memory from exploring maze */
     explore_stack.clear();
     mousePath.clear();
+    mousePathGeometry.clear();
     previousPath.clear();
     num_of_runs = 0;
     done = false;
+    markAllDirty();
 
     /* mark manhattan distance of clear maze  */ 
     for( MazeNode cell : maze ) {
-      Point center = getClosestCenter( cell );
+      GridPoint center = getClosestCenter( cell );
       /* manhattan distance */
       cell.setDistance( Math.abs(center.x - cell.x) + Math.abs(center.y - cell.y) );
       cell.setVisited( false );
@@ -468,21 +654,16 @@ public class Mouse {
    * @param cell relative cell location in maze.
    * @return updated global variable "center" with the closest target location.
    */
-  private Point getClosestCenter( MazeNode cell ) {
-    int centerX = maze.getDimension() / EVEN;
-    int centerY = maze.getDimension() / EVEN;
+  private GridPoint getClosestCenter( MazeNode cell ) {
+    int centerX = maze.getWidth() / EVEN;
+    int centerY = maze.getHeight() / EVEN;
 
-    /* singular solution cell */
-    if( maze.getDimension() % EVEN == 1 ) {
-      center.setLocation( centerX, centerY );
-      return center;
-    }
-    /* quad-cell solution */
-    if( cell.x < maze.getDimension() / EVEN ) {
-      centerX = maze.getDimension() / EVEN - 1;
+    /* two center columns or rows on an even side */
+    if( maze.getWidth() % EVEN == 0 && cell.x < maze.getWidth() / EVEN ) {
+      centerX = maze.getWidth() / EVEN - 1;
     }
-    if( cell.y < maze.getDimension() / EVEN ) {
-      centerY = maze.getDimension() / EVEN - 1;
+    if( maze.getHeight() % EVEN == 0 && cell.y < maze.getHeight() / EVEN ) {
+      centerY = maze.getHeight() / EVEN - 1;
     }
     center.setLocation( centerX, centerY );
     return center;
@@ -513,8 +694,8 @@ public class Mouse {
    * @return Nothing.
    */
   void rotateTo( Orientation orientation ) {
+    if( this.orientation != orientation ) markDirty( row, column );
     this.orientation = orientation;
-    mouse.rotateTo( orientation );
   } 
 
   /**
@@ -531,7 +712,7 @@ public class Mouse {
    * @param coordinate point coordinate that the mouse will move to.
    * @return Nothing.
    */
-  private void moveTo( Point coordinate ) {
+  private void moveTo( GridPoint coordinate ) {
     moveTo( coordinate.x, coordinate.y );
   }
 
@@ -552,39 +733,54 @@ public class Mouse {
    * @return Nothing.
    */
   public void move( int dx, int dy ) {
+    markDirty( row, column );
     column = x += dx;
     row = y += dy;
+    markDirty( row, column );
   }
- 
+
   /**
-   * Moves the mouse one unit to the right.
-   * @param color color of mouse to be drawn 
+   * Marks a cell as changed such that it will be redrawn.
+   * @param cell cell that changed.
    * @return Nothing.
    */
-  public void draw( Graphics g, Color color ) {
-    mouse.draw( g, color );
+  private void markDirty( MazeNode cell ) {
+    dirtyCells.add( cell.row, cell.column );
   }
 
   /**
-   * Sets the left corner of the maze on GUI, and the maze diameter.
-   * @param maze_draw_point top left corner of maze on GUI.
-   * @param maze_diameter   pixel diameter of maze on GUI.
+   * Marks a cell location as changed such that it will be redrawn.
+   * @param row row of the cell that changed.
+   * @param column column of the cell that changed.
    * @return Nothing.
    */
-  public void setGraphicsEnvironment( Point maze_draw_point, int maze_diameter ) {
-    double UNIT = (1.0 / maze.getDimension()) * maze_diameter;
-    double unitCenterX = maze_draw_point.x + column * UNIT + (UNIT / 2.0);
-    double unitCenterY = maze_draw_point.y + row * UNIT + (UNIT / 2.0);
-    double width = UNIT * PROPORTION; 
-    double height = UNIT * PROPORTION; 
-    double x = unitCenterX - UNIT * PROPORTION / 2.0; 
-    double y = unitCenterY - UNIT * PROPORTION / 2.0;
+  private void markDirty( int row, int column ) {
+    dirtyCells.add( row, column );
+  }
 
-    mouse.setDimension( (int)width, (int)height );
-    mouse.setLocation( (int)x, (int)y );
-    mouse.rotateTo( orientation );
+  /**
+   * Marks the whole maze as changed.
+   * @return Nothing.
+   */
+  private void markAllDirty() {
+    allDirty = true;
   }
-  
+
+  /**
+   * Collects the cells that changed since the last call; a cell changes when 
+   * the mouse enters or leaves it, its flood fill value changes, or one of 
+   * its walls is discovered.
+   * @param bounds cell bounds that the changed cells are added to.
+   * @return true if bounds covers every change, false if the whole maze changed.
+   */
+  public boolean consumeDirtyCells( CellBounds bounds ) {
+    boolean partial = !allDirty;
+    bounds.add( dirtyCells );
+    dirtyCells.clear();
+    allDirty = false;
+    return partial;
+  }
+ 
   /**
    * Sets the mouse visited 2d array to the truth value provided; This signifies 
    * that the mouse itself has visited the cell location.
@@ -659,6 +855,14 @@ public class Mouse {
     return new LinkedList<MazeNode>( mousePath );
   }
 
+  /**
+   * Getter for the cached coordinates of the most optimal path the mouse found.
+   * @return read-only geometry of the mouse path.
+   */
+  public PathGeometry getMousePathGeometry() {
+    return mousePathGeometry;
+  }
+
   /**
    * Getter for mouse maze.
    * @return current mouse maze.
@@ -702,6 +906,14 @@ public class Mouse {
     return column;
   }
 
+  /**
+   * Getter for the orientation of the mouse.
+   * @return 0 north, 1 east, 2 south, 3 west.
+   */
+  public int getHeading() {
+    return orientation.ordinal();
+  }
+
   /**
    * String representation of mouse.
    * @return string that uniquely represents mouse.
@@ -776,94 +988,4 @@ public class Mouse {
       return relativeRight();
     }
   }
-
-  /**
-   * Class: MouseShape: Consitiutes the generic mouse shape.
-   */
-  private class MouseShape {
-    private final double HEAD_PROPORTION = 1;
-    private Rectangle body;
-    private Rectangle head;
-
-    /**
-     * Constructor for mouse shape.
-     * @param x Top left corner x-coordinate of shape.
-     * @param y Top left corner y-coordinate of shape.
-     * @param width Pixel width of mouse body.
-     * @param height Pixel height of mouse body.
-     */
-    public MouseShape( int x, int y, int width, int height, Orientation orientation ) {
-      body = new Rectangle( x, y, width, height );
-      head = new Rectangle( x, y, (int)(double)(HEAD_PROPORTION*body.width), (int)(double)(HEAD_PROPORTION*body.height) );
-      this.rotateTo( orientation ); /* sets head location */
-    }
-
-    /**
-     * Default constructor for empty mouse shape.
-     */
-    public MouseShape() {
-      this( 0, 0, 0, 0, Orientation.NORTH );
-    }
-
-    /**
-     * Draws the mouse shape on GUI.
-     * @param color Color of mouse shape.
-     * @return Nothing.
-     */
-    public void draw( Graphics g, Color color ) {
-      g.setColor( color );
-      g.fillRect( body.x, body.y, body.width, body.height );
-      g.fillOval( head.x, head.y, head.width, head.height);
-    }
-
-    /**
-     * Rotates the mouse shape on given orientation on GUI.
-     * @param orientation Compass value that the mouse head points to.
-     * @return Nothing.
-     */
-    public void rotateTo( Orientation orientation ) {
-      int dx = ( orientation.ordinal() % EVEN == 0 ) ? 0 : -1*(orientation.ordinal() - 2);
-      int dy = ( orientation.ordinal() % EVEN == 0 ) ? orientation.ordinal() - 1 : 0;
-      int head_center_x = (int)(double)( body.x +  ((1.0 - HEAD_PROPORTION) / 3.0) * body.width );
-      int head_center_y = (int)(double)( body.y +  ((1.0 - HEAD_PROPORTION) / 3.0) * body.height );
-      int head_x = (orientation.ordinal() % EVEN == 0) ? head_center_x : head_center_x + dx*(head.width/2);
-      int head_y = (orientation.ordinal() % EVEN == 0) ? head_center_y + dy*(head.height/2) : head_center_y; 
-
-      head.setLocation( head_x, head_y );
-    }
-
-    /**
-     * Sets new dimension of mouse shape.
-     * @param width width of mouse in dimensions.
-     * @param height height of mouse in dimensions.
-     * @return Nothing.
-     */
-    public void setDimension( int width, int height ) {
-      body.setSize( width, height );
-      head.setSize( (int)(double)(HEAD_PROPORTION* body.width), (int)(double)(HEAD_PROPORTION* body.height) );
-    }
-   
-    /**
-     * Sets new location for mouse.
-     * @param x x-coordinate.
-     * @param y y-coordinate.
-     * @return Nothing.
-     */
-    public void setLocation( int x, int y ) {
-      head.translate( x - body.x, y - body.y );
-      body.setLocation( x, y );
-    }
-
-    /**
-     * Shifts the mouse shape by dx and dy pixels.
-     * @param dx Pixel differential in the x-axis.
-     * @param dy Pixel differential in the y-axis.
-     * @return Nothing.
-     */
-    public void translate( int dx, int dy ) {
-      body.translate( dx, dy );
-      head.translate( dx, dy );
-    }
-  }
 }
-
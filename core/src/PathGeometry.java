@@ -0,0 +1,94 @@
+/**
+ * Jose Jimenez-Olivas
+ * Brandon Cramer
+ * Email: jjj023@ucsd.edu
+ *
+ *                 University of California, San Diego
+ *                           IEEE Micromouse
+ *
+ * File Name:   PathGeometry.java
+ * Description: Read-only coordinates of a path through a maze, computed once
+ *              when the path changes instead of every time it is drawn.
+ */
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * PathGeometry stores the diagonal (x, y) cell coordinates of every node in a
+ * path as primitive arrays. The version is incremented whenever the path is
+ * replaced so that derived drawings can be cached.
+ */
+public class PathGeometry {
+  private static final int INITIAL_CAPACITY = 16;
+
+  private double[] xs = new double[ INITIAL_CAPACITY ];
+  private double[] ys = new double[ INITIAL_CAPACITY ];
+  private int size = 0;
+  private long version = 0;
+
+  /**
+   * Replaces the coordinates with the nodes of the given path.
+   * @param path sequence of cell nodes, front to end.
+   * @return Nothing.
+   */
+  public void set( List<MazeNode> path ) {
+    if( path.size() > xs.length ) {
+      /* grow to fit path */
+      int capacity = Math.max( path.size(), xs.length * 2 );
+      xs = Arrays.copyOf( xs, capacity );
+      ys = Arrays.copyOf( ys, capacity );
+    }
+    size = 0;
+    for( MazeNode node : path ) {
+      xs[ size ] = node.getDiagonalX();
+      ys[ size ] = node.getDiagonalY();
+      size++;
+    }
+    version++;
+  }
+
+  /**
+   * Empties the path.
+   * @return Nothing.
+   */
+  public void clear() {
+    if( size == 0 ) return;
+    size = 0;
+    version++;
+  }
+
+  /**
+   * Number of nodes in the path.
+   * @return number of coordinates.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Gets the horizontal (column) coordinate of a node in the path.
+   * @param index position of the node in the path.
+   * @return diagonal x coordinate of the node.
+   */
+  public double getX( int index ) {
+    return xs[ index ];
+  }
+
+  /**
+   * Gets the vertical (row) coordinate of a node in the path.
+   * @param index position of the node in the path.
+   * @return diagonal y coordinate of the node.
+   */
+  public double getY( int index ) {
+    return ys[ index ];
+  }
+
+  /**
+   * Counter that changes every time the path is replaced or cleared.
+   * @return current version of the path.
+   */
+  public long getVersion() {
+    return version;
+  }
+}
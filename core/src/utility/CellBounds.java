@@ -0,0 +1,131 @@
+/**
+ * Jose Jimenez-Olivas
+ * Brandon Cramer
+ * Email: jjj023@ucsd.edu
+ *
+ *                 University of California, San Diego
+ *                           IEEE Micromouse
+ *
+ * File Name:   CellBounds.java
+ * Description: Utility object to accumulate a rectangular range of maze cells.
+ */
+
+/**
+ * Mutable bounding box of maze cells in (row, column) coordinates.
+ */
+public class CellBounds {
+  public int minRow;
+  public int minColumn;
+  public int maxRow;
+  public int maxColumn;
+
+  /**
+   * Creates an empty cell bounding box.
+   */
+  public CellBounds() {
+    clear();
+  }
+
+  /**
+   * Empties the bounding box.
+   * @return Nothing.
+   */
+  public void clear() {
+    minRow = minColumn = Integer.MAX_VALUE;
+    maxRow = maxColumn = Integer.MIN_VALUE;
+  }
+
+  /**
+   * Checks if the bounding box contains no cells.
+   * @return true if no cell has been added, false otherwise.
+   */
+  public boolean isEmpty() {
+    return minRow > maxRow || minColumn > maxColumn;
+  }
+
+  /**
+   * Checks if the given cell lies inside the bounding box.
+   * @param row row of the cell.
+   * @param column column of the cell.
+   * @return true if the cell is inside the bounding box, false otherwise.
+   */
+  public boolean contains( int row, int column ) {
+    return row >= minRow && row <= maxRow && column >= minColumn && column <= maxColumn;
+  }
+
+  /**
+   * Sets the bounding box to the given inclusive cell range.
+   * @param minRow first row in range.
+   * @param minColumn first column in range.
+   * @param maxRow last row in range.
+   * @param maxColumn last column in range.
+   * @return Nothing.
+   */
+  public void set( int minRow, int minColumn, int maxRow, int maxColumn ) {
+    this.minRow = minRow;
+    this.minColumn = minColumn;
+    this.maxRow = maxRow;
+    this.maxColumn = maxColumn;
+  }
+
+  /**
+   * Grows the bounding box to include the given cell.
+   * @param row row of the cell.
+   * @param column column of the cell.
+   * @return Nothing.
+   */
+  public void add( int row, int column ) {
+    if( row < minRow ) minRow = row;
+    if( row > maxRow ) maxRow = row;
+    if( column < minColumn ) minColumn = column;
+    if( column > maxColumn ) maxColumn = column;
+  }
+
+  /**
+   * Grows the bounding box to include another bounding box.
+   * @param bounds cells to be included.
+   * @return Nothing.
+   */
+  public void add( CellBounds bounds ) {
+    if( bounds.isEmpty() ) return;
+    add( bounds.minRow, bounds.minColumn );
+    add( bounds.maxRow, bounds.maxColumn );
+  }
+
+  /**
+   * Expands the bounding box by the given number of cells on every side.
+   * @param cells number of cells to expand by.
+   * @return Nothing.
+   */
+  public void grow( int cells ) {
+    if( isEmpty() ) return;
+    minRow -= cells;
+    minColumn -= cells;
+    maxRow += cells;
+    maxColumn += cells;
+  }
+
+  /**
+   * Restricts the bounding box to a maze of the given size.
+   * @param rows number of rows in the maze.
+   * @param columns number of columns in the maze.
+   * @return Nothing.
+   */
+  public void clip( int rows, int columns ) {
+    if( isEmpty() ) return;
+    minRow = Math.max( minRow, 0 );
+    minColumn = Math.max( minColumn, 0 );
+    maxRow = Math.min( maxRow, rows - 1 );
+    maxColumn = Math.min( maxColumn, columns - 1 );
+  }
+
+  /**
+   * String representation of this bounding box.
+   * @return string of the inclusive row and column ranges.
+   */
+  @Override
+  public String toString() {
+    if( isEmpty() ) return "[]";
+    return "[(" + minRow + ", " + minColumn + ") - (" + maxRow + ", " + maxColumn + ")]";
+  }
+}
@@ -0,0 +1,79 @@
+/**
+ * Jose Jimenez-Olivas
+ * Brandon Cramer
+ * Email: jjj023@ucsd.edu
+ *
+ *                 University of California, San Diego
+ *                           IEEE Micromouse
+ *
+ * File Name:   GridPoint.java
+ * Description: Utility object to represent a cell location in the maze.
+ */
+
+/**
+ * Mutable (x,y) location of a cell in the maze - x is the column and y is the
+ * row. Used in place of java.awt.Point so the maze and mouse do not depend on
+ * AWT.
+ */
+public class GridPoint {
+  public int x;
+  public int y;
+
+  /**
+   * Creates a point at the top left cell.
+   */
+  public GridPoint() {
+    this( 0, 0 );
+  }
+
+  /**
+   * Creates a point at the given cell.
+   * @param x column of the cell.
+   * @param y row of the cell.
+   */
+  public GridPoint( int x, int y ) {
+    this.x = x;
+    this.y = y;
+  }
+
+  /**
+   * Moves the point to the given cell.
+   * @param x column of the cell.
+   * @param y row of the cell.
+   * @return Nothing.
+   */
+  public void setLocation( int x, int y ) {
+    this.x = x;
+    this.y = y;
+  }
+
+  /**
+   * Two points are equal if they locate the same cell.
+   * @param o object of comparison.
+   * @return true if o is a point at the same cell.
+   */
+  @Override
+  public boolean equals( Object o ) {
+    if( !(o instanceof GridPoint) ) return false;
+    GridPoint point = (GridPoint) o;
+    return x == point.x && y == point.y;
+  }
+
+  /**
+   * Hash code consistent with equals.
+   * @return hash of the cell location.
+   */
+  @Override
+  public int hashCode() {
+    return 31 * x + y;
+  }
+
+  /**
+   * String representation of the point.
+   * @return string of the cell location.
+   */
+  @Override
+  public String toString() {
+    return "(" + x + "," + y + ")";
+  }
+}
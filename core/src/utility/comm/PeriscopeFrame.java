@@ -0,0 +1,796 @@
+/**
+ * Jose Jimenez-Olivas
+ * Brandon Cramer
+ * Email: jjj023@ucsd.edu
+ *
+ *                 University of California, San Diego
+ *                           IEEE Micromouse
+ *
+ * File Name:   PeriscopeFrame.java
+ * Description: Encoder and allocation-free decoder of the Periscope binary
+ *              protocol sent by the micromouse.
+ */
+
+import java.nio.ByteBuffer;
+
+/**
+ * Periscope binary frame:
+ *
+ *   0xBE 0xCA | LENGTH | TYPE | PAYLOAD ... | CRC_HIGH CRC_LOW
+ *
+ * LENGTH is the number of TYPE and PAYLOAD bytes (1 - 255). The CRC is
+ * CRC-16/CCITT-FALSE (polynomial 0x1021, initial value 0xFFFF) over LENGTH,
+ * TYPE and PAYLOAD, sent big-endian. Frames are not followed by a delimiter.
+ *
+ * Cell frame (TYPE_CELL) payload:
+ *
+ *   WIDTH | HEIGHT | ROW | COLUMN | HEADING | WALLS [| DISTANCE | DELTAS ...]
+ *
+ * HEADING holds the mouse heading in bits 0-1 (0 north, 1 east, 2 south,
+ * 3 west) and FLOOD_VALUES_FLAG in bit 7. WALLS is the absolute wall bitmask
+ * of the cell (WALL_NORTH, WALL_EAST, WALL_SOUTH, WALL_WEST). If the flag is
+ * set, the flood fill DISTANCE of the cell follows as an unsigned varint, then
+ * one zigzag varint delta from DISTANCE for each neighbor inside the maze, in
+ * north, east, south, west order.
+ *
+ * WIDTH, HEIGHT, ROW and COLUMN are single bytes, so a maze described by
+ * Periscope frames is at most MAX_DIMENSION cells per side; the encoders
+ * reject larger mazes rather than truncate them.
+ *
+ * Snapshot frame (TYPE_SNAPSHOT) payload - a chunk of the full distance table:
+ *
+ *   WIDTH | HEIGHT | START | COUNT | VALUE | DELTAS ...
+ *
+ * START is the row-major index of the first cell and COUNT the number of
+ * consecutive cells, both unsigned varints. VALUE is the distance of the first
+ * cell as an unsigned varint, followed by COUNT - 1 zigzag varint deltas, each
+ * from the distance of the previous cell. Tables larger than one frame are
+ * sent as several chunks.
+ *
+ * Delta frame (TYPE_DELTA) payload - sparse distance updates:
+ *
+ *   WIDTH | HEIGHT | COUNT | (INDEX_DELTA | VALUE) ...
+ *
+ * COUNT updates follow, in ascending cell index order. INDEX_DELTA is the
+ * row-major cell index minus the index of the previous update (the first one
+ * is absolute) and VALUE the new distance, both unsigned varints.
+ *
+ * Maze chunk frame (TYPE_MAZE_CHUNK) payload - sent by the simulator:
+ *
+ *   TRANSFER | OFFSET | TOTAL | DATA ...
+ *
+ * A bulk transfer streams TOTAL bytes (a maze serialized by Maze.serialize)
+ * in consecutive chunks. TRANSFER identifies the transfer, OFFSET is the index
+ * of the first DATA byte and TOTAL the size of the whole transfer, both
+ * unsigned varints.
+ *
+ * Maze acknowledgement frame (TYPE_MAZE_ACK) payload - sent by the micromouse:
+ *
+ *   TRANSFER | NEXT
+ *
+ * NEXT, an unsigned varint, is the number of bytes received in order with a
+ * valid CRC. The micromouse answers every chunk, so a chunk that was lost or
+ * corrupted is reported by repeating the previous NEXT.
+ *
+ * A parsed frame is held in this reusable object; parsing never allocates.
+ */
+public class PeriscopeFrame {
+  public static final byte PREAMBLE_HIGH = (byte) 0xBE;
+  public static final byte PREAMBLE_LOW  = (byte) 0xCA;
+  public static final int HEADER_SIZE = 3; /* preamble and length */
+  public static final int CRC_SIZE = 2;
+  public static final int MAX_BODY_SIZE = 0xFF;
+  public static final int MAX_FRAME_SIZE = HEADER_SIZE + MAX_BODY_SIZE + CRC_SIZE;
+  public static final int MAX_DIMENSION = 0xFF; /* WIDTH and HEIGHT are single bytes */
+
+  public static final int TYPE_CELL = 0x01;
+  public static final int TYPE_SNAPSHOT = 0x02;
+  public static final int TYPE_DELTA = 0x03;
+  public static final int TYPE_MAZE_CHUNK = 0x04;
+  public static final int TYPE_MAZE_ACK = 0x05;
+
+  public static final int WALL_NORTH = 0x01;
+  public static final int WALL_EAST  = 0x02;
+  public static final int WALL_SOUTH = 0x04;
+  public static final int WALL_WEST  = 0x08;
+  public static final int HEADING_MASK = 0x03;
+  public static final int FLOOD_VALUES_FLAG = 0x80;
+  public static final int DIRECTIONS = 4;
+
+  private static final int CELL_HEADER_SIZE = 6;
+  private static final int DIMENSION_SIZE = 2;
+  private static final int MAX_UPDATES = MAX_BODY_SIZE; /* one byte minimum per update */
+  private static final int VARINT_MASK = 0x7F;
+  private static final int VARINT_CONTINUE = 0x80;
+  private static final int[] CRC_TABLE = createCrcTable();
+
+  /* parsed frame */
+  private int type;
+  private int width;
+  private int height;
+  private int row;
+  private int column;
+  private int heading;
+  private int walls;
+  private boolean floodValues;
+  private int distance;
+  private int neighbors; /* bitmask of neighbors inside the maze */
+  private final int[] neighborDistances = new int[ DIRECTIONS ];
+  private int updates;
+  private final int[] updateIndices = new int[ MAX_UPDATES ];
+  private final int[] updateValues = new int[ MAX_UPDATES ];
+  private int transfer;
+  private int transferOffset; /* chunk OFFSET or acknowledged NEXT */
+  private int transferTotal;
+  private int chunkStart;     /* index of the first DATA byte in the parsed array */
+  private int chunkLength;
+
+  /* parse state */
+  private int cursor;
+  private boolean malformed;
+
+  /**
+   * Checks if a message starts with the binary preamble.
+   * @param message buffer whose position and limit bound the message.
+   * @return true if the message is a binary frame, false if it is text.
+   */
+  public static boolean isBinary( ByteBuffer message ) {
+    int position = message.position();
+    return message.remaining() >= 2 && message.get( position ) == PREAMBLE_HIGH
+        && message.get( position + 1 ) == PREAMBLE_LOW;
+  }
+
+  /**
+   * Computes the total size of the frame that starts at offset.
+   * @param array received bytes.
+   * @param offset first byte of the frame (the preamble).
+   * @param available number of received bytes from offset.
+   * @return size of the frame in bytes, or -1 if the length was not received yet.
+   */
+  public static int getFrameSize( byte[] array, int offset, int available ) {
+    if( available < HEADER_SIZE ) return -1;
+    return HEADER_SIZE + (array[ offset + 2 ] & 0xFF) + CRC_SIZE;
+  }
+
+  /**
+   * Checks the length and CRC of a received frame without decoding it, so a
+   * stream can be resynchronized after a corrupted frame.
+   * @param array received bytes.
+   * @param offset first byte of the frame (the preamble).
+   * @param size size of the frame as given by getFrameSize.
+   * @return true if the body is not empty and the CRC matches, false otherwise.
+   */
+  public static boolean hasValidCrc( byte[] array, int offset, int size ) {
+    int body = size - HEADER_SIZE - CRC_SIZE;
+    if( body <= 0 ) return false;
+    int end = offset + HEADER_SIZE + body;
+    int received_crc = ((array[ end ] & 0xFF) << 8) | (array[ end + 1 ] & 0xFF);
+    return crc16( array, offset + 2, body + 1 ) == received_crc;
+  }
+
+  /**
+   * Decodes a frame into this object.
+   * @param frame buffer whose position and limit bound exactly one frame.
+   * @return true if the frame is well formed and the CRC matches, false otherwise.
+   */
+  public boolean parse( ByteBuffer frame ) {
+    byte[] array = frame.array();
+    int offset = frame.arrayOffset() + frame.position();
+    int length = frame.remaining();
+    if( length < HEADER_SIZE + 1 + CRC_SIZE || !isBinary(frame) ) return false;
+
+    int body = array[ offset + 2 ] & 0xFF;
+    if( body == 0 || length != HEADER_SIZE + body + CRC_SIZE ) return false;
+
+    int end = offset + HEADER_SIZE + body;
+    int received_crc = ((array[ end ] & 0xFF) << 8) | (array[ end + 1 ] & 0xFF);
+    if( crc16(array, offset + 2, body + 1) != received_crc ) return false;
+
+    type = array[ offset + HEADER_SIZE ] & 0xFF;
+    cursor = offset + HEADER_SIZE + 1;
+    malformed = false;
+
+    switch( type ) {
+      case TYPE_CELL:
+        parseCell( array, end );
+        break;
+      case TYPE_SNAPSHOT:
+        parseSnapshot( array, end );
+        break;
+      case TYPE_DELTA:
+        parseDelta( array, end );
+        break;
+      case TYPE_MAZE_CHUNK:
+        parseMazeChunk( array, end );
+        break;
+      case TYPE_MAZE_ACK:
+        parseMazeAck( array, end );
+        break;
+      default:
+        /* unknown frame type */
+        return false;
+    }
+    return !malformed && cursor == end;
+  }
+
+  /**
+   * Decodes the payload of a cell frame.
+   * @param array received bytes.
+   * @param end index one past the last payload byte.
+   * @return Nothing.
+   */
+  private void parseCell( byte[] array, int end ) {
+    if( end - cursor < CELL_HEADER_SIZE ) {
+      malformed = true;
+      return;
+    }
+    width   = array[ cursor++ ] & 0xFF;
+    height  = array[ cursor++ ] & 0xFF;
+    row     = array[ cursor++ ] & 0xFF;
+    column  = array[ cursor++ ] & 0xFF;
+    int flags = array[ cursor++ ] & 0xFF;
+    walls   = array[ cursor++ ] & 0xFF;
+    heading = flags & HEADING_MASK;
+    floodValues = (flags & FLOOD_VALUES_FLAG) != 0;
+    neighbors = getNeighborMask( width, height, row, column );
+    if( !floodValues ) return;
+
+    distance = readVarint( array, end );
+    for( int direction = 0; direction < DIRECTIONS; direction++ ) {
+      /* deltas of neighbors inside the maze */
+      if( (neighbors & (1 << direction)) == 0 ) continue;
+      neighborDistances[ direction ] = distance + zigzagDecode( readVarint(array, end) );
+    }
+  }
+
+  /**
+   * Decodes the payload of a snapshot frame into distance updates.
+   * @param array received bytes.
+   * @param end index one past the last payload byte.
+   * @return Nothing.
+   */
+  private void parseSnapshot( byte[] array, int end ) {
+    if( !parseDimensions(array, end) ) return;
+    int start = readVarint( array, end );
+    int count = readVarint( array, end );
+    if( malformed || count > MAX_UPDATES ) {
+      malformed = true;
+      return;
+    }
+    int value = 0;
+    for( updates = 0; updates < count && !malformed; updates++ ) {
+      /* first value is absolute, the rest are deltas */
+      int data = readVarint( array, end );
+      value = ( updates == 0 ) ? data : value + zigzagDecode( data );
+      updateIndices[ updates ] = start + updates;
+      updateValues[ updates ] = value;
+    }
+  }
+
+  /**
+   * Decodes the payload of a delta frame into distance updates.
+   * @param array received bytes.
+   * @param end index one past the last payload byte.
+   * @return Nothing.
+   */
+  private void parseDelta( byte[] array, int end ) {
+    if( !parseDimensions(array, end) ) return;
+    int count = readVarint( array, end );
+    if( malformed || count > MAX_UPDATES ) {
+      malformed = true;
+      return;
+    }
+    int index = 0;
+    for( updates = 0; updates < count && !malformed; updates++ ) {
+      index += readVarint( array, end );
+      updateIndices[ updates ] = index;
+      updateValues[ updates ] = readVarint( array, end );
+    }
+  }
+
+  /**
+   * Decodes the payload of a maze chunk frame; the data is left in place.
+   * @param array received bytes.
+   * @param end index one past the last payload byte.
+   * @return Nothing.
+   */
+  private void parseMazeChunk( byte[] array, int end ) {
+    if( end - cursor < 1 ) {
+      malformed = true;
+      return;
+    }
+    transfer = array[ cursor++ ] & 0xFF;
+    transferOffset = readVarint( array, end );
+    transferTotal = readVarint( array, end );
+    chunkStart = cursor;
+    chunkLength = end - cursor;
+    if( transferOffset + chunkLength > transferTotal ) malformed = true;
+    cursor = end;
+  }
+
+  /**
+   * Decodes the payload of a maze acknowledgement frame.
+   * @param array received bytes.
+   * @param end index one past the last payload byte.
+   * @return Nothing.
+   */
+  private void parseMazeAck( byte[] array, int end ) {
+    if( end - cursor < 1 ) {
+      malformed = true;
+      return;
+    }
+    transfer = array[ cursor++ ] & 0xFF;
+    transferOffset = readVarint( array, end );
+  }
+
+  /**
+   * Decodes the maze dimensions that start snapshot and delta payloads.
+   * @param array received bytes.
+   * @param end index one past the last payload byte.
+   * @return true if the dimensions were present, false otherwise.
+   */
+  private boolean parseDimensions( byte[] array, int end ) {
+    updates = 0;
+    if( end - cursor < DIMENSION_SIZE ) {
+      malformed = true;
+      return false;
+    }
+    width  = array[ cursor++ ] & 0xFF;
+    height = array[ cursor++ ] & 0xFF;
+    return true;
+  }
+
+  /**
+   * Encodes as many consecutive distances as fit in one snapshot frame.
+   * @param out destination of the frame, at least MAX_FRAME_SIZE bytes from offset.
+   * @param offset index of the first byte of the frame.
+   * @param width number of columns in the maze.
+   * @param height number of rows in the maze.
+   * @param distances row-major distance table of the maze.
+   * @param start index of the first cell to encode.
+   * @return number of cells encoded; the frame size is given by getFrameSize.
+   */
+  public static int writeSnapshot( byte[] out, int offset, int width, int height, int[] distances, int start ) {
+    int limit = offset + HEADER_SIZE + MAX_BODY_SIZE;
+    int position = offset + HEADER_SIZE;
+    checkCell( width, height, 0, 0 );
+    out[ position++ ] = (byte) TYPE_SNAPSHOT;
+    out[ position++ ] = (byte) width;
+    out[ position++ ] = (byte) height;
+    position = writeVarint( out, position, start );
+    /* count is patched in once known - reserve a two byte varint */
+    int count_position = position;
+    position += 2;
+
+    int count = 0;
+    int total = Math.min( distances.length, width * height );
+    for( int index = start; index < total; index++ ) {
+      int value = ( count == 0 ) ? distances[ index ] : zigzagEncode( distances[ index ] - distances[ index - 1 ] );
+      if( position + getVarintSize(value) > limit ) break;
+      position = writeVarint( out, position, value );
+      count++;
+    }
+    out[ count_position ] = (byte)( (count & VARINT_MASK) | VARINT_CONTINUE );
+    out[ count_position + 1 ] = (byte)( count >>> 7 );
+    finish( out, offset, position );
+    return count;
+  }
+
+  /**
+   * Encodes as many sparse distance updates as fit in one delta frame.
+   * @param out destination of the frame, at least MAX_FRAME_SIZE bytes from offset.
+   * @param offset index of the first byte of the frame.
+   * @param width number of columns in the maze.
+   * @param height number of rows in the maze.
+   * @param indices row-major cell indices in ascending order.
+   * @param values new distance of each cell.
+   * @param from first update to encode.
+   * @param to one past the last update to encode.
+   * @return number of updates encoded; the frame size is given by getFrameSize.
+   */
+  public static int writeDelta( byte[] out, int offset, int width, int height, int[] indices, int[] values, int from, int to ) {
+    int limit = offset + HEADER_SIZE + MAX_BODY_SIZE;
+    int position = offset + HEADER_SIZE;
+    checkCell( width, height, 0, 0 );
+    out[ position++ ] = (byte) TYPE_DELTA;
+    out[ position++ ] = (byte) width;
+    out[ position++ ] = (byte) height;
+    /* count is patched in once known - reserve a two byte varint */
+    int count_position = position;
+    position += 2;
+
+    int count = 0;
+    int previous = 0;
+    for( int update = from; update < to; update++ ) {
+      if( position + getVarintSize(indices[ update ] - previous) + getVarintSize(values[ update ]) > limit ) break;
+      position = writeVarint( out, position, indices[ update ] - previous );
+      position = writeVarint( out, position, values[ update ] );
+      previous = indices[ update ];
+      count++;
+    }
+    out[ count_position ] = (byte)( (count & VARINT_MASK) | VARINT_CONTINUE );
+    out[ count_position + 1 ] = (byte)( count >>> 7 );
+    finish( out, offset, position );
+    return count;
+  }
+
+  /**
+   * Encodes as many bytes of a bulk transfer as fit in one maze chunk frame.
+   * @param out destination of the frame, at least MAX_FRAME_SIZE bytes from offset.
+   * @param offset index of the first byte of the frame.
+   * @param transfer identifier of the transfer (0 - 255).
+   * @param data whole transfer, e.g. a serialized maze.
+   * @param start index in data of the first byte to encode.
+   * @return number of data bytes encoded; the frame size is given by getFrameSize.
+   */
+  public static int writeMazeChunk( byte[] out, int offset, int transfer, byte[] data, int start ) {
+    int limit = offset + HEADER_SIZE + MAX_BODY_SIZE;
+    int position = offset + HEADER_SIZE;
+    out[ position++ ] = (byte) TYPE_MAZE_CHUNK;
+    out[ position++ ] = (byte) transfer;
+    position = writeVarint( out, position, start );
+    position = writeVarint( out, position, data.length );
+    int count = Math.min( data.length - start, limit - position );
+    System.arraycopy( data, start, out, position, count );
+    finish( out, offset, position + count );
+    return count;
+  }
+
+  /**
+   * Encodes a maze acknowledgement frame.
+   * @param out destination of the frame, at least MAX_FRAME_SIZE bytes from offset.
+   * @param offset index of the first byte of the frame.
+   * @param transfer identifier of the transfer being acknowledged.
+   * @param next number of transfer bytes received in order.
+   * @return size of the frame in bytes.
+   */
+  public static int writeMazeAck( byte[] out, int offset, int transfer, int next ) {
+    int position = offset + HEADER_SIZE;
+    out[ position++ ] = (byte) TYPE_MAZE_ACK;
+    out[ position++ ] = (byte) transfer;
+    position = writeVarint( out, position, next );
+    return finish( out, offset, position );
+  }
+
+  /**
+   * Encodes a cell frame.
+   * @param out destination of the frame, at least MAX_FRAME_SIZE bytes from offset.
+   * @param offset index of the first byte of the frame.
+   * @param width number of columns in the maze.
+   * @param height number of rows in the maze.
+   * @param row row of the mouse.
+   * @param column column of the mouse.
+   * @param heading 0 north, 1 east, 2 south, 3 west.
+   * @param walls absolute wall bitmask of the cell.
+   * @param distances flood fill value of the cell followed by the values of its
+   *                  north, east, south and west neighbors; null to omit them.
+   * @return size of the frame in bytes.
+   */
+  public static int writeCell( byte[] out, int offset, int width, int height, int row, int column, int heading, int walls, int[] distances ) {
+    int position = offset + HEADER_SIZE;
+    checkCell( width, height, row, column );
+    out[ position++ ] = (byte) TYPE_CELL;
+    out[ position++ ] = (byte) width;
+    out[ position++ ] = (byte) height;
+    out[ position++ ] = (byte) row;
+    out[ position++ ] = (byte) column;
+    out[ position++ ] = (byte)( (heading & HEADING_MASK) | (distances != null ? FLOOD_VALUES_FLAG : 0) );
+    out[ position++ ] = (byte) walls;
+    if( distances != null ) {
+      int neighbor_mask = getNeighborMask( width, height, row, column );
+      position = writeVarint( out, position, distances[ 0 ] );
+      for( int direction = 0; direction < DIRECTIONS; direction++ ) {
+        if( (neighbor_mask & (1 << direction)) == 0 ) continue;
+        position = writeVarint( out, position, zigzagEncode(distances[ direction + 1 ] - distances[ 0 ]) );
+      }
+    }
+    return finish( out, offset, position );
+  }
+
+  /**
+   * Checks that the maze dimensions and a cell fit the single byte fields.
+   * @param width number of columns in the maze.
+   * @param height number of rows in the maze.
+   * @param row row of the cell.
+   * @param column column of the cell.
+   * @return Nothing.
+   * @throws IllegalArgumentException if a field does not fit in a byte.
+   */
+  private static void checkCell( int width, int height, int row, int column ) {
+    if( width > MAX_DIMENSION || height > MAX_DIMENSION ) {
+      throw new IllegalArgumentException( "Periscope maze exceeds " + MAX_DIMENSION + " cells per side: " + width + "x" + height );
+    }
+    if( row < 0 || column < 0 || row > MAX_DIMENSION || column > MAX_DIMENSION ) {
+      throw new IllegalArgumentException( "Periscope cell out of range: (" + row + "," + column + ")" );
+    }
+  }
+
+  /**
+   * Writes the preamble, length and CRC around an encoded body.
+   * @param out destination of the frame.
+   * @param offset index of the first byte of the frame.
+   * @param end index one past the last body byte.
+   * @return size of the frame in bytes.
+   */
+  private static int finish( byte[] out, int offset, int end ) {
+    int body = end - offset - HEADER_SIZE;
+    if( body > MAX_BODY_SIZE ) throw new IllegalArgumentException( "Periscope frame body exceeds " + MAX_BODY_SIZE + " bytes" );
+    out[ offset ] = PREAMBLE_HIGH;
+    out[ offset + 1 ] = PREAMBLE_LOW;
+    out[ offset + 2 ] = (byte) body;
+    int crc = crc16( out, offset + 2, body + 1 );
+    out[ end ] = (byte)( crc >> 8 );
+    out[ end + 1 ] = (byte) crc;
+    return end + CRC_SIZE - offset;
+  }
+
+  /**
+   * Computes which neighbors of a cell are inside the maze.
+   * @param width number of columns in the maze.
+   * @param height number of rows in the maze.
+   * @param row row of the cell.
+   * @param column column of the cell.
+   * @return bitmask in WALL_NORTH, WALL_EAST, WALL_SOUTH, WALL_WEST order.
+   */
+  private static int getNeighborMask( int width, int height, int row, int column ) {
+    int mask = 0;
+    if( row > 0 ) mask |= WALL_NORTH;
+    if( column < width - 1 ) mask |= WALL_EAST;
+    if( row < height - 1 ) mask |= WALL_SOUTH;
+    if( column > 0 ) mask |= WALL_WEST;
+    return mask;
+  }
+
+  /**
+   * Reads an unsigned LEB128 varint at the cursor.
+   * @param array received bytes.
+   * @param end index one past the last payload byte.
+   * @return decoded value, 0 and malformed set if the varint is truncated.
+   */
+  private int readVarint( byte[] array, int end ) {
+    int value = 0;
+    for( int shift = 0; shift < Integer.SIZE; shift += 7 ) {
+      if( cursor >= end ) break;
+      int data = array[ cursor++ ];
+      value |= (data & VARINT_MASK) << shift;
+      if( (data & VARINT_CONTINUE) == 0 ) return value;
+    }
+    malformed = true;
+    return 0;
+  }
+
+  /**
+   * Writes an unsigned LEB128 varint.
+   * @param out destination buffer.
+   * @param position index to write at.
+   * @param value value to be written.
+   * @return index after the varint.
+   */
+  private static int writeVarint( byte[] out, int position, int value ) {
+    while( (value & ~VARINT_MASK) != 0 ) {
+      out[ position++ ] = (byte)( (value & VARINT_MASK) | VARINT_CONTINUE );
+      value >>>= 7;
+    }
+    out[ position++ ] = (byte) value;
+    return position;
+  }
+
+  /**
+   * Number of bytes an unsigned LEB128 varint takes.
+   * @param value value to be written.
+   * @return size of the varint in bytes.
+   */
+  private static int getVarintSize( int value ) {
+    int size = 1;
+    while( (value & ~VARINT_MASK) != 0 ) {
+      value >>>= 7;
+      size++;
+    }
+    return size;
+  }
+
+  /**
+   * Maps signed values to unsigned values so small magnitudes stay small.
+   * @param value signed value.
+   * @return zigzag encoded value.
+   */
+  private static int zigzagEncode( int value ) {
+    return (value << 1) ^ (value >> 31);
+  }
+
+  /**
+   * Inverse of zigzagEncode.
+   * @param value zigzag encoded value.
+   * @return signed value.
+   */
+  private static int zigzagDecode( int value ) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  /**
+   * CRC-16/CCITT-FALSE of a range of bytes.
+   * @param array bytes of interest.
+   * @param offset first byte of the range.
+   * @param length number of bytes in the range.
+   * @return 16 bit CRC.
+   */
+  public static int crc16( byte[] array, int offset, int length ) {
+    int crc = 0xFFFF;
+    for( int index = offset; index < offset + length; index++ ) {
+      crc = ((crc << 8) ^ CRC_TABLE[ ((crc >> 8) ^ array[ index ]) & 0xFF ]) & 0xFFFF;
+    }
+    return crc;
+  }
+
+  /**
+   * Builds the byte-wise lookup table of the CRC polynomial 0x1021.
+   * @return 256 entry CRC table.
+   */
+  private static int[] createCrcTable() {
+    int[] table = new int[ 256 ];
+    for( int value = 0; value < table.length; value++ ) {
+      int crc = value << 8;
+      for( int bit = 0; bit < Byte.SIZE; bit++ ) {
+        crc = ( (crc & 0x8000) != 0 ) ? (crc << 1) ^ 0x1021 : crc << 1;
+      }
+      table[ value ] = crc & 0xFFFF;
+    }
+    return table;
+  }
+
+  /**
+   * Type of the parsed frame.
+   * @return frame type, e.g. TYPE_CELL.
+   */
+  public int getType() {
+    return type;
+  }
+
+  /**
+   * Number of columns in the maze of the parsed cell frame.
+   * @return maze width.
+   */
+  public int getWidth() {
+    return width;
+  }
+
+  /**
+   * Number of rows in the maze of the parsed cell frame.
+   * @return maze height.
+   */
+  public int getHeight() {
+    return height;
+  }
+
+  /**
+   * Row of the mouse in the parsed cell frame.
+   * @return mouse row.
+   */
+  public int getRow() {
+    return row;
+  }
+
+  /**
+   * Column of the mouse in the parsed cell frame.
+   * @return mouse column.
+   */
+  public int getColumn() {
+    return column;
+  }
+
+  /**
+   * Heading of the mouse in the parsed cell frame.
+   * @return 0 north, 1 east, 2 south, 3 west.
+   */
+  public int getHeading() {
+    return heading;
+  }
+
+  /**
+   * Absolute walls of the cell in the parsed cell frame.
+   * @return bitmask of WALL_NORTH, WALL_EAST, WALL_SOUTH and WALL_WEST.
+   */
+  public int getWalls() {
+    return walls;
+  }
+
+  /**
+   * Checks if the parsed cell frame carries flood fill values.
+   * @return true if distances are present, false otherwise.
+   */
+  public boolean hasFloodValues() {
+    return floodValues;
+  }
+
+  /**
+   * Flood fill value of the cell in the parsed cell frame.
+   * @return distance of the cell to the target.
+   */
+  public int getDistance() {
+    return distance;
+  }
+
+  /**
+   * Number of distance updates in the parsed snapshot or delta frame.
+   * @return number of updates.
+   */
+  public int getUpdateCount() {
+    return updates;
+  }
+
+  /**
+   * Cell of a distance update in the parsed snapshot or delta frame.
+   * @param update position of the update in the frame.
+   * @return row-major index of the cell.
+   */
+  public int getUpdateIndex( int update ) {
+    return updateIndices[ update ];
+  }
+
+  /**
+   * New distance of a distance update in the parsed snapshot or delta frame.
+   * @param update position of the update in the frame.
+   * @return flood fill value of the cell.
+   */
+  public int getUpdateValue( int update ) {
+    return updateValues[ update ];
+  }
+
+  /**
+   * Checks if a neighbor of the cell is inside the maze.
+   * @param direction 0 north, 1 east, 2 south, 3 west.
+   * @return true if the neighbor exists, false otherwise.
+   */
+  public boolean hasNeighbor( int direction ) {
+    return (neighbors & (1 << direction)) != 0;
+  }
+
+  /**
+   * Flood fill value of a neighbor in the parsed cell frame.
+   * @param direction 0 north, 1 east, 2 south, 3 west.
+   * @return distance of the neighbor to the target.
+   */
+  public int getNeighborDistance( int direction ) {
+    return neighborDistances[ direction ];
+  }
+
+  /**
+   * Getter for the transfer identifier of a maze chunk or acknowledgement.
+   * @return transfer identifier (0 - 255).
+   */
+  public int getTransfer() {
+    return transfer;
+  }
+
+  /**
+   * Getter for the OFFSET of a maze chunk, or the NEXT of an acknowledgement.
+   * @return byte index in the transfer.
+   */
+  public int getTransferOffset() {
+    return transferOffset;
+  }
+
+  /**
+   * Getter for the size of the transfer a maze chunk belongs to.
+   * @return total bytes of the transfer.
+   */
+  public int getTransferTotal() {
+    return transferTotal;
+  }
+
+  /**
+   * Getter for where the data of a maze chunk starts in the parsed buffer.
+   * @return index into the array of the parsed frame buffer.
+   */
+  public int getChunkStart() {
+    return chunkStart;
+  }
+
+  /**
+   * Getter for the number of data bytes in a maze chunk.
+   * @return chunk data length.
+   */
+  public int getChunkLength() {
+    return chunkLength;
+  }
+}
@@ -0,0 +1,321 @@
+/**
+ * Jose Jimenez-Olivas
+ * Brandon Cramer
+ * Email: jjj023@ucsd.edu
+ *
+ *                 University of California, San Diego
+ *                           IEEE Micromouse
+ *
+ * File Name:   PeriscopeTextParser.java
+ * Description: Single pass, allocation-free decoder of the Periscope text
+ *              protocol sent by the micromouse.
+ */
+
+import java.nio.ByteBuffer;
+
+/**
+ * Periscope text message:
+ *
+ *   Periscope: (WIDTHxHEIGHT)(ROW,COLUMN)(HEADING)(WALLS)
+ *
+ * e.g. "Periscope: (16x8)(0,0)(north)(left,up)". Exactly four parenthesized
+ * headers must follow the preamble; text between headers is ignored. WIDTH,
+ * HEIGHT, ROW and COLUMN are decimal numbers, HEADING is north, east, south
+ * or west in any case, and WALLS lists the walls detected relative to the
+ * heading - up, right, down, left - separated by commas, or is empty if no
+ * wall was detected. One message thereby reports every wall of a cell.
+ * WIDTH and HEIGHT are at most PeriscopeFrame.MAX_DIMENSION, like the maze of
+ * a binary frame; a larger maze makes the message malformed.
+ *
+ * The message is read in place from the received bytes or a CharSequence and
+ * the headers are held in this reusable object; parsing never allocates.
+ */
+public class PeriscopeTextParser {
+  public static final String PREAMBLE = "Periscope:";
+  public static final int HEADERS = 4;
+  public static final int WALL_UP    = 1 << 0;
+  public static final int WALL_RIGHT = 1 << 1;
+  public static final int WALL_DOWN  = 1 << 2;
+  public static final int WALL_LEFT  = 1 << 3;
+  public static final int MAX_VALUE = 0xFFFF; /* larger numbers are malformed */
+
+  /* in heading order: 0 north, 1 east, 2 south, 3 west */
+  private static final String[] HEADINGS = { "north", "east", "south", "west" };
+  /* in clockwise order relative to the heading - code i is wall bit i */
+  private static final String[] WALLS = { "up", "right", "down", "left" };
+  private static final int NOT_FOUND = -1;
+
+  private byte[] array = null;        /* backing array of heap buffers */
+  private ByteBuffer bytes = null;    /* other buffers */
+  private CharSequence chars = null;
+  private int width;
+  private int height;
+  private int row;
+  private int column;
+  private int heading;
+  private int walls;
+  private int first;  /* first value of a pair header */
+  private int second; /* second value of a pair header */
+
+  /**
+   * Checks if a message starts with the text preamble.
+   * @param message buffer whose position and limit bound the message.
+   * @return true if it is a Periscope text message.
+   */
+  public static boolean isText( ByteBuffer message ) {
+    int position = message.position();
+    if( message.remaining() < PREAMBLE.length() ) return false;
+    for( int index = 0; index < PREAMBLE.length(); index++ ) {
+      if( message.get(position + index) != PREAMBLE.charAt(index) ) return false;
+    }
+    return true;
+  }
+
+  /**
+   * Parses a text message from the received bytes.
+   * @param message buffer whose position and limit bound the message,
+   *                preamble included.
+   * @return true if the message is well formed, false otherwise.
+   */
+  public boolean parse( ByteBuffer message ) {
+    boolean valid;
+    chars = null;
+    if( message.hasArray() ) {
+      /* index the array directly */
+      array = message.array();
+      int offset = message.arrayOffset();
+      valid = parse( offset + message.position(), offset + message.limit() );
+      array = null;
+    }
+    else {
+      bytes = message;
+      valid = parse( message.position(), message.limit() );
+      bytes = null;
+    }
+    return valid;
+  }
+
+  /**
+   * Parses a text message from characters.
+   * @param message the message, preamble included.
+   * @return true if the message is well formed, false otherwise.
+   */
+  public boolean parse( CharSequence message ) {
+    chars = message;
+    array = null;
+    bytes = null;
+    boolean valid = parse( 0, message.length() );
+    chars = null;
+    return valid;
+  }
+
+  /**
+   * Validates the preamble and the four headers in one pass.
+   * @param start index of the first character.
+   * @param end index after the last character.
+   * @return true if the message is well formed, false otherwise.
+   */
+  private boolean parse( int start, int end ) {
+    if( end - start < PREAMBLE.length() ) return false;
+    for( int index = 0; index < PREAMBLE.length(); index++ ) {
+      if( at(start + index) != PREAMBLE.charAt(index) ) return false;
+    }
+
+    int cursor = start + PREAMBLE.length();
+    for( int header = 0; header < HEADERS; header++ ) {
+      int open = indexOf( '(', cursor, end );
+      if( open == NOT_FOUND ) return false;
+      int close = indexOf( ')', open + 1, end );
+      if( close == NOT_FOUND ) return false;
+      if( !parseHeader(header, open + 1, close) ) return false;
+      cursor = close + 1;
+    }
+
+    /* a fifth header makes the message malformed */
+    int open = indexOf( '(', cursor, end );
+    return open == NOT_FOUND || indexOf( ')', open + 1, end ) == NOT_FOUND;
+  }
+
+  /**
+   * Parses the contents of one header.
+   * @param header index of the header, 0 to HEADERS - 1.
+   * @param start index after the opening parenthesis.
+   * @param end index of the closing parenthesis.
+   * @return true if the header is well formed, false otherwise.
+   */
+  private boolean parseHeader( int header, int start, int end ) {
+    switch( header ) {
+      case 0:
+        /* maze dimensions */
+        if( !parsePair(start, end, 'x') ) return false;
+        /* never resize the maze beyond what the binary protocol can describe */
+        if( first > PeriscopeFrame.MAX_DIMENSION || second > PeriscopeFrame.MAX_DIMENSION ) return false;
+        width = first;
+        height = second;
+        return true;
+      case 1:
+        /* mouse location */
+        if( !parsePair(start, end, ',') ) return false;
+        row = first;
+        column = second;
+        return true;
+      case 2:
+        /* mouse heading */
+        heading = match( HEADINGS, start, end, true );
+        return heading != NOT_FOUND;
+      default:
+        /* walls detected */
+        return parseWalls( start, end );
+    }
+  }
+
+  /**
+   * Parses a comma separated list of relative walls into the walls bitmask.
+   * @param start index of the first character.
+   * @param end index after the last character.
+   * @return true if every item is a wall code, false otherwise.
+   */
+  private boolean parseWalls( int start, int end ) {
+    walls = 0;
+    if( start == end ) return true; /* no wall detected */
+    while( true ) {
+      int comma = indexOf( ',', start, end );
+      int item_end = ( comma == NOT_FOUND ) ? end : comma;
+      int code = match( WALLS, start, item_end, false );
+      if( code == NOT_FOUND ) return false;
+      walls |= 1 << code;
+      if( comma == NOT_FOUND ) return true;
+      start = comma + 1;
+    }
+  }
+
+  /**
+   * Parses two decimal numbers separated by a single character into first
+   * and second.
+   * @param start index of the first digit.
+   * @param end index after the last digit.
+   * @param separator character between the numbers.
+   * @return true if both numbers are present and at most MAX_VALUE.
+   */
+  private boolean parsePair( int start, int end, char separator ) {
+    int split = indexOf( separator, start, end );
+    if( split == NOT_FOUND ) return false;
+    first = parseNumber( start, split );
+    second = parseNumber( split + 1, end );
+    return first != NOT_FOUND && second != NOT_FOUND;
+  }
+
+  /**
+   * Parses a decimal number.
+   * @param start index of the first digit.
+   * @param end index after the last digit.
+   * @return the number, NOT_FOUND if it is empty, not a number or too large.
+   */
+  private int parseNumber( int start, int end ) {
+    if( start == end ) return NOT_FOUND;
+    int value = 0;
+    for( int index = start; index < end; index++ ) {
+      int digit = at( index ) - '0';
+      if( digit < 0 || digit > 9 ) return NOT_FOUND;
+      value = 10 * value + digit;
+      if( value > MAX_VALUE ) return NOT_FOUND;
+    }
+    return value;
+  }
+
+  /**
+   * Finds which of the given lower case words a header holds.
+   * @param words candidates, lower case.
+   * @param start index of the first character.
+   * @param end index after the last character.
+   * @param ignoreCase true to accept upper case letters.
+   * @return index of the matching word, NOT_FOUND if none matches.
+   */
+  private int match( String[] words, int start, int end, boolean ignoreCase ) {
+    for( int word = 0; word < words.length; word++ ) {
+      String candidate = words[ word ];
+      if( candidate.length() != end - start ) continue;
+      int index = 0;
+      for( ; index < candidate.length(); index++ ) {
+        int character = at( start + index );
+        if( ignoreCase ) character = Character.toLowerCase( character );
+        if( character != candidate.charAt(index) ) break;
+      }
+      if( index == candidate.length() ) return word;
+    }
+    return NOT_FOUND;
+  }
+
+  /**
+   * Finds the next occurrence of a character.
+   * @param character character to look for.
+   * @param start index to start looking at.
+   * @param end index to stop looking at.
+   * @return index of the character, NOT_FOUND if it does not occur.
+   */
+  private int indexOf( char character, int start, int end ) {
+    for( int index = start; index < end; index++ ) {
+      if( at(index) == character ) return index;
+    }
+    return NOT_FOUND;
+  }
+
+  /**
+   * Reads a character of the message being parsed. Bytes are decoded one to
+   * one as ISO-8859-1 characters.
+   * @param index absolute index in the message source.
+   * @return the character.
+   */
+  private int at( int index ) {
+    if( array != null ) return array[ index ] & 0xFF;
+    return ( chars != null ) ? chars.charAt( index ) : bytes.get( index ) & 0xFF;
+  }
+
+  /**
+   * Number of columns of the maze.
+   * @return maze width.
+   */
+  public int getWidth() {
+    return width;
+  }
+
+  /**
+   * Number of rows of the maze.
+   * @return maze height.
+   */
+  public int getHeight() {
+    return height;
+  }
+
+  /**
+   * Row of the mouse.
+   * @return row, not checked against the maze height.
+   */
+  public int getRow() {
+    return row;
+  }
+
+  /**
+   * Column of the mouse.
+   * @return column, not checked against the maze width.
+   */
+  public int getColumn() {
+    return column;
+  }
+
+  /**
+   * Heading of the mouse.
+   * @return 0 north, 1 east, 2 south, 3 west.
+   */
+  public int getHeading() {
+    return heading;
+  }
+
+  /**
+   * Walls detected relative to the heading of the mouse.
+   * @return WALL_UP, WALL_RIGHT, WALL_DOWN and WALL_LEFT bits, 0 if none.
+   */
+  public int getWalls() {
+    return walls;
+  }
+}
@@ -0,0 +1,226 @@
+/**
+ * Jose Jimenez-Olivas
+ * Brandon Cramer
+ * Email: jjj023@ucsd.edu
+ *
+ *                 University of California, San Diego
+ *                           IEEE Micromouse
+ *
+ * File Name:   FrameExporter.java
+ * Description: Writes rendered simulation frames to disk as a numbered PNG
+ *              sequence or an animated GIF on a background thread.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageOutputStream;
+
+/**
+ * FrameExporter hands out reusable frame images to draw on and encodes the
+ * submitted frames in order on a single background thread. At most
+ * FRAME_BUFFERS frames are in flight, so drawing only waits on the encoder
+ * when it is that far ahead.
+ */
+public class FrameExporter {
+  private static final int FRAME_BUFFERS = 4;
+  private static final String GIF_EXTENSION = ".gif";
+  private static final String GIF_METADATA_FORMAT = "javax_imageio_gif_image_1.0";
+  private static final int CENTISECOND = 10; /* milliseconds */
+
+  private final File output;
+  private final int delay;
+  private final boolean gif;
+  private final BlockingQueue<BufferedImage> freeFrames = new ArrayBlockingQueue<BufferedImage>( FRAME_BUFFERS );
+  private final ExecutorService encoder = Executors.newSingleThreadExecutor();
+  private ImageWriter gifWriter = null;
+  private ImageOutputStream gifStream = null;
+  private IIOMetadata gifMetadata = null;
+  private volatile IOException error = null;
+  private int frames = 0;
+
+  /**
+   * Creates an exporter of width by height frames.
+   * @param output GIF file if the name ends in .gif, otherwise the directory
+   *               the PNG sequence is written to.
+   * @param width width of a frame in pixels.
+   * @param height height of a frame in pixels.
+   * @param delay time between frames of the GIF in milliseconds.
+   * @throws IOException if the output cannot be created.
+   */
+  public FrameExporter( File output, int width, int height, int delay ) throws IOException {
+    this.output = output;
+    this.delay = delay;
+    this.gif = output.getName().toLowerCase().endsWith( GIF_EXTENSION );
+
+    for( int index = 0; index < FRAME_BUFFERS; index++ ) {
+      /* frames are recycled once encoded */
+      freeFrames.add( new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB) );
+    }
+
+    if( gif ) {
+      openGif( freeFrames.peek() );
+    }
+    else if( !output.isDirectory() && !output.mkdirs() ) {
+      throw new IOException( "Unable to create export directory " + output );
+    }
+  }
+
+  /**
+   * Gets an image to draw the next frame on, waiting for the encoder if all
+   * frames are in flight.
+   * @return image of the next frame.
+   * @throws IOException if a previous frame failed to encode.
+   */
+  public BufferedImage nextFrame() throws IOException {
+    if( error != null ) throw error;
+    try {
+      return freeFrames.take();
+    }
+    catch( InterruptedException e ) {
+      Thread.currentThread().interrupt();
+      throw new IOException( "Interrupted while waiting for a free frame", e );
+    }
+  }
+
+  /**
+   * Queues a frame obtained from nextFrame to be encoded.
+   * @param frame image of the frame that was drawn.
+   * @return Nothing.
+   */
+  public void submit( final BufferedImage frame ) {
+    final int number = frames++;
+    encoder.execute( new Runnable() {
+      @Override
+      public void run() {
+        try {
+          if( error == null ) encode( frame, number );
+        }
+        catch( IOException e ) {
+          error = e;
+        }
+        finally {
+          /* image can be drawn on again */
+          freeFrames.add( frame );
+        }
+      }
+    });
+  }
+
+  /**
+   * Number of frames submitted so far.
+   * @return total frames.
+   */
+  public int getFrameCount() {
+    return frames;
+  }
+
+  /**
+   * Waits for every queued frame to be encoded and closes the output.
+   * @return Nothing.
+   * @throws IOException if any frame failed to encode.
+   */
+  public void close() throws IOException {
+    encoder.shutdown();
+    try {
+      while( !encoder.awaitTermination(1, TimeUnit.SECONDS) ) {
+        /* still encoding */
+      }
+    }
+    catch( InterruptedException e ) {
+      Thread.currentThread().interrupt();
+    }
+    if( gif ) {
+      try {
+        gifWriter.endWriteSequence();
+      }
+      finally {
+        gifStream.close();
+        gifWriter.dispose();
+      }
+    }
+    if( error != null ) throw error;
+  }
+
+  /**
+   * Encodes a single frame - encoder thread only.
+   * @param frame image of the frame.
+   * @param number position of the frame in the run.
+   * @return Nothing.
+   * @throws IOException if the frame could not be written.
+   */
+  private void encode( BufferedImage frame, int number ) throws IOException {
+    if( gif ) {
+      gifWriter.writeToSequence( new IIOImage(frame, null, gifMetadata), null );
+    }
+    else {
+      File file = new File( output, String.format("frame_%05d.png", number) );
+      if( !ImageIO.write(frame, "png", file) ) throw new IOException( "No PNG writer available" );
+    }
+  }
+
+  /**
+   * Opens the GIF sequence with a frame delay and infinite looping.
+   * @param frame sample frame of the sequence.
+   * @return Nothing.
+   * @throws IOException if the GIF file cannot be created.
+   */
+  private void openGif( BufferedImage frame ) throws IOException {
+    Iterator<ImageWriter> writers = ImageIO.getImageWritersBySuffix( "gif" );
+    if( !writers.hasNext() ) throw new IOException( "No GIF writer available" );
+    gifWriter = writers.next();
+    gifMetadata = gifWriter.getDefaultImageMetadata( ImageTypeSpecifier.createFromRenderedImage(frame), null );
+
+    IIOMetadataNode root = (IIOMetadataNode) gifMetadata.getAsTree( GIF_METADATA_FORMAT );
+    IIOMetadataNode control = getChild( root, "GraphicControlExtension" );
+    control.setAttribute( "disposalMethod", "none" );
+    control.setAttribute( "userInputFlag", "FALSE" );
+    control.setAttribute( "transparentColorFlag", "FALSE" );
+    control.setAttribute( "delayTime", Integer.toString(delay / CENTISECOND) );
+    control.setAttribute( "transparentColorIndex", "0" );
+
+    /* NETSCAPE2.0 application extension - loop forever */
+    IIOMetadataNode application = new IIOMetadataNode( "ApplicationExtension" );
+    application.setAttribute( "applicationID", "NETSCAPE" );
+    application.setAttribute( "authenticationCode", "2.0" );
+    application.setUserObject( new byte[]{ 0x1, 0x0, 0x0 } );
+    getChild( root, "ApplicationExtensions" ).appendChild( application );
+    gifMetadata.setFromTree( GIF_METADATA_FORMAT, root );
+
+    if( output.getParentFile() != null ) output.getParentFile().mkdirs();
+    output.delete(); /* ImageIO does not truncate existing files */
+    gifStream = ImageIO.createImageOutputStream( output );
+    if( gifStream == null ) throw new IOException( "Unable to create " + output );
+    gifWriter.setOutput( gifStream );
+    gifWriter.prepareWriteSequence( null );
+  }
+
+  /**
+   * Finds or creates a child node of GIF metadata.
+   * @param root root node of the metadata tree.
+   * @param name name of the child node.
+   * @return child node with the given name.
+   */
+  private static IIOMetadataNode getChild( IIOMetadataNode root, String name ) {
+    for( int index = 0; index < root.getLength(); index++ ) {
+      if( root.item(index).getNodeName().equalsIgnoreCase(name) ) {
+        return (IIOMetadataNode) root.item( index );
+      }
+    }
+    IIOMetadataNode node = new IIOMetadataNode( name );
+    root.appendChild( node );
+    return node;
+  }
+}
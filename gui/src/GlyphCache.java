@@ -0,0 +1,124 @@
+/**
+ * Jose Jimenez-Olivas
+ * Brandon Cramer
+ * Email: jjj023@ucsd.edu
+ *
+ *                 University of California, San Diego
+ *                           IEEE Micromouse
+ *
+ * File Name:   GlyphCache.java
+ * Description: Cached number glyphs used to draw flood fill values on maze
+ *              cells without allocating or measuring text every frame.
+ */
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.font.FontRenderContext;
+import java.util.Arrays;
+
+/**
+ * GlyphCache converts and measures each number once for the current font size
+ * and draws the cached characters wherever the number is drawn.
+ */
+class GlyphCache {
+  private static final int INITIAL_CAPACITY = 64;
+  private static final int MAX_CACHED_VALUE = 1 << 16;
+
+  private final String fontName;
+  private final int fontStyle;
+  private final Color color;
+  private FontRenderContext context = null;
+  private Font font = null;
+  private FontMetrics metrics = null;
+  private char[][] glyphs = new char[ INITIAL_CAPACITY ][];
+  private int[] widths = new int[ INITIAL_CAPACITY ];
+
+  /**
+   * Creates an empty glyph cache.
+   * @param fontName logical or face name of the font numbers are drawn in.
+   * @param fontStyle style of the font numbers are drawn in.
+   * @param color color of the numbers.
+   */
+  public GlyphCache( String fontName, int fontStyle, Color color ) {
+    this.fontName = fontName;
+    this.fontStyle = fontStyle;
+    this.color = color;
+  }
+
+  /**
+   * Sets the font size and the render context glyphs are measured for; cached
+   * glyphs are discarded only if either of them changed.
+   * @param g2d graphics environment the numbers will be drawn on.
+   * @param size point size of the font.
+   * @return Nothing.
+   */
+  public void setFontSize( Graphics2D g2d, int size ) {
+    FontRenderContext frc = g2d.getFontRenderContext();
+    if( font != null && font.getSize() == size && frc.equals(context) ) return;
+    context = frc;
+    font = new Font( fontName, fontStyle, size );
+    metrics = g2d.getFontMetrics( font );
+    clear();
+  }
+
+  /**
+   * Discards every cached glyph.
+   * @return Nothing.
+   */
+  public void clear() {
+    Arrays.fill( glyphs, null );
+  }
+
+  /**
+   * Gets the font numbers are drawn in.
+   * @return current font, null if no font size was set.
+   */
+  public Font getFont() {
+    return font;
+  }
+
+  /**
+   * Draws a number centered horizontally on x with its baseline at y.
+   * @param g2d Graphics environment variable.
+   * @param value number to be drawn.
+   * @param x horizontal center of the number.
+   * @param y baseline of the number.
+   * @return Nothing.
+   */
+  public void drawCentered( Graphics2D g2d, int value, int x, int y ) {
+    g2d.setColor( color );
+    g2d.setFont( font );
+    char[] glyph = getGlyph( value );
+    if( glyph == null ) {
+      /* uncached number - rare */
+      String text = Integer.toString( value );
+      g2d.drawString( text, x - metrics.stringWidth(text) / 2, y );
+      return;
+    }
+    g2d.drawChars( glyph, 0, glyph.length, x - widths[ value ] / 2, y );
+  }
+
+  /**
+   * Gets the characters of a number, converting it on first use.
+   * @param value number of interest.
+   * @return digits of the number, null if the number is not cacheable.
+   */
+  private char[] getGlyph( int value ) {
+    if( value < 0 || value >= MAX_CACHED_VALUE ) return null;
+    if( value >= glyphs.length ) {
+      /* grow cache to fit value */
+      int capacity = Math.min( MAX_CACHED_VALUE, Math.max(value + 1, glyphs.length * 2) );
+      glyphs = Arrays.copyOf( glyphs, capacity );
+      widths = Arrays.copyOf( widths, capacity );
+    }
+    if( glyphs[ value ] == null ) {
+      /* first use at this font size */
+      String text = Integer.toString( value );
+      glyphs[ value ] = text.toCharArray();
+      widths[ value ] = metrics.stringWidth( text );
+    }
+    return glyphs[ value ];
+  }
+}
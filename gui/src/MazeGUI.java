@@ -0,0 +1,2401 @@
+/**
+ * Jose Jimenez-Olivas 
+ * Brandon Cramer
+ * Email: jjj023@ucsd.edu
+ * 
+ *                 University of California, San Diego
+ *                           IEEE Micromouse
+ *
+ * File Name:   MazeGUI.java
+ * Description: Emulate a real-time micromouse environment for quicker debugging 
+ *              and efficient testing. 
+ */
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.File;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Vector;
+import java.util.concurrent.CopyOnWriteArrayList;
+import javax.swing.JPanel;
+import javax.swing.JTextField;
+import javax.swing.JFrame;
+import javax.swing.JButton;
+import javax.swing.JComboBox;
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.JProgressBar;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import javax.swing.BoxLayout;
+import javax.swing.Box;
+import javax.swing.JSlider;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.awt.Point;
+import java.awt.BorderLayout;
+import java.awt.event.ActionListener;
+import java.awt.event.ActionEvent;
+import java.awt.event.KeyListener;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseListener;
+import java.awt.event.MouseMotionListener;
+import java.awt.event.MouseWheelEvent;
+import java.awt.event.MouseWheelListener;
+import javax.swing.event.PopupMenuListener;
+import javax.swing.event.PopupMenuEvent;
+import java.awt.Container;
+import java.awt.Font;
+import java.awt.Rectangle;
+import java.awt.Shape;
+import java.awt.Stroke;
+import java.awt.BasicStroke;
+import java.awt.geom.Path2D;
+import java.awt.Image;
+import java.awt.GridLayout;
+import java.awt.Dimension;
+import java.awt.GraphicsConfiguration;
+import java.awt.Transparency;
+
+/**
+ * MazeGUI will create maze exploring interface.
+ */
+public class MazeGUI implements ActionListener, KeyListener, PopupMenuListener, ChangeListener {
+  public static final double MAZE_DEFAULT_PROPORTION = 0.50;
+  public static final double MAZE_PERISCOPE_PROPORTION = 0.75;
+  private static final File DATAFILE = new File("../datafile");
+  private static final String LOGO = "/utility/images/UCSD-logo.png"; /* resource on the class path */
+  private static final int ANIMATION_DELAY = 250;
+  private static final int PERISCOPE_DELAY = 1000;
+  private static final int EVEN = 2;
+  private static final int WALL_WIDTH = 2;
+  private static final int MAX_SCALED_IMAGES = 4;
+  private static final double LOD_CELL_SIZE = 5.0; /* pixels */
+  private static final int HEAT_MAP_COLORS = 256;
+  private static final int HEAT_MAP_ALPHA = 0xB0;
+  private static final int REPAINT_PADDING = 2;
+  private static final double ZOOM_STEP = 1.25;
+  private static final double MAX_CELL_SIZE = 96.0; /* pixels */
+  private static final int EXPORT_SIZE = 800; /* pixels */
+  private static final int REPLAY_DELAY = 100;
+  private static final int STATS_DELAY = 1000;
+  private static final long NANOS_PER_MILLI = 1000000L;
+  private static final double TILE_PROPORTION = 0.85;
+  private static final int TILE_LABEL_OFFSET = 4; /* pixels above the maze */
+
+  private static final Color LIGHT_BLACK           = new Color( 32, 32, 32 );
+  private static final Color NO_WALL_COLOR         = new Color( 135, 135, 135 );
+  private static final Color PERISCOPE_PANEL_COLOR = new Color( 43, 50, 56); 
+  private static final Color WALL_COLOR            = Color.BLACK;
+  private static final Color MAZE_BORDER_COLOR     = Color.BLACK;
+  private static final Color MOUSE_COLOR           = Color.YELLOW;
+  private static final Color DIJKSTRA_PATH_COLOR   = Color.RED;
+  private static final Color DFS_PATH_COLOR        = Color.BLUE;
+  private static final Color MAZE_BACKGROUND_COLOR = Color.GRAY;
+  private static final Color NUMBER_COLOR          = Color.DARK_GRAY;
+  private static final Color MOUSE_PATH_COLOR      = Color.YELLOW;
+  private static final Color EXCITEMENT_COLOR      = Color.BLUE;
+  private static final Color FRAME_TIME_COLOR      = Color.GREEN;
+  private static final Color TILE_LABEL_COLOR      = LIGHT_BLACK;
+  private static final int[] HEAT_MAP_PALETTE = createHeatMapPalette();
+  private static BufferedImage image = null;
+
+  private Maze ref_maze;
+  private Maze mouse_maze;
+  private Mouse mouse;
+
+  private Timer animationCLK;
+  private JPanel northPanel;
+  private JPanel southPanel;
+  private RenderPanel renderPanel;
+  private JPanel northButtonPanel;
+  private JPanel southButtonPanel;
+  private JPanel periscopePanel;
+
+  private JButton animateButton;
+  private JButton clearButton;
+  private JButton mazeButton;
+  private JButton nextButton;
+  private JButton periscopeButton;
+  private JButton sendButton;
+  private JButton addRobotButton;
+  private JButton removeRobotButton;
+  private JButton uploadButton;
+  private JProgressBar uploadProgressBar;
+  private JTextField periscopePrompt;
+  private JComboBox<String> portComboBox; 
+  private JLabel frameTimeLabel;
+  private JLabel linkStatsLabel;
+  private SerialRoute serialComm = SerialRoute.getInstance();
+
+  private boolean runDijkstra = false;
+  private boolean runDFS      = false;
+  private boolean outputStats = true;
+  private boolean showFrameTime = false;
+
+  /* robots shown in Periscope mode - the first one is mouse on serialComm */
+  private List<PeriscopeRobot> robots = new CopyOnWriteArrayList<PeriscopeRobot>();
+
+  private File periscopeLog = null;
+  private PeriscopeMonitor periscopeMonitor = null;
+  private SessionRecorder sessionRecorder = null;
+  private ByteArrayOutputStream keyframe = new ByteArrayOutputStream();
+  private SessionReplayer sessionReplayer = null;
+  private JSlider replaySlider;
+  private Timer replayCLK;
+  private Timer statsCLK;
+  private boolean updatingReplaySlider = false;
+  private MazeUploader mazeUploader = null;
+
+  /**
+   * Constructor: Creates and sets up MazeGUI 
+   * @param dimension number of unit cells per side of square maze.
+   * @param non_tree_edges number of no tree edges in maze graph (adds multiple path solutions).
+   * @param dijkstra color the dijkstra path on the reference maze in DIJKSTRA_PATH_COLOR.
+   * @param dfs color the dfs path on the reference maze in DFS_PATH_COLOR.
+   * @param frameTime display the time taken to paint each frame.
+   */
+  public MazeGUI( int dimension, int non_tree_edges, boolean dijkstra, boolean dfs, boolean frameTime ) {
+    this( dimension, non_tree_edges, dijkstra, dfs, frameTime, null, null );
+  }
+
+  /**
+   * Constructor: Creates and sets up MazeGUI, or renders a mouse run offscreen
+   * without a window if an export destination is given.
+   * @param dimension number of unit cells per side of square maze.
+   * @param non_tree_edges number of no tree edges in maze graph (adds multiple path solutions).
+   * @param dijkstra color the dijkstra path on the reference maze in DIJKSTRA_PATH_COLOR.
+   * @param dfs color the dfs path on the reference maze in DFS_PATH_COLOR.
+   * @param frameTime display the time taken to paint each frame.
+   * @param export PNG sequence directory or .gif file to export frames to, null for the GUI.
+   * @param log file Periscope messages are also written to, null to only display them.
+   */
+  public MazeGUI( int dimension, int non_tree_edges, boolean dijkstra, boolean dfs, boolean frameTime, File export, File log ) {
+    if( dimension < 1 ) dimension = 1;
+    ref_maze   = new Maze( dimension );
+    mouse_maze = new Maze( dimension );
+    if( ref_maze.loadMaze(DATAFILE) == false ) {
+      /* load datafile - otherwise create new random maze if that didn't work */
+      ref_maze.createRandomMaze( non_tree_edges, DATAFILE );
+    }
+    mouse = new Mouse( dimension - 1, 0, ref_maze, mouse_maze );
+    robots.add( new PeriscopeRobot(serialComm, mouse, "Periscope") );
+    runDijkstra = dijkstra;
+    runDFS = dfs;
+    showFrameTime = frameTime;
+    periscopeLog = log;
+    if( export != null ) {
+      /* headless */
+      showFrameTime = false;
+      exportRun( export );
+    }
+    else {
+      begin();
+    }
+  }
+
+  /**
+   * Runs the mouse until it found the optimal path without a window, drawing
+   * every step offscreen with the RenderPanel routines and exporting it as a
+   * frame. Frames are encoded on a background thread while the mouse keeps
+   * exploring.
+   * @param export PNG sequence directory or .gif file to export frames to.
+   * @return Nothing.
+   */
+  private void exportRun( File export ) {
+    long prevMillis = System.currentTimeMillis();
+    System.err.println( "Exporting mouse run to " + export + "..." );
+    renderPanel = new RenderPanel();
+    renderPanel.setSize( EXPORT_SIZE, EXPORT_SIZE );
+    FrameExporter exporter = null;
+
+    try {
+      exporter = new FrameExporter( export, EXPORT_SIZE, EXPORT_SIZE, ANIMATION_DELAY );
+      exportFrame( exporter );
+      boolean exploring;
+      do {
+        /* one frame per mouse step */
+        exploring = mouse.exploreNextCell();
+        exportFrame( exporter );
+      } while( exploring || !mouse.isDone() );
+      exporter.close();
+      System.err.println( "Exported " + exporter.getFrameCount() + " frames in " + (System.currentTimeMillis() - prevMillis) / 1000.0 + " sec" );
+    }
+    catch( IOException e ) {
+      e.printStackTrace();
+    }
+  }
+
+  /**
+   * Draws the current state of the simulation on the next export frame.
+   * @param exporter destination of the frame.
+   * @return Nothing.
+   * @throws IOException if a previous frame failed to encode.
+   */
+  private void exportFrame( FrameExporter exporter ) throws IOException {
+    BufferedImage frame = exporter.nextFrame();
+    Graphics2D g2d = frame.createGraphics();
+    renderPanel.paint( g2d );
+    g2d.dispose();
+    exporter.submit( frame );
+  }
+
+  /**
+   * Initialize the GUI Environment. 
+   * @return Nothing.
+   */
+  private void begin() {
+    JFrame main_frame = new JFrame( "Micromouse Simulator" );
+    main_frame.setSize( 800, 800 );
+    main_frame.setDefaultCloseOperation( JFrame.EXIT_ON_CLOSE );
+    main_frame.setBackground( Color.BLACK );
+    main_frame.setResizable( true );
+
+    /* main sections of layout, north, south, center */
+    northPanel  = new JPanel();
+    southPanel  = new JPanel();
+    renderPanel = new RenderPanel();
+    /* sub-panels for cosmetic needs */ 
+    northButtonPanel = new JPanel();
+    periscopePanel   = new JPanel();
+    southButtonPanel = new JPanel();
+
+    /* set layout for button panels */
+    northButtonPanel.setLayout( new BoxLayout(northButtonPanel, BoxLayout.LINE_AXIS) );
+    southButtonPanel.setLayout( new BoxLayout(southButtonPanel, BoxLayout.LINE_AXIS) );
+
+    /* sets names of new buttons */
+    animateButton   = new JButton( "Animate" );
+    clearButton     = new JButton( "Clear" );
+    mazeButton      = new JButton( "New Maze" );
+    nextButton      = new JButton( "Next" );
+    periscopeButton = new JButton( "Periscope" );
+    sendButton      = new JButton( "Send" );
+    addRobotButton    = new JButton( "Add Robot" );
+    removeRobotButton = new JButton( "Remove Robot" );
+    uploadButton      = new JButton( "Upload Maze" );
+    periscopePrompt = new JTextField( 25 );
+
+    /* Create port combo box */
+    //serialComm = SerialRoute.getInstance();
+    Vector<String> portList = serialComm.getPortList();
+    portList.add( 0, "Disconnected" );
+    portComboBox = new JComboBox<String>( portList );
+    portComboBox.setMaximumSize( portComboBox.getPreferredSize() );
+    portComboBox.setSelectedIndex( 0 );
+    portComboBox.setVisible( false );
+
+    /* live stream of periscope messages */
+    try {
+      periscopeMonitor = new PeriscopeMonitor( periscopeLog );
+    }
+    catch( IOException e ) {
+      System.err.println( "Periscope log failed to open: " + periscopeLog );
+      periscopeMonitor = new PeriscopeMonitor();
+    }
+
+    /* paint latency readout */
+    frameTimeLabel = new JLabel( String.format("paint: %7.2f ms  avg: %7.2f ms", 0.0, 0.0) );
+    frameTimeLabel.setFont( new Font(Font.MONOSPACED, Font.PLAIN, 12) );
+    frameTimeLabel.setForeground( FRAME_TIME_COLOR );
+    frameTimeLabel.setMaximumSize( frameTimeLabel.getPreferredSize() );
+    frameTimeLabel.setVisible( showFrameTime );
+
+    /* Activates button/comboBox to register state change */
+    clearButton.addActionListener( this );
+    animateButton.addActionListener( this );
+    mazeButton.addActionListener( this );
+    nextButton.addActionListener( this );
+    periscopeButton.addActionListener( this );
+    portComboBox.addActionListener( this );
+    sendButton.addActionListener(this);
+    addRobotButton.addActionListener( this );
+    removeRobotButton.addActionListener( this );
+    uploadButton.addActionListener( this );
+    periscopePrompt.addKeyListener( this );
+    /* Activates multithreaded serial communication on a specified port */
+    serialComm.addActionListener( this );
+    /* popup menu listener */
+    portComboBox.addPopupMenuListener( this );
+    /* ports plugged in or unplugged */
+    PortRegistry.getInstance().addActionListener( this );
+
+    /* add button to panels */
+    northButtonPanel.add( animateButton );
+    northButtonPanel.add( Box.createHorizontalGlue() );
+    northButtonPanel.add( portComboBox );
+    northButtonPanel.add( frameTimeLabel );
+    northButtonPanel.add( Box.createHorizontalGlue() );
+    northButtonPanel.add( mazeButton );
+    /* south button panel buttons */
+    southButtonPanel.add( nextButton );
+    southButtonPanel.add( Box.createHorizontalGlue() );
+    southButtonPanel.add( periscopeButton );
+    southButtonPanel.add( Box.createHorizontalGlue() );
+    southButtonPanel.add( clearButton );
+    /* periscope panel buttons */
+    periscopePanel.add( periscopePrompt );
+    periscopePanel.add( Box.createHorizontalGlue() );
+    periscopePanel.add( sendButton );
+    periscopePanel.add( addRobotButton );
+    periscopePanel.add( removeRobotButton );
+    periscopePanel.add( uploadButton );
+    /* maze upload progress */
+    uploadProgressBar = new JProgressBar();
+    uploadProgressBar.setStringPainted( true );
+    uploadProgressBar.setVisible( false );
+    periscopePanel.add( uploadProgressBar );
+    /* live link statistics of every robot */
+    linkStatsLabel = new JLabel();
+    linkStatsLabel.setFont( new Font(Font.MONOSPACED, Font.PLAIN, 12) );
+    linkStatsLabel.setForeground( FRAME_TIME_COLOR );
+    periscopePanel.add( linkStatsLabel );
+    periscopePanel.setVisible( false );
+    /* session replay seek bar */
+    replaySlider = new JSlider( 0, 0, 0 );
+    replaySlider.setBackground( PERISCOPE_PANEL_COLOR );
+    replaySlider.addChangeListener( this );
+    replaySlider.setVisible( false );
+    periscopePanel.add( replaySlider );
+
+    /* background color of button panels */
+    northButtonPanel.setBackground( Color.BLACK );
+    southButtonPanel.setBackground( Color.BLACK );
+    periscopePanel.setBackground( PERISCOPE_PANEL_COLOR );
+
+    /* set up north panel */
+    northPanel.setLayout( new GridLayout(0, 1));
+    northPanel.add(northButtonPanel);
+    /* set up south panel  */
+    southPanel.setLayout( new BoxLayout(southPanel, BoxLayout.Y_AXIS) );
+    southPanel.add( periscopeMonitor.getView() );
+    southPanel.add( periscopePanel );
+    southPanel.add( southButtonPanel );
+
+    /* add panels with their buttons on the final window */
+    Container contentPane = main_frame.getContentPane();
+    contentPane.add( northPanel, BorderLayout.NORTH );
+    contentPane.add( southPanel, BorderLayout.SOUTH );
+    contentPane.add( renderPanel, BorderLayout.CENTER );
+    contentPane.validate();
+
+    main_frame.setVisible( true );
+    animationCLK = new Timer( ANIMATION_DELAY, this );
+    replayCLK = new Timer( REPLAY_DELAY, this );
+    statsCLK = new Timer( STATS_DELAY, this );
+  }
+
+  /**
+   * Method implemented from class ActionListener; Once a button is pressed this
+   * method will be called implicitly. 
+   * @param evt generic object that records information about the change in 
+   *            state of the "listening" object. In this case the "listening
+   *            object" is a JButton.
+   * @return Nothing.
+   */
+  @Override
+  public void actionPerformed( ActionEvent evt ) {
+    if( evt instanceof SerialRouteEvent ) {
+      /* data received from a serial port */
+      handleSerialCommEvent( evt );
+    }
+    if( evt instanceof PortRegistryEvent ) {
+      /* port attached or detached */
+      handlePortRegistryEvent( evt );
+    }
+
+    if( evt.getSource() == clearButton ) {
+      /* clear button was pressed */
+      handleClearButtonEvent( evt );
+    }
+    else if( evt.getSource() == portComboBox ) {
+      handlePortComboBoxEvent( evt );
+    }
+    else if( evt.getSource() == animateButton ) {
+      /* animate button was pressed */
+      handleAnimateButtonEvent( evt );
+    }
+    else if( evt.getSource() == mazeButton ) {
+      /* new maze button was pressed */
+      handleMazeButtonEvent( evt );
+    }
+    else if( evt.getSource() == periscopeButton ) {
+      /* toggle periscope mode */
+      handlePeriscopeButtonEvent( evt );
+    }
+    else if( evt.getSource() == sendButton ) {
+      /* send user input out of device port */
+      handleSendButtonEvent( evt );
+    }
+    else if( evt.getSource() == addRobotButton ) {
+      /* connect another robot */
+      handleAddRobotButtonEvent( evt );
+    }
+    else if( evt.getSource() == removeRobotButton ) {
+      /* disconnect an additional robot */
+      handleRemoveRobotButtonEvent( evt );
+    }
+    else if( evt.getSource() == uploadButton ) {
+      /* send the reference maze to the robot */
+      handleUploadButtonEvent( evt );
+    }
+    else if( evt.getSource() == replayCLK ) {
+      /* follow replay position */
+      handleReplayClockEvent( evt );
+    }
+    else if( evt.getSource() == statsCLK ) {
+      /* refresh link statistics */
+      handleStatsClockEvent( evt );
+    }
+    else if( evt.getSource() == nextButton || evt.getSource() == animationCLK ) {
+      /* animation clk signal */
+      handleNextButtonEvent( evt );
+    }
+  }
+
+  /**
+   * Handles the functionality of the clear button click.
+   * @param evt Event that fired from the clear JButton.
+   * @return Nothing.
+   */
+  private void handleClearButtonEvent( ActionEvent evt ) {
+    synchronized( mouse ) {
+      mouse.restart();
+    }
+    outputStats = true;
+    renderPanel.repaint();
+  }
+
+  /**
+   * Handles the functionality of the Animate button.
+   * @param evt Event that fired from the animate JButton.
+   * @return Nothing.
+   */
+  private void handleAnimateButtonEvent( ActionEvent evt ) {
+    if( animationCLK.isRunning() == false ) {
+      /* start animation */
+      animationCLK.start();
+      animateButton.setText( "Stop" );
+      nextButton.setEnabled( false );
+    }
+    else {
+      /* stop animation */
+      animationCLK.stop();
+      animateButton.setText( "Animate" );
+      nextButton.setEnabled( true );
+    }
+    renderPanel.repaint();
+  }
+
+  /**
+   * Handles the functionality of the new maze button click.
+   * @param evt Event that fired the maze button click.
+   * @return Nothing.
+   */
+  private void handleMazeButtonEvent( ActionEvent evt ) {
+    System.err.println( "\nnew maze" );
+    animateButton.setText( "Animate" );
+    if( animationCLK.isRunning() == true ) animationCLK.stop();
+    nextButton.setEnabled( true );
+    ref_maze.clear();
+    ref_maze.createRandomMaze( DATAFILE );
+    synchronized( mouse ) {
+      mouse.restart();
+    }
+    outputStats = true;
+    renderPanel.repaint();
+  }
+
+  /**
+   * Handles the functionality of the next button click.
+   * @param evt Event that registered the next button click.
+   * @return Nothing.
+   */
+  private void handleNextButtonEvent( ActionEvent evt ) {
+    boolean exploring;
+    synchronized( mouse ) {
+      exploring = mouse.exploreNextCell();
+    }
+    if( exploring || outputStats ) {
+      /* mouse is exploring maze or display mouse statistics after its run */
+      repaintMouseCells();
+    }
+    else if( mouse.isDone() ) {
+      /* mouse is done running. */
+      System.err.println("Mouse is done running.");
+      if( animationCLK.isRunning() ) animationCLK.stop();
+      animateButton.setText( "Animate" );
+      animateButton.setEnabled( true );
+      nextButton.setEnabled( true );
+    }
+  }
+
+  /**
+   * Send button event to transmit data through selected port.
+   * @param evt Event that registered the send button click.
+   * @return Nothing. 
+   */
+  private void handleSendButtonEvent( ActionEvent evt ) {
+    // send button should be disabled when slected port is disconnected
+    String selectedPort = portComboBox.getSelectedItem().toString();
+    String noPort = portComboBox.getItemAt(0).toString();
+    if( selectedPort.equals(noPort) || serialComm == null ) return;
+    String message = periscopePrompt.getText();
+    serialComm.sendMessage( message );
+    periscopePrompt.setText("");
+  }
+
+  /**
+   * Triggers when a key is pressed on the machine's keyboard.
+   * @param evt Key Event fired.
+   * @return Nothing
+   */
+  @Override
+  public void keyPressed( KeyEvent evt ) {
+    if( evt.getKeyCode() == KeyEvent.VK_ENTER ) {
+      handleSendButtonEvent( null );
+    }
+  }
+  /* required override for KeyListener inheritance of interface */
+  @Override
+  public void keyReleased( KeyEvent evt ) {}
+  @Override
+  public void keyTyped( KeyEvent evt ) {} 
+
+
+  /**
+   * Asynchronous update serial port list in combo box upon user interaction.
+   * @return Nothing.
+   */
+  @Override
+  public void popupMenuWillBecomeVisible​( PopupMenuEvent evt ) {
+    updatePortComboBox();
+  }
+  /* required override for PopupMenuListener interface inheritance */
+  @Override
+  public void popupMenuWillBecomeInvisible​( PopupMenuEvent evt ) {}
+  @Override
+  public void popupMenuCanceled​( PopupMenuEvent evt ) {}
+
+
+  /**
+   * Reflects a port being plugged in or unplugged in the port list, and
+   * disconnects robots whose port disappeared - called on the PortRegistry
+   * watcher thread.
+   * @param evt Event that was fired by the PortRegistry.
+   * @return Nothing.
+   */
+  private void handlePortRegistryEvent( ActionEvent evt ) {
+    final PortRegistryEvent portEvt = (PortRegistryEvent) evt;
+    SwingUtilities.invokeLater( new Runnable() {
+      @Override
+      public void run() {
+        periscopeMonitor.println( (portEvt.isAttached() ? "Port attached: " : "Port detached: ") + portEvt.getPortName() );
+        updatePortComboBox();
+      }
+    });
+  }
+
+  /**
+   * Handles a logic associated with the JComboBox.
+   * @param evt Event that is fired when user interacts with the JComboBox.
+   * @return Nothing.
+   */
+  private void handlePortComboBoxEvent( ActionEvent evt ) {
+    String selectedPort = portComboBox.getSelectedItem().toString();
+    String noPort = portComboBox.getItemAt(0).toString(); /* diconnected port */
+
+    if( selectedPort.equals(noPort) ) {
+      /* Manual disconnection option */
+      closePeriscopeMonitor();
+    } 
+    else if( !openPeriscopeMonitor(selectedPort) ) {
+      /* unsuccessful port connection - clean up and report disconnection in front end */
+      closePeriscopeMonitor();
+      portComboBox.setSelectedIndex( 0 );
+    }
+  }
+
+  /**
+   * Realtime event streaming communication from hardware micromouse.
+   * @param evt Event that triggered a periscope button toggle.
+   * @return Nothing.
+   */
+  private void handlePeriscopeButtonEvent( ActionEvent evt ) {
+    boolean periscopeMode = !portComboBox.isVisible();
+    String buttonText = (periscopeMode) ? "Exit" : "Periscope";
+    periscopeButton.setText( buttonText );
+    portComboBox.setVisible( periscopeMode );
+    periscopePanel.setVisible( periscopeMode );
+    periscopeMonitor.getView().setVisible( periscopeMode );
+    /* reset mouse and environment */
+    if( animationCLK.isRunning() ) {
+      /* stop current running animation */
+      handleAnimateButtonEvent( evt );
+    }
+    handleClearButtonEvent( evt );
+    /* disable animation buttons when in Periscope Mode */
+    animateButton.setVisible( !periscopeMode );
+    nextButton.setVisible( !periscopeMode );
+    mazeButton.setVisible( !periscopeMode );
+    clearButton.setVisible( !periscopeMode );
+
+    if(!periscopeMode && portComboBox.getSelectedIndex() != 0 ) {
+      /* periscope close and clean up */
+      closePeriscopeMonitor();
+      portComboBox.setSelectedIndex( 0 );
+    }
+    if( !periscopeMode ) {
+      /* additional robots only live in periscope mode */
+      for( PeriscopeRobot robot : robots ) {
+        if( robot.mouse != mouse ) removeRobot( robot );
+      }
+    }
+
+    if( periscopeMode ) {
+      linkStatsLabel.setText( "" );
+      statsCLK.start();
+    }
+    else {
+      statsCLK.stop();
+    }
+
+    renderPanel.setPeriscopeMode( periscopeMode );
+    renderPanel.repaint();
+  }
+
+  /**
+   * Updates the available port list in combo box.
+   * @return Nothing.
+   */
+  private void updatePortComboBox() {
+    /* current available ports */
+    Vector<String> portList = serialComm.getPortList();
+    portList.insertElementAt(portComboBox.getItemAt(0), 0); /* diconnected port */
+
+    /* currently connected device got disconnected */
+    String selectedPort = portComboBox.getSelectedItem().toString();
+    if( !portList.contains(selectedPort) ) {
+      /* reflect disconnection in front end */
+      closePeriscopeMonitor();
+      portComboBox.setSelectedIndex( 0 );
+    }
+    for( PeriscopeRobot robot : robots ) {
+      /* additional robot got disconnected */
+      if( robot.mouse != mouse && !portList.contains(robot.name) ) removeRobot( robot );
+    }
+
+    /* remove items */
+    for( int index = 0; index < portComboBox.getItemCount(); index++ ) {
+      String item = portComboBox.getItemAt(index);
+      if( !portList.contains(item) ) {
+        portComboBox.removeItemAt(index);
+        index--; /* new item will shift into current position */
+      }
+    }
+
+    /* list is up to date */
+    if( portComboBox.getItemCount() ==  portList.size() ) return;
+
+    /* add items */
+    for( int index = 0; index < portList.size(); index++ ) {
+      /* utilizing strict item order */
+      String port = portList.elementAt( index );
+      String item = portComboBox.getItemAt( index );
+      if( item == null ) {
+        portComboBox.addItem( port );
+      }
+      else if( !item.equals(port) ) {
+        portComboBox.insertItemAt( port, index );
+      }
+    }
+  }
+
+  /**
+   * Connects to the selected device port and streams the data being
+   * broadcasted from the device to the periscope monitor.
+   * @param devicePort File path of device file that is being listened to.
+   * @return True on success connecting to device port, otherwise false on failure.
+   */
+  private boolean openPeriscopeMonitor( String devicePort ) {
+    if( serialComm.connectTo(devicePort) ) {
+      /* successfully connected to device */
+      periscopeMonitor.println( "Connected: " + devicePort );
+      return true;
+    }
+    /* unsuccessful port connection */
+    periscopeMonitor.println( "Failed Connection: " + devicePort );
+    return false;
+  }
+
+  /**
+   * Disconnects the currently connected device from the periscope monitor.
+   * @return Nothing.
+   */
+  private void closePeriscopeMonitor() {
+    if( serialComm != null && serialComm.getConnectedPortName() != null ) {
+      /* close port connection */
+      serialComm.disconnect();
+      periscopeMonitor.println( "Disconnected." );
+    }
+  }
+
+  /**
+   * Uploads the reference maze to the connected robot in one bulk transfer,
+   * showing its progress in the periscope panel.
+   * @param evt Event that registered the upload maze button click.
+   * @return Nothing.
+   */
+  private void handleUploadButtonEvent( ActionEvent evt ) {
+    if( serialComm.getConnectedPortName() == null ) {
+      periscopeMonitor.println( "Maze upload: no robot connected." );
+      return;
+    }
+    if( mazeUploader != null && !mazeUploader.isDone() ) return; /* one upload at a time */
+    ByteArrayOutputStream payload = new ByteArrayOutputStream();
+    try {
+      ref_maze.serialize( payload );
+    }
+    catch( IOException e ) {
+      e.printStackTrace();
+      return;
+    }
+    final MazeUploader uploader = new MazeUploader( serialComm, payload.toByteArray(), new Runnable() {
+      @Override
+      public void run() {
+        SwingUtilities.invokeLater( new Runnable() {
+          @Override
+          public void run() {
+            updateUploadProgress();
+          }
+        });
+      }
+    });
+    mazeUploader = uploader;
+    uploadProgressBar.setMaximum( uploader.getTotalBytes() );
+    uploadProgressBar.setValue( 0 );
+    uploadProgressBar.setVisible( true );
+    uploadButton.setEnabled( false );
+    periscopePanel.revalidate();
+    uploader.start();
+  }
+
+  /**
+   * Shows the progress of the maze upload and reports its outcome.
+   * @return Nothing.
+   */
+  private void updateUploadProgress() {
+    MazeUploader uploader = mazeUploader;
+    if( uploader == null || !uploadProgressBar.isVisible() ) return;
+    uploadProgressBar.setValue( uploader.getAcknowledgedBytes() );
+    if( !uploader.isDone() ) return;
+    /* upload finished */
+    String outcome = uploader.isSuccessful() ? "Maze uploaded: " : "Maze upload failed: ";
+    periscopeMonitor.println( outcome + uploader.getAcknowledgedBytes() + "/" + uploader.getTotalBytes() + " bytes in " 
+                              + uploader.getElapsedMillis() + " ms, " + uploader.getRetransmitCount() + " retransmissions" );
+    uploadProgressBar.setVisible( false );
+    uploadButton.setEnabled( true );
+    periscopePanel.revalidate();
+  }
+
+  /**
+   * Connects another robot on a port chosen by the user, shown in a tile of
+   * its own next to the other robots.
+   * @param evt Event that registered the add robot button click.
+   * @return Nothing.
+   */
+  private void handleAddRobotButtonEvent( ActionEvent evt ) {
+    Vector<String> portList = serialComm.getPortList();
+    for( PeriscopeRobot robot : robots ) {
+      /* every hardware port feeds one robot */
+      if( !robot.name.equals(LoopbackTransport.NAME) ) portList.remove( robot.route.getConnectedPortName() );
+    }
+    Object port = JOptionPane.showInputDialog( renderPanel, "Port of the robot:", "Add Robot", JOptionPane.PLAIN_MESSAGE, 
+                                               null, portList.toArray(), portList.isEmpty() ? null : portList.get(0) );
+    if( port != null ) addRobot( port.toString() );
+  }
+
+  /**
+   * Disconnects an additional robot chosen by the user.
+   * @param evt Event that registered the remove robot button click.
+   * @return Nothing.
+   */
+  private void handleRemoveRobotButtonEvent( ActionEvent evt ) {
+    Vector<PeriscopeRobot> extraRobots = new Vector<PeriscopeRobot>();
+    for( PeriscopeRobot robot : robots ) {
+      /* the main robot is disconnected through the port combo box */
+      if( robot.mouse != mouse ) extraRobots.add( robot );
+    }
+    if( extraRobots.isEmpty() ) return;
+    Object robot = JOptionPane.showInputDialog( renderPanel, "Robot to disconnect:", "Remove Robot", JOptionPane.PLAIN_MESSAGE, 
+                                                null, extraRobots.toArray(), extraRobots.get(0) );
+    if( robot != null ) removeRobot( (PeriscopeRobot) robot );
+  }
+
+  /**
+   * Connects an additional robot with a mouse and route of its own, so it is
+   * decoded on its own threads and never waits on the other robots.
+   * @param devicePort name of the port the robot streams from.
+   * @return True on success connecting to device port, otherwise false on failure.
+   */
+  private boolean addRobot( String devicePort ) {
+    int dimension = ref_maze.getDimension();
+    PeriscopeRobot robot = new PeriscopeRobot( new SerialRoute(), new Mouse(dimension - 1, 0, ref_maze, new Maze(dimension)), devicePort );
+    robot.route.addActionListener( this );
+    /* listed before connecting so the first messages find the robot */
+    robots.add( robot );
+    if( !robot.route.connectTo(devicePort) ) {
+      robots.remove( robot );
+      robot.route.close();
+      periscopeMonitor.println( "Failed Connection: " + devicePort );
+      return false;
+    }
+    periscopeMonitor.println( "Connected robot: " + devicePort );
+    renderPanel.repaint();
+    return true;
+  }
+
+  /**
+   * Disconnects an additional robot and removes its tile.
+   * @param robot robot that is no longer shown.
+   * @return Nothing.
+   */
+  private void removeRobot( PeriscopeRobot robot ) {
+    if( robot.mouse == mouse || !robots.remove(robot) ) return;
+    robot.route.close();
+    periscopeMonitor.println( "Disconnected robot: " + robot.name );
+    renderPanel.repaint();
+  }
+
+  /**
+   * Finds the robot a serial route feeds.
+   * @param route source of a serial event.
+   * @return robot of the route, null if it was removed.
+   */
+  private PeriscopeRobot getRobot( Object route ) {
+    for( PeriscopeRobot robot : robots ) {
+      if( robot.route == route ) return robot;
+    }
+    return null;
+  }
+
+  /**
+   * Handles serial port communication - called on the dispatch thread of the
+   * SerialRoute of a robot, so its mouse is only touched while holding its
+   * lock. Repaints are coalesced to the end of each batch of messages, and
+   * malformed messages are counted in the statistics of the route.
+   * @param evt Event that was fired by SerialRoute when data is recieved.
+   * @return Nothing.
+   */
+  private void handleSerialCommEvent( ActionEvent evt ) {
+    SerialRouteEvent serialEvt = (SerialRouteEvent) evt;
+    PeriscopeRobot robot = getRobot( serialEvt.getSource() );
+    if( robot == null ) return; /* removed while messages were queued */
+    ByteBuffer data = serialEvt.getReceivedBytes();
+    if( !PeriscopeFrame.isBinary(data) ) {
+      /* binary frames are decoded without text conversion */
+      String message = serialEvt.getReceivedMessage();
+      periscopeMonitor.println( (robot.mouse == mouse) ? message : "[" + robot.name + "] " + message );
+    }
+    synchronized( robot.mouse ) {
+      if( !robot.mouse.periscopeProtocol(data) ) robot.route.getStats().recordParseFailure();
+      /* every message waits for the next paint */
+      robot.received( serialEvt.getTimestamp() );
+      if( robot.mouse == mouse && sessionRecorder != null ) recordMessage( serialEvt.getTimestamp(), data );
+      if( serialEvt.isEndOfBatch() ) repaintRobotCells( robot );
+    }
+  }
+
+  /**
+   * Records a received message, followed by a keyframe of the mouse state
+   * once per keyframe interval - caller holds the mouse lock.
+   * @param timestamp System.nanoTime() when the message was received.
+   * @param data message bytes.
+   * @return Nothing.
+   */
+  private void recordMessage( long timestamp, ByteBuffer data ) {
+    try {
+      sessionRecorder.record( timestamp, data );
+      if( sessionRecorder.isKeyframeDue(timestamp) ) {
+        keyframe.reset();
+        /* mazes too large for Periscope frames are replayed from the start */
+        if( mouse.writePeriscopeKeyframe(keyframe) ) {
+          sessionRecorder.recordKeyframe( timestamp, keyframe.toByteArray(), keyframe.size() );
+        }
+      }
+    }
+    catch( IOException e ) {
+      System.err.println( "Session recording stopped: " + e.getMessage() );
+      sessionRecorder = null;
+    }
+  }
+
+  /**
+   * Records every received Periscope message to a session file until the
+   * program exits.
+   * @param session file the session is written to.
+   * @return Nothing.
+   */
+  public void recordSession( File session ) {
+    try {
+      sessionRecorder = new SessionRecorder( session );
+    }
+    catch( IOException e ) {
+      System.err.println( "Session file failed to open: " + session );
+      return;
+    }
+    final SessionRecorder recorder = sessionRecorder;
+    Runtime.getRuntime().addShutdownHook( new Thread(new Runnable() {
+      @Override
+      public void run() {
+        /* write buffered records on exit */
+        try {
+          synchronized( mouse ) {
+            recorder.close();
+          }
+        }
+        catch( IOException e ) {
+          e.printStackTrace();
+        }
+      }
+    }) );
+  }
+
+  /**
+   * Switches to Periscope mode and plays a recorded session back into the
+   * mouse, with a slider to seek.
+   * @param session file written by a previous recording.
+   * @param speed playback speed, 1.0 for real time, SessionReplayer.MAX_SPEED for no waiting.
+   * @return Nothing.
+   */
+  public void replaySession( File session, double speed ) {
+    try {
+      sessionReplayer = new SessionReplayer( session, mouse, speed, new Runnable() {
+        @Override
+        public void run() {
+          repaintMouseCells();
+        }
+      });
+    }
+    catch( IOException e ) {
+      System.err.println( "Session replay failed: " + e.getMessage() );
+      return;
+    }
+    if( !portComboBox.isVisible() ) handlePeriscopeButtonEvent( null );
+    periscopeMonitor.println( String.format("Replaying %s: %d records, %.1f s", session, sessionReplayer.getRecordCount(), sessionReplayer.getDuration() / 1e9) );
+
+    replaySlider.setMaximum( (int)(sessionReplayer.getDuration() / NANOS_PER_MILLI) );
+    replaySlider.setVisible( true );
+    replayCLK.start();
+    sessionReplayer.start();
+  }
+
+  /**
+   * Shows the link statistics of every robot: throughput, parse failures,
+   * queue depth and the time from receiving a message until it was painted.
+   * @param evt Event that fired from the statistics clock.
+   * @return Nothing.
+   */
+  private void handleStatsClockEvent( ActionEvent evt ) {
+    if( robots.size() == 1 ) {
+      linkStatsLabel.setText( robots.get(0).route.getStats().toString() );
+      return;
+    }
+    /* one line per robot - pre keeps the columns aligned */
+    StringBuilder text = new StringBuilder( "<html><pre>" );
+    for( PeriscopeRobot robot : robots ) {
+      text.append( String.format("%-12s ", robot) ).append( robot.route.getStats() ).append( '\n' );
+    }
+    linkStatsLabel.setText( text.append("</pre></html>").toString() );
+  }
+
+  /**
+   * Moves the replay slider along with the playback position.
+   * @param evt Event that fired from the replay clock.
+   * @return Nothing.
+   */
+  private void handleReplayClockEvent( ActionEvent evt ) {
+    if( replaySlider.getValueIsAdjusting() ) return;
+    updatingReplaySlider = true;
+    replaySlider.setValue( (int)(sessionReplayer.getPosition() / NANOS_PER_MILLI) );
+    updatingReplaySlider = false;
+  }
+
+  /**
+   * Seeks the session replay once the user releases the slider.
+   * @param evt Event fired by the replay slider.
+   * @return Nothing.
+   */
+  @Override
+  public void stateChanged( ChangeEvent evt ) {
+    if( updatingReplaySlider || replaySlider.getValueIsAdjusting() || sessionReplayer == null ) return;
+    sessionReplayer.seek( replaySlider.getValue() * NANOS_PER_MILLI );
+  }
+
+  /**
+   * Repaints only the region of the mouse maze that changed since the last
+   * repaint, i.e. the cells the mouse left and entered, cells with new flood
+   * fill values, and cells with newly discovered walls.
+   * @return Nothing.
+   */
+  private void repaintMouseCells() {
+    repaintRobotCells( robots.get(0) );
+  }
+
+  /**
+   * Repaints only the region of the maze of a robot that changed since the
+   * last repaint.
+   * @param robot robot whose mouse changed.
+   * @return Nothing.
+   */
+  private void repaintRobotCells( PeriscopeRobot robot ) {
+    synchronized( robot.mouse ) {
+      robot.dirtyCells.clear();
+      if( robot.mouse.consumeDirtyCells(robot.dirtyCells) && !robot.mouse.isDone() ) {
+        /* incremental repaint */
+        renderPanel.repaintCells( robot, robot.dirtyCells );
+      }
+      else {
+        /* whole maze changed or the mouse path needs to be drawn */
+        renderPanel.repaintRobot( robot );
+      }
+    }
+  }
+
+  /**
+   * Handles a double buffered image screen for smooth animations.
+   */
+  private class RenderPanel extends JPanel implements MouseListener, MouseMotionListener, MouseWheelListener {
+    private Point leftMazePoint = new Point();
+    private Point rightMazePoint = new Point();
+    private Rectangle leftViewport  = new Rectangle();
+    private Rectangle rightViewport = new Rectangle();
+    private Point dragPoint = null;
+    private double zoom = 1.0;
+    private int pan_x = 0; /* offset of zoomed maze inside its viewport */
+    private int pan_y = 0;
+    private Point center         = new Point();
+    private MazeLayer leftMazeLayer  = new MazeLayer();
+    private MazeLayer rightMazeLayer = new MazeLayer();
+    private PathShape dijkstraPathShape = new PathShape();
+    private PathShape dfsPathShape      = new PathShape();
+    private PathShape mousePathShape    = new PathShape();
+    private Rectangle dirtyRegion    = new Rectangle();
+    private CellBounds visibleCells  = new CellBounds();
+    private int mouseMazeSide = 0;
+    private long average_frame_nanos = 0;
+    private GlyphCache numberGlyphs = new GlyphCache( Font.SANS_SERIF, Font.BOLD, NUMBER_COLOR );
+    private MouseShape mouseShape = new MouseShape(); /* reused for every mouse drawn */
+    private Font messageFont = null;
+    private Map<Long, BufferedImage> scaledImages = new LinkedHashMap<Long, BufferedImage>( MAX_SCALED_IMAGES, 0.75f, true ) {
+      @Override
+      protected boolean removeEldestEntry( Map.Entry<Long, BufferedImage> eldest ) {
+        /* least recently drawn size is evicted */
+        return size() > MAX_SCALED_IMAGES;
+      }
+    };
+
+    private boolean periscopeMode = false;
+
+    /**
+     * Constructor: Creates a JPanel for the maze GUI.
+     */
+    public RenderPanel() {
+      try {
+        URL logo = MazeGUI.class.getResource( LOGO );
+        if( logo == null ) throw new IOException( LOGO );
+        image = ImageIO.read( logo );
+      }
+      catch( IOException e ) {
+        System.err.println( "UCSD logo non-existent" );
+      }
+      addMouseListener( this );
+      addMouseMotionListener( this );
+      addMouseWheelListener( this );
+    }
+ 
+    /**
+     * Double buffered image screen paint on GUI.
+     * @return Nothing.
+     */
+    @Override
+    protected void paintComponent( Graphics g ) {
+      long start = System.nanoTime();
+      super.paintComponent( g );
+      render( g );
+      if( showFrameTime ) {
+        /* report paint latency */
+        long frame_nanos = System.nanoTime() - start;
+        average_frame_nanos += (frame_nanos - average_frame_nanos) / 16;
+        frameTimeLabel.setText( String.format("paint: %7.2f ms  avg: %7.2f ms", frame_nanos / 1e6, average_frame_nanos / 1e6) );
+      }
+    }
+
+    /**
+     * Renders the main GUI interface - drawing all GUI components. The mouse
+     * is locked so serial messages cannot change it mid-frame.
+     * @param g GUI graphics environment. 
+     * @return Nothing.
+     */
+    private void render( Graphics g ) {
+      if( isTiled() ) {
+        /* each robot is locked only while its own tile is drawn */
+        renderPeriscopeTiles( g );
+        return;
+      }
+      synchronized( mouse ) {
+        if( periscopeMode ) {
+          renderPeriscope( g );
+        }
+        else {
+          renderDefault( g );
+        }
+      }
+    }
+
+    /**
+     * Renders Pericope GUI interface with a singular center maze wirelessly 
+     * communicating with hardware micromouse to display it virtually.
+     * @param g GUI graphics environment.
+     * @return Nothing.
+     */
+    private void renderPeriscope( Graphics g) {
+      center.setLocation( getWidth() / 2, getHeight() / 2 );
+      mouse_maze = mouse.getMaze();
+      int maze_diameter = (int)(double)( MAZE_PERISCOPE_PROPORTION * Math.min(getHeight(), getWidth()) );
+      int maze_radius   = (int)(double)( 0.5 * maze_diameter );
+      int maze_offset   = (int)(double)( 0.5 * (getWidth() - maze_diameter) );
+
+      /* draws the UCSD Logo - upper left corner */
+      int image_diameter = (int)(double)(0.25 * maze_diameter);
+      if( image_diameter == 0 ) image_diameter = 1; 
+      if( g.hitClip(0, 0, image_diameter, image_diameter) ) {
+        drawImage( g, image, 0, 0, image_diameter, image_diameter );
+      }
+
+      /* draw singular centered maze */
+      center.setLocation( center.x, (image_diameter * 3)/4 + (getHeight() - image_diameter) / 2 );
+      rightViewport.setBounds( maze_offset, center.y - maze_radius, maze_diameter + 1, maze_diameter + 1 );
+      int zoomed_diameter = getZoomedSide( maze_diameter );
+      rightMazePoint.setLocation( rightViewport.x + pan_x, rightViewport.y + pan_y );
+      mouseMazeSide = zoomed_diameter;
+
+      Shape clip = g.getClip();
+      g.clipRect( rightViewport.x, rightViewport.y, rightViewport.width, rightViewport.height );
+      drawMaze( g, rightViewport, rightMazePoint, zoomed_diameter, mouse_maze, rightMazeLayer, mouse, mouse.periscopeDisplayCellValues );
+      /* draws mouse on maze */
+      mouseShape.draw( g, MOUSE_COLOR, mouse, rightMazePoint, zoomed_diameter );
+      g.setClip( clip );
+      if( g.hitClip(rightViewport.x, rightViewport.y, rightViewport.width, rightViewport.height) ) {
+        robots.get( 0 ).painted();
+      }
+    }
+
+    /**
+     * Renders Periscope GUI interface with one tile per connected robot, in a
+     * grid as close to square as possible. Tiles are not zoomable.
+     * @param g GUI graphics environment.
+     * @return Nothing.
+     */
+    private void renderPeriscopeTiles( Graphics g ) {
+      int columns = (int)Math.ceil( Math.sqrt(robots.size()) );
+      int rows    = (robots.size() + columns - 1) / columns;
+      int tile_width  = getWidth() / columns;
+      int tile_height = getHeight() / rows;
+      int maze_diameter = (int)(double)( TILE_PROPORTION * Math.min(tile_width, tile_height) );
+      if( maze_diameter == 0 ) maze_diameter = 1;
+      Shape clip = g.getClip();
+      int index = 0;
+
+      for( PeriscopeRobot robot : robots ) {
+        int tile_x = (index % columns) * tile_width;
+        int tile_y = (index / columns) * tile_height;
+        index++;
+        synchronized( robot.mouse ) {
+          /* tile geometry is kept for incremental repaints */
+          robot.viewport.setBounds( tile_x + (tile_width - maze_diameter) / 2, tile_y + (tile_height - maze_diameter) / 2, maze_diameter + 1, maze_diameter + 1 );
+          robot.mazePoint.setLocation( robot.viewport.x, robot.viewport.y );
+          robot.side = maze_diameter;
+          if( !g.hitClip(tile_x, tile_y, tile_width, tile_height) ) continue;
+          if( robot.layer == null ) robot.layer = new MazeLayer();
+
+          g.setColor( TILE_LABEL_COLOR );
+          g.setFont( getFont() ); /* flood fill values change the font */
+          g.drawString( robot.toString(), robot.viewport.x, robot.viewport.y - TILE_LABEL_OFFSET );
+          g.clipRect( robot.viewport.x, robot.viewport.y, robot.viewport.width, robot.viewport.height );
+          drawMaze( g, robot.viewport, robot.mazePoint, maze_diameter, robot.mouse.getMaze(), robot.layer, robot.mouse, robot.mouse.periscopeDisplayCellValues );
+          /* draws mouse on maze */
+          mouseShape.draw( g, MOUSE_COLOR, robot.mouse, robot.mazePoint, maze_diameter );
+          g.setClip( clip );
+          robot.painted();
+        }
+      }
+    }
+
+    /**
+     * Checks if the robots are drawn in tiles instead of a single maze.
+     * @return True if more than one robot is shown, false otherwise.
+     */
+    private boolean isTiled() {
+      return periscopeMode && robots.size() > 1;
+    }
+
+    /**
+     * Renders Standard GUI interface with two mazes which is used to simulate a
+     * virtual micromouse and quickly test maze traversal algorithms.
+     * @param g GUI graphics environment.
+     * @return Nothing.
+     */
+    private void renderDefault( Graphics g ) {
+      center.setLocation( getWidth() / 2, getHeight() / 2 );
+      mouse_maze = mouse.getMaze();
+      int maze_diameter = (int)(double)( MAZE_DEFAULT_PROPORTION * Math.min(getHeight(), getWidth()) );
+      int maze_radius   = (int)(double)( 0.5 * maze_diameter );
+      int maze_offset   = (int)(double)( 0.25 * (getWidth() - 2 * maze_diameter) );
+
+      /* draws the UCSD Logo - upper left corner */
+      int image_diameter = (int)(double)(0.4 * maze_diameter);
+      if( image_diameter == 0 ) image_diameter = 1; 
+      if( g.hitClip(0, 0, image_diameter, image_diameter) ) {
+        drawImage( g, image, 0, 0, image_diameter, image_diameter );
+      }
+
+      /* the 2 square viewports in the center of the frame share zoom and pan */
+      leftViewport.setBounds( maze_offset, center.y - maze_radius, maze_diameter + 1, maze_diameter + 1 );
+      rightViewport.setBounds( center.x + maze_offset, center.y - maze_radius, maze_diameter + 1, maze_diameter + 1 );
+      int zoomed_diameter = getZoomedSide( maze_diameter );
+      leftMazePoint.setLocation( leftViewport.x + pan_x, leftViewport.y + pan_y );
+      rightMazePoint.setLocation( rightViewport.x + pan_x, rightViewport.y + pan_y );
+      mouseMazeSide = zoomed_diameter;
+      double cell_unit  = (1.0 / ref_maze.getDimension()) * zoomed_diameter;
+      Shape clip = g.getClip();
+
+      /* reference maze */
+      g.clipRect( leftViewport.x, leftViewport.y, leftViewport.width, leftViewport.height );
+      drawMaze( g, leftViewport, leftMazePoint, zoomed_diameter, ref_maze, leftMazeLayer, null, false );
+
+      if( runDFS ) {
+        /* draw dfs path on ref maze */
+        drawDFSPath( g, ref_maze, leftMazePoint, ref_maze.getBegin(), ref_maze.getEnd(), cell_unit, DFS_PATH_COLOR );
+      }
+
+      if( runDijkstra ) {
+        /* draw dijkstra path on ref maze */
+        drawDijkstraPath( g, ref_maze, leftMazePoint, ref_maze.getBegin(), ref_maze.getEnd(), cell_unit, DIJKSTRA_PATH_COLOR );
+      }
+      g.setClip( clip );
+
+      /* mouse maze */
+      g.clipRect( rightViewport.x, rightViewport.y, rightViewport.width, rightViewport.height );
+      drawMaze( g, rightViewport, rightMazePoint, zoomed_diameter, mouse_maze, rightMazeLayer, mouse, true );
+
+      /* draws mouse on maze */
+      mouseShape.draw( g, MOUSE_COLOR, mouse, rightMazePoint, zoomed_diameter );
+
+      if( mouse.isDone() ) {
+        /* draws path found by mouse */
+        drawMousePath( g, mouse_maze, rightMazePoint, cell_unit, MOUSE_PATH_COLOR );
+      }
+      g.setClip( clip );
+
+      if( mouse.isDone() ) {
+        /* checks if path is most optimal */
+        ref_maze.dijkstra( ref_maze.getBegin(), ref_maze.getEnd() );
+        drawSolutionMessage( g, center, leftViewport, maze_diameter );
+      }
+
+      if( mouse.isDone() && outputStats ) {
+        /* output statistics about the mouse's run */
+        outputStats = false;
+        int mouse_visited = mouse.getTotalCellsVisited();
+        int total = mouse_maze.getWidth() * mouse_maze.getHeight();
+        System.err.println( "Proportion of cells visited by mouse: " + ((double)(mouse_visited) / total * 100) + "% on a dimension of " + mouse_maze.getWidth() + "x" + mouse_maze.getHeight() );
+        System.err.println( "Total number of mouse runs: " + mouse.getNumberOfRuns() );
+      }
+    }
+
+    /**
+     * Draws the part of a maze that is inside its viewport on the GUI.
+     * @param g Graphics environment variable.
+     * @param viewport region of the GUI the maze is visible in.
+     * @param mazePoint top left point of the zoomed maze being drawn.
+     * @param side length of a square side in pixels of the zoomed maze.
+     * @param maze maze data structure that will be drawn on GUI.
+     * @param layer cached wall layer associated with this maze location.
+     * @param owner mouse drawn on this maze, whose cell shows no value; null if none.
+     * @param drawFloodFillValues flag to draw flood fill values of maze.
+     * @return Nothing.
+     */
+    private void drawMaze( Graphics g, Rectangle viewport, Point mazePoint, int side, Maze maze, MazeLayer layer, Mouse owner, boolean drawFloodFillValues ) {
+      double cell_unit = (1.0 / maze.getDimension()) * side;
+      /* Maze Background and Foreground - cached until walls, zoom or pan change */
+      g.drawImage( layer.update(maze, viewport.width - 1, side, mazePoint.x - viewport.x, mazePoint.y - viewport.y), viewport.x, viewport.y, null );
+      if( drawFloodFillValues && cell_unit < LOD_CELL_SIZE ) {
+        /* numbers are unreadable - color code flood fill values */
+        drawFloodFillHeatMap( g, maze, viewport, mazePoint, side, layer );
+      }
+      else if( drawFloodFillValues ) {
+        /* draws flood fill values for every visible cell in maze */
+        drawFloodFillCellValues( g, maze, owner, mazePoint, cell_unit );
+      }
+    }
+
+    /**
+     * Computes the side length of the zoomed maze and keeps the pan offset 
+     * within the bounds where the maze covers its whole viewport.
+     * @param side length of a square side in pixels of the viewport.
+     * @return length of a square side in pixels of the zoomed maze.
+     */
+    private int getZoomedSide( int side ) {
+      int zoomed_side = (int)(side * zoom);
+      pan_x = Math.max( side - zoomed_side, Math.min(0, pan_x) );
+      pan_y = Math.max( side - zoomed_side, Math.min(0, pan_y) );
+      return zoomed_side;
+    }
+
+    /**
+     * Zooms both mazes in or out, keeping the point under the cursor fixed.
+     * @param evt Event that is fired when the mouse wheel is rotated.
+     * @return Nothing.
+     */
+    @Override
+    public void mouseWheelMoved( MouseWheelEvent evt ) {
+      Rectangle viewport = getZoomViewport( evt.getPoint() );
+      if( viewport == null ) return;
+      int side = viewport.width - 1;
+      if( side <= 0 ) return;
+      /* cells are never zoomed larger than MAX_CELL_SIZE */
+      double max_zoom = Math.max( 1.0, MAX_CELL_SIZE * mouse.getMaze().getDimension() / side );
+      double new_zoom = zoom * Math.pow( ZOOM_STEP, -evt.getPreciseWheelRotation() );
+      new_zoom = Math.max( 1.0, Math.min(max_zoom, new_zoom) );
+      if( new_zoom == zoom ) return;
+
+      /* zoom around cursor, or around the viewport center if outside */
+      int anchor_x = viewport.contains( evt.getPoint() ) ? evt.getX() - viewport.x : side / 2;
+      int anchor_y = viewport.contains( evt.getPoint() ) ? evt.getY() - viewport.y : side / 2;
+      double scale = new_zoom / zoom;
+      pan_x = (int)Math.round( anchor_x - (anchor_x - pan_x) * scale );
+      pan_y = (int)Math.round( anchor_y - (anchor_y - pan_y) * scale );
+      zoom = new_zoom;
+      getZoomedSide( side );
+      repaint();
+    }
+
+    /**
+     * Finds the viewport to zoom from the layout that was last rendered: in
+     * Periscope mode only the mouse maze is laid out, so the reference maze
+     * viewport left over from the default mode is never used.
+     * @param point cursor location on the panel.
+     * @return viewport under the cursor, or the mouse maze viewport if the
+     *         cursor is outside; null if tiles are shown, which do not zoom.
+     */
+    private Rectangle getZoomViewport( Point point ) {
+      if( isTiled() ) return null;
+      if( !periscopeMode && leftViewport.contains(point) ) return leftViewport;
+      return rightViewport;
+    }
+
+    /**
+     * Starts panning the mazes.
+     * @param evt Event that is fired when a mouse button is pressed.
+     * @return Nothing.
+     */
+    @Override
+    public void mousePressed( MouseEvent evt ) {
+      dragPoint = evt.getPoint();
+    }
+
+    /**
+     * Pans both mazes by the distance the cursor was dragged.
+     * @param evt Event that is fired when the mouse is dragged.
+     * @return Nothing.
+     */
+    @Override
+    public void mouseDragged( MouseEvent evt ) {
+      if( dragPoint == null || zoom == 1.0 ) return;
+      pan_x += evt.getX() - dragPoint.x;
+      pan_y += evt.getY() - dragPoint.y;
+      dragPoint.setLocation( evt.getX(), evt.getY() );
+      getZoomedSide( rightViewport.width - 1 );
+      repaint();
+    }
+
+    /**
+     * Stops panning the mazes.
+     * @param evt Event that is fired when a mouse button is released.
+     * @return Nothing.
+     */
+    @Override
+    public void mouseReleased( MouseEvent evt ) {
+      dragPoint = null;
+    }
+
+    /**
+     * Resets zoom and pan on a double click.
+     * @param evt Event that is fired when a mouse button is clicked.
+     * @return Nothing.
+     */
+    @Override
+    public void mouseClicked( MouseEvent evt ) {
+      if( evt.getClickCount() != 2 ) return;
+      zoom = 1.0;
+      pan_x = pan_y = 0;
+      repaint();
+    }
+    /* required override for MouseListener and MouseMotionListener inheritance of interface */
+    @Override
+    public void mouseEntered( MouseEvent evt ) {}
+    @Override
+    public void mouseExited( MouseEvent evt ) {}
+    @Override
+    public void mouseMoved( MouseEvent evt ) {}
+
+    /**
+     * Draws an image to the GUI.
+     * @param g Graphics environment variable.
+     * @param image desired image to be drawn on GUI.
+     * @param x top left x-coordinate for desired x-location of image on GUI.
+     * @param y top left y-coordinate for desired y-location of image on GUI.
+     * @param width width of image to be drawn.
+     * @param height height of image to be drawn.
+     * @return Nothing.
+     */
+    private void drawImage( Graphics g, Image image, int x, int y, int width, int height ) {
+      if( image == null ) return;
+      g.drawImage( getScaledImage(image, width, height), x, y, null );
+    }
+
+    /**
+     * Gets a display compatible copy of image scaled to the given size. Scaled
+     * copies are cached by size, so an image is only rescaled when the panel 
+     * is resized.
+     * @param image desired image to be scaled.
+     * @param width width of scaled image.
+     * @param height height of scaled image.
+     * @return scaled image.
+     */
+    private BufferedImage getScaledImage( Image image, int width, int height ) {
+      Long key = ((long) width << Integer.SIZE) | height;
+      BufferedImage scaled_image = scaledImages.get( key );
+      if( scaled_image != null ) return scaled_image;
+
+      /* new panel size - rescale */
+      GraphicsConfiguration config = getGraphicsConfiguration();
+      if( config != null ) {
+        scaled_image = config.createCompatibleImage( width, height, Transparency.TRANSLUCENT );
+      }
+      else {
+        scaled_image = new BufferedImage( width, height, BufferedImage.TYPE_INT_ARGB );
+      }
+      Image scaled_screen = image.getScaledInstance( width, height, Image.SCALE_SMOOTH );
+      Graphics2D g2d = scaled_image.createGraphics();
+      g2d.drawImage( scaled_screen, 0, 0, null );
+      g2d.dispose();
+      scaled_screen.flush();
+      scaledImages.put( key, scaled_image );
+      return scaled_image;
+    }
+  
+    /**
+     * Draw Dijkstra's path on maze.
+     * @param g Graphics environment variable.
+     * @param maze maze graph where dijkstra will run.
+     * @param mazePoint top left corner of maze to draw path.
+     * @param startVertex starting point for dijkstra.
+     * @param endVertex terminating vertex in path.
+     * @param cell_unit side dimension of one cell in maze.
+     * @param color color of path to be drawn.
+     * @return Nothing.
+     */
+    private void drawDijkstraPath( Graphics g, Maze maze, Point mazePoint, MazeNode startVertex, MazeNode endVertex, double cell_unit, Color color ) {
+      /* only searches again when the maze changed */
+      maze.dijkstra( startVertex, endVertex );
+      colorPath( g, dijkstraPathShape, maze.getDijkstraGeometry(), color, mazePoint, cell_unit );
+    }
+
+    /**
+     * Draw DFS path on maze.
+     * @param g Graphics environment variable.
+     * @param maze maze graph where DFS will run
+     * @param mazePoint top left corner of maze to draw path
+     * @param startVertex starting point for DFS
+     * @param endVertex terminating vertex in path
+     * @param cell_unit side dimension of one cell in maze
+     * @param color color of path to be drawn
+     * @return Nothing.
+     */
+    private void drawDFSPath( Graphics g, Maze maze, Point mazePoint, MazeNode startVertex, MazeNode endVertex, double cell_unit, Color color ) {
+      /* only searches again when the maze changed */
+      maze.dfs( startVertex, endVertex );
+      colorPath( g, dfsPathShape, maze.getDFSGeometry(), color, mazePoint, cell_unit );
+    }
+
+    /**
+     * Draw the path that mouse will take on the next run from the starting point.
+     * @param g Graphics environment variable.
+     * @param maze the maze that mouse is in.
+     * @param mazePoint upper left point of the maze in the GUI.
+     * @param cell_unit distance from one cell to its adjacent cell.
+     * @param color the color that the mouse path will be drawn in.  
+     * @return Nothing.
+     */
+    private void drawMousePath( Graphics g, Maze maze, Point mazePoint, double cell_unit, Color color ) {
+      /* mouse object should do this on its own when ready */
+      if( !mouse.isDone() ) return;
+      colorPath( g, mousePathShape, mouse.getMousePathGeometry(), color, mazePoint, cell_unit );
+    }
+
+    /**
+     * Draws path from traversing path, front to end, as a single stroked shape.
+     * @param g Graphics environment variable.
+     * @param shape cached shape of the path.
+     * @param path coordinates of the cell nodes that will be colored on maze gui.
+     * @param color color of path to be drawn.
+     * @param mazePoint top Left corner of maze that path will draw on.
+     * @param cell_unit side dimension of one cell in maze.
+     * @return Nothing.
+     */
+    private void colorPath( Graphics g, PathShape shape, PathGeometry path, Color color, Point mazePoint, double cell_unit ) {
+      if( path.size() == 0 ) return;
+      Graphics2D g2d = (Graphics2D) g;
+      Stroke stroke = g2d.getStroke();
+      g2d.setColor( color );
+      g2d.setStroke( shape.getStroke(cell_unit) );
+      /* pixels outside of the clip are culled by the rasterizer */
+      g2d.draw( shape.update(path, mazePoint, cell_unit) );
+      g2d.setStroke( stroke );
+    }
+
+    /**
+     * Draws grid lines on maze.
+     * @param g Graphics environment variable.
+     * @param maze maze graph 
+     * @param mazePoint top left corner of maze in GUI.
+     * @param vertical_wall rectangular representation of a vertical wall in maze.
+     * @param horizontal_wall rectangular representation of horizontal wall in maze.
+     * @param cell_unit side dimension of one cell in maze.
+     * @param cells range of cells whose walls are drawn.
+     * @return Nothing.
+     */
+    private void drawGridLines( Graphics g, Maze maze, Point mazePoint, Rectangle vertical_wall, Rectangle horizontal_wall, double cell_unit, CellBounds cells ) {
+      Graphics2D g2d = (Graphics2D) g;
+
+      for( int row = cells.minRow; row <= cells.maxRow; row++ ) {
+        for( int column = cells.minColumn; column <= cells.maxColumn; column++  ) {
+          /* draw walls */
+          MazeNode currentNode = maze.at( row, column );
+
+          /* vertical wall is present to the right of current cell */
+          vertical_wall.setLocation( mazePoint.x + (int)((column + 1) * cell_unit), mazePoint.y + (int)(row * cell_unit) );
+
+          /* horizontal wall is also present below current cell */
+          horizontal_wall.setLocation( mazePoint.x + (int)(column * cell_unit), mazePoint.y + (int)((row + 1) * cell_unit) );
+
+          if( column < maze.getWidth() - 1 && currentNode.right == null ) {
+            g2d.setColor( WALL_COLOR );
+            g2d.fill( vertical_wall );
+          }
+          else if( column != maze.getWidth() - 1 ) {
+            g2d.setColor( NO_WALL_COLOR );
+            g2d.fill( vertical_wall );
+          }
+
+          if( row < maze.getHeight() - 1 && currentNode.down == null ) {
+            g2d.setColor( WALL_COLOR );
+            g2d.fill( horizontal_wall );
+          }
+          else if( row != maze.getHeight() - 1 ) {
+            g2d.setColor( NO_WALL_COLOR );
+            g2d.fill( horizontal_wall );
+          }
+        }
+      }
+    }
+    
+    /**
+     * Draws the flood fill values on each cell of the given maze.
+     * @param g Graphics environment variable.
+     * @param maze the maze which the node distance (flood fill value) is fetched.
+     * @param owner mouse drawn on the maze - the value under it is skipped; null if none.
+     * @param mazePoint upper left point of which the maze is located in the GUI.
+     * @param cell_unit distance from one cell to an adjacent cell in the GUI.
+     * @return Nothing.
+     */
+    void drawFloodFillCellValues( Graphics g, Maze maze, Mouse owner, Point mazePoint, double cell_unit ) {
+      final double FONT_PROPORTION = 0.5;
+      double height_offset = ((1 - FONT_PROPORTION) * cell_unit) / 2.0;
+
+      Graphics2D g2d = (Graphics2D) g;
+      numberGlyphs.setFontSize( g2d, (int)(FONT_PROPORTION * cell_unit) );
+
+      /* only cells that intersect the repainted region */
+      CellBounds cells = getVisibleCells( g, maze, mazePoint, cell_unit );
+      /* caller holds the lock of the owner, never of another robot */
+      int mouse_x = ( owner == null ) ? -1 : owner.x;
+      int mouse_y = ( owner == null ) ? -1 : owner.y;
+
+      for( int row = cells.minRow; row <= cells.maxRow; row++ ) {
+        for( int column = cells.minColumn; column <= cells.maxColumn; column++ ) {
+          /* draw distance (flood fill) values in all cells of the maze */
+          MazeNode cell = maze.at( row, column );
+          if( cell.x == mouse_x && cell.y == mouse_y ) continue;
+          int x = mazePoint.x + (int)(cell.x * cell_unit + cell_unit / 2.0);
+          int y = mazePoint.y + (int)((cell.y + 1) * cell_unit - height_offset);
+          numberGlyphs.drawCentered( g2d, cell.distance, x, y );
+        }
+      }
+    }
+
+    /**
+     * Draws the flood fill values of the given maze as a translucent heat map,
+     * from blue near the target to red far away from the target. Only pixels
+     * inside the clip are cleared and recomputed.
+     * @param g Graphics environment variable.
+     * @param maze the maze which the node distance (flood fill value) is fetched.
+     * @param viewport region of the GUI the maze is visible in.
+     * @param mazePoint upper left point of the zoomed maze in the GUI.
+     * @param side length of a square side in pixels of the zoomed maze.
+     * @param layer cached layer of this maze location, which holds its heat map.
+     * @return Nothing.
+     */
+    private void drawFloodFillHeatMap( Graphics g, Maze maze, Rectangle viewport, Point mazePoint, int side, MazeLayer layer ) {
+      int dimension = maze.getDimension();
+      double cell_unit = (1.0 / dimension) * side;
+      int width = viewport.width;
+      int height = viewport.height;
+      int offset_x = mazePoint.x - viewport.x;
+      int offset_y = mazePoint.y - viewport.y;
+      Rectangle clip = g.getClipBounds();
+      if( clip == null ) clip = viewport;
+      int clip_left   = Math.max( 0, clip.x - viewport.x );
+      int clip_top    = Math.max( 0, clip.y - viewport.y );
+      int clip_right  = Math.min( width, clip.x + clip.width - viewport.x );
+      int clip_bottom = Math.min( height, clip.y + clip.height - viewport.y );
+      int[] pixels = layer.getHeatMapPixels( width, height );
+
+      for( int y = clip_top; y < clip_bottom; y++ ) {
+        /* colors of a previous pan, zoom or maze must not show through */
+        Arrays.fill( pixels, y * width + clip_left, y * width + Math.max(clip_left, clip_right), 0 );
+      }
+      /* distances beyond twice the maze side are saturated */
+      double scale = (HEAT_MAP_COLORS - 1) / (2.0 * dimension);
+      CellBounds cells = getVisibleCells( g, maze, mazePoint, cell_unit );
+
+      for( int row = cells.minRow; row <= cells.maxRow; row++ ) {
+        int top = Math.max( clip_top, offset_y + (int)(row * cell_unit) );
+        int bottom = Math.min( clip_bottom, offset_y + (int)((row + 1) * cell_unit) );
+        for( int column = cells.minColumn; column <= cells.maxColumn; column++ ) {
+          /* each pixel belongs to exactly one cell */
+          int left = Math.max( clip_left, offset_x + (int)(column * cell_unit) );
+          int right = Math.min( clip_right, offset_x + (int)((column + 1) * cell_unit) );
+          int distance = maze.at( row, column ).distance;
+          int color = HEAT_MAP_PALETTE[ (int)Math.min(HEAT_MAP_COLORS - 1, Math.max(0, distance) * scale) ];
+          for( int y = top; y < bottom; y++ ) {
+            for( int x = left; x < right; x++ ) {
+              pixels[ y * width + x ] = color;
+            }
+          }
+        }
+      }
+      g.drawImage( layer.getHeatMap(), viewport.x, viewport.y, null );
+    }
+
+    /**
+     * Computes the range of maze cells that intersect the clip of the graphics
+     * environment.
+     * @param g Graphics environment variable.
+     * @param maze maze that is being drawn.
+     * @param mazePoint upper left point of which the maze is located in the GUI.
+     * @param cell_unit distance from one cell to an adjacent cell in the GUI.
+     * @return visible cell range - valid until the next call.
+     */
+    private CellBounds getVisibleCells( Graphics g, Maze maze, Point mazePoint, double cell_unit ) {
+      Rectangle clip = g.getClipBounds();
+      if( clip == null ) {
+        /* nothing clipped */
+        visibleCells.set( 0, 0, maze.getHeight() - 1, maze.getWidth() - 1 );
+        return visibleCells;
+      }
+      visibleCells.set( (int)Math.floor((clip.y - mazePoint.y) / cell_unit), (int)Math.floor((clip.x - mazePoint.x) / cell_unit),
+                        (int)Math.floor((clip.y + clip.height - mazePoint.y) / cell_unit), (int)Math.floor((clip.x + clip.width - mazePoint.x) / cell_unit) );
+      visibleCells.clip( maze.getHeight(), maze.getWidth() );
+      return visibleCells;
+    }
+
+    /**
+     * Repaints the visible pixels of the given cells of the maze of a robot -
+     * caller holds the mouse lock of the robot.
+     * @param robot robot whose maze changed.
+     * @param cells range of cells in the robot maze that changed.
+     * @return Nothing.
+     */
+    public void repaintCells( PeriscopeRobot robot, CellBounds cells ) {
+      if( cells.isEmpty() ) return;
+      boolean tiled = isTiled();
+      if( !tiled && robot.mouse != mouse ) return; /* not shown */
+      Point mazePoint    = tiled ? robot.mazePoint : rightMazePoint;
+      Rectangle viewport = tiled ? robot.viewport : rightViewport;
+      int side           = tiled ? robot.side : mouseMazeSide;
+      if( side == 0 ) {
+        /* maze was not laid out yet */
+        repaint();
+        return;
+      }
+      double cell_unit = (1.0 / robot.mouse.getMaze().getDimension()) * side;
+      int x = mazePoint.x + (int)(cells.minColumn * cell_unit);
+      int y = mazePoint.y + (int)(cells.minRow * cell_unit);
+      /* walls are drawn on the edge of the next cell */
+      int width  = mazePoint.x + (int)((cells.maxColumn + 1) * cell_unit) - x + WALL_WIDTH + 1;
+      int height = mazePoint.y + (int)((cells.maxRow + 1) * cell_unit) - y + WALL_WIDTH + 1;
+      dirtyRegion.setBounds( x, y, width, height );
+      /* mouse is drawn larger than sub-pixel cells */
+      dirtyRegion.grow( REPAINT_PADDING, REPAINT_PADDING );
+      Rectangle.intersect( dirtyRegion, viewport, dirtyRegion );
+      if( dirtyRegion.isEmpty() ) return;
+      repaint( dirtyRegion );
+    }
+
+    /**
+     * Repaints the whole maze of a robot - caller holds the mouse lock of the robot.
+     * @param robot robot whose maze changed.
+     * @return Nothing.
+     */
+    public void repaintRobot( PeriscopeRobot robot ) {
+      if( !isTiled() ) {
+        /* single maze view */
+        if( robot.mouse == mouse ) repaint();
+      }
+      else if( robot.side == 0 ) {
+        /* tile was not laid out yet */
+        repaint();
+      }
+      else {
+        /* label never changes */
+        repaint( robot.viewport );
+      }
+    }
+
+    /**
+     * Draws a string to the GUI that notifies the user if the most optimal path was found.
+     * @param g reference to the GUI graphices component.
+     * @param center center of the canvas.
+     * @param viewport the region of any maze. (assumption both mazes are in the same section of the GUI)
+     * @param maze_diameter length of the maze side in pixels.
+     * @return Nothing.
+     */
+    private void drawSolutionMessage( Graphics g, Point center, Rectangle viewport, int maze_diameter ) {
+      String message;
+      int font_size = (int)(0.05 * maze_diameter);
+      if( messageFont == null || messageFont.getSize() != font_size ) {
+        /* panel was resized */
+        messageFont = new Font( Font.SANS_SERIF, Font.BOLD, font_size );
+      }
+      g.setFont( messageFont );
+      g.setColor( EXCITEMENT_COLOR );
+
+      int dijkstra_steps = ref_maze.getDijkstraGeometry().size();
+      int mouse_steps = mouse.getMousePathGeometry().size();
+      if( dijkstra_steps == mouse_steps ) {
+        message = "Most Optimal Solution Found!";
+      }
+      else {
+        message = "Non-optimal. Dijkstra: " + dijkstra_steps + " steps. Flood Fill: " + mouse_steps + " steps.";
+      }
+
+      double width_offset  = g.getFontMetrics().stringWidth( message ) / 2.0;
+      g.drawString( message, (int)(center.x - width_offset), viewport.y + maze_diameter + (int)((getHeight() - maze_diameter) / 4.0) );
+    }
+
+    /**
+     * Setter for GUI mode.
+     * @param enable Value to set to periscope mode.
+     * @return Nothing.
+     */
+    public void setPeriscopeMode( boolean enable ) {
+      periscopeMode = enable;
+    }
+
+    /**
+     * Path of cell centers in GUI coordinates, rebuilt only when the path, 
+     * zoom or pan changes. The path is stroked as wide as the trail of cell
+     * blocks it replaces.
+     */
+    private class PathShape {
+      private static final double PATH_PROPORTION = 0.1;
+      private final Path2D.Double shape = new Path2D.Double();
+      private BasicStroke stroke = null;
+      private PathGeometry path = null;
+      private long version = -1;
+      private double cell_unit = 0;
+      private int x = 0;
+      private int y = 0;
+
+      /**
+       * Brings the cached shape up to date with the given path.
+       * @param path coordinates of the path.
+       * @param mazePoint top left corner of maze that path will draw on.
+       * @param cell_unit side dimension of one cell in maze.
+       * @return shape of the path - valid until the next update.
+       */
+      public Shape update( PathGeometry path, Point mazePoint, double cell_unit ) {
+        if( path == this.path && version == path.getVersion() && cell_unit == this.cell_unit 
+            && mazePoint.x == x && mazePoint.y == y ) return shape;
+
+        /* new path, zoom or pan */
+        shape.reset();
+        for( int index = 0; index < path.size(); index++ ) {
+          double center_x = mazePoint.x + (int)((path.getX(index) + 0.5) * cell_unit);
+          double center_y = mazePoint.y + (int)((path.getY(index) + 0.5) * cell_unit);
+          if( index == 0 ) shape.moveTo( center_x, center_y );
+          shape.lineTo( center_x, center_y );
+        }
+        this.path = path;
+        this.version = path.getVersion();
+        this.cell_unit = cell_unit;
+        x = mazePoint.x;
+        y = mazePoint.y;
+        return shape;
+      }
+
+      /**
+       * Gets the stroke the path is drawn with.
+       * @param cell_unit side dimension of one cell in maze.
+       * @return square capped stroke a tenth of a cell wide.
+       */
+      public BasicStroke getStroke( double cell_unit ) {
+        int width = Math.max( 1, (int)(PATH_PROPORTION * cell_unit) );
+        if( stroke == null || stroke.getLineWidth() != width ) {
+          /* zoomed or resized */
+          stroke = new BasicStroke( width, BasicStroke.CAP_SQUARE, BasicStroke.JOIN_MITER );
+        }
+        return stroke;
+      }
+    }
+
+    /**
+     * Offscreen image of the visible part of a maze background, border and
+     * walls. The image is only redrawn when the viewport size, zoom or pan 
+     * changes, a different maze is drawn, or walls of the maze are modified;
+     * wall modifications redraw only the cells that changed. Cells smaller 
+     * than LOD_CELL_SIZE are rasterized straight into the pixel array of the
+     * image.
+     */
+    private class MazeLayer {
+      private final Point origin = new Point();
+      private int[] pixels = null;
+      private final CellBounds changed = new CellBounds();
+      private final Rectangle vertical_wall = new Rectangle();
+      private final Rectangle horizontal_wall = new Rectangle();
+      private BufferedImage layer = null;
+      private BufferedImage heatMap = null;
+      private int[] heatMapPixels = null;
+      private Maze maze = null;
+      private int side = 0;        /* viewport side */
+      private int zoomed_side = 0; /* maze side */
+      private long version = 0;
+
+      /**
+       * Brings the cached image up to date with the given maze.
+       * @param maze maze data structure that will be drawn on GUI.
+       * @param side length of a square side in pixels of the viewport.
+       * @param zoomed_side length of a square side in pixels of the zoomed maze.
+       * @param offset_x horizontal offset of the zoomed maze in the viewport.
+       * @param offset_y vertical offset of the zoomed maze in the viewport.
+       * @return image of the visible maze walls - valid until the next update.
+       */
+      public BufferedImage update( Maze maze, int side, int zoomed_side, int offset_x, int offset_y ) {
+        boolean low_detail = (1.0 / maze.getDimension()) * zoomed_side < LOD_CELL_SIZE;
+        if( layer == null || maze != this.maze || side != this.side || low_detail != (pixels != null) ) {
+          /* new maze, resized panel or new level of detail */
+          rebuild( maze, side, low_detail );
+          setView( zoomed_side, offset_x, offset_y );
+          redraw( null );
+        }
+        else if( zoomed_side != this.zoomed_side || offset_x != origin.x || offset_y != origin.y ) {
+          /* zoomed or panned */
+          setView( zoomed_side, offset_x, offset_y );
+          redraw( null );
+        }
+        else if( version != maze.getModificationCount() ) {
+          /* mouse discovered walls or maze was regenerated */
+          changed.clear();
+          if( maze.getChangedCells(version, changed) ) redraw( changed );
+          else redraw( null );
+        }
+        version = maze.getModificationCount();
+        return layer;
+      }
+
+      /**
+       * Allocates a display compatible image the size of the viewport.
+       * @param maze maze data structure that will be drawn.
+       * @param side length of a square side in pixels of the viewport.
+       * @param low_detail flag to allocate an image with direct pixel access.
+       * @return Nothing.
+       */
+      private void rebuild( Maze maze, int side, boolean low_detail ) {
+        GraphicsConfiguration config = getGraphicsConfiguration();
+        int length = side + 1; /* border is drawn on the last pixel */
+        if( layer != null ) layer.flush();
+        pixels = null;
+        if( low_detail ) {
+          /* low level of detail - direct pixel access */
+          layer = new BufferedImage( length, length, BufferedImage.TYPE_INT_RGB );
+          pixels = ((DataBufferInt) layer.getRaster().getDataBuffer()).getData();
+        }
+        else if( config != null ) {
+          layer = config.createCompatibleImage( length, length, Transparency.OPAQUE );
+        }
+        else {
+          layer = new BufferedImage( length, length, BufferedImage.TYPE_INT_RGB );
+        }
+        this.maze = maze;
+        this.side = side;
+      }
+
+      /**
+       * Gets the pixels of the heat map of this maze location, reallocating the
+       * image if the viewport was resized.
+       * @param width width in pixels of the viewport.
+       * @param height height in pixels of the viewport.
+       * @return ARGB pixels of the heat map, row-major with a row length of width.
+       */
+      public int[] getHeatMapPixels( int width, int height ) {
+        if( heatMap == null || heatMap.getWidth() != width || heatMap.getHeight() != height ) {
+          /* new viewport size */
+          heatMap = new BufferedImage( Math.max(1, width), Math.max(1, height), BufferedImage.TYPE_INT_ARGB );
+          heatMapPixels = ((DataBufferInt) heatMap.getRaster().getDataBuffer()).getData();
+        }
+        return heatMapPixels;
+      }
+
+      /**
+       * Gets the heat map image filled through getHeatMapPixels.
+       * @return translucent image the size of the viewport.
+       */
+      public BufferedImage getHeatMap() {
+        return heatMap;
+      }
+
+      /**
+       * Sets the zoom and pan of the maze drawn on the image.
+       * @param zoomed_side length of a square side in pixels of the zoomed maze.
+       * @param offset_x horizontal offset of the zoomed maze in the viewport.
+       * @param offset_y vertical offset of the zoomed maze in the viewport.
+       * @return Nothing.
+       */
+      private void setView( int zoomed_side, int offset_x, int offset_y ) {
+        this.zoomed_side = zoomed_side;
+        origin.setLocation( offset_x, offset_y );
+      }
+
+      /**
+       * Sets the given bounding box to the cells inside the viewport.
+       * @param cells bounding box to be set.
+       * @return Nothing.
+       */
+      private void setVisibleCells( CellBounds cells ) {
+        int dimension = maze.getDimension();
+        double cell_unit = (1.0 / dimension) * zoomed_side;
+        cells.set( (int)(-origin.y / cell_unit), (int)(-origin.x / cell_unit), (int)((side - origin.y) / cell_unit), (int)((side - origin.x) / cell_unit) );
+        cells.clip( maze.getHeight(), maze.getWidth() );
+      }
+
+      /**
+       * Redraws a range of cells on the cached image.
+       * @param cells cells whose walls changed, null to redraw the visible maze.
+       * @return Nothing.
+       */
+      private void redraw( CellBounds cells ) {
+        if( pixels != null ) {
+          rasterize( cells );
+          return;
+        }
+        int dimension = maze.getDimension();
+        double cell_unit = (1.0 / dimension) * zoomed_side;
+        int wall_height = (int) cell_unit;
+        Graphics2D g2d = layer.createGraphics();
+
+        vertical_wall.setSize( WALL_WIDTH, wall_height );
+        horizontal_wall.setSize( wall_height, WALL_WIDTH );
+
+        if( cells == null ) {
+          /* entire viewport */
+          setVisibleCells( changed );
+          cells = changed;
+        }
+        else {
+          /* only the pixels of modified cells are cleared */
+          int x = origin.x + (int)(cells.minColumn * cell_unit);
+          int y = origin.y + (int)(cells.minRow * cell_unit);
+          int width  = origin.x + (int)((cells.maxColumn + 1) * cell_unit) - x + WALL_WIDTH;
+          int height = origin.y + (int)((cells.maxRow + 1) * cell_unit) - y + WALL_WIDTH;
+          g2d.clipRect( x, y, width, height );
+          /* neighboring cells own walls that overlap the cleared pixels */
+          cells.grow( 1 );
+          cells.clip( maze.getHeight(), maze.getWidth() );
+        }
+
+        /* Maze Background */
+        g2d.setColor( MAZE_BACKGROUND_COLOR );
+        g2d.fillRect( 0, 0, side + 1, side + 1 );
+        g2d.setColor( MAZE_BORDER_COLOR );
+        g2d.drawRect( origin.x, origin.y, getBorderLength(maze.getWidth(), cell_unit), getBorderLength(maze.getHeight(), cell_unit) );
+
+        /* Maze Foreground - Maze Generation graphics */
+        drawGridLines( g2d, maze, origin, vertical_wall, horizontal_wall, cell_unit, cells );
+        g2d.dispose();
+      }
+
+      /**
+       * Redraws a range of cells by writing one pixel wide walls directly 
+       * into the image raster in a single pass over the cells. Several cells
+       * may share a pixel, in which case a wall takes precedence.
+       * @param cells cells whose walls changed, null to redraw the visible maze.
+       * @return Nothing.
+       */
+      private void rasterize( CellBounds cells ) {
+        int dimension = maze.getDimension();
+        double cell_unit = (1.0 / dimension) * zoomed_side;
+        int length = side + 1;
+        int background = MAZE_BACKGROUND_COLOR.getRGB();
+        int wall = WALL_COLOR.getRGB();
+        int no_wall = NO_WALL_COLOR.getRGB();
+        int border = MAZE_BORDER_COLOR.getRGB();
+        int x0 = 0, y0 = 0, x1 = side, y1 = side;
+
+        if( cells == null ) {
+          /* entire viewport */
+          setVisibleCells( changed );
+          cells = changed;
+        }
+        else {
+          /* only the visible pixels of modified cells are cleared */
+          x0 = Math.max( 0, origin.x + (int)(cells.minColumn * cell_unit) );
+          y0 = Math.max( 0, origin.y + (int)(cells.minRow * cell_unit) );
+          x1 = Math.min( side, origin.x + (int)((cells.maxColumn + 1) * cell_unit) );
+          y1 = Math.min( side, origin.y + (int)((cells.maxRow + 1) * cell_unit) );
+          if( x0 > x1 || y0 > y1 ) return;
+          /* every cell that owns a wall pixel in the cleared region */
+          cells.set( (int)((y0 - origin.y) / cell_unit) - 1, (int)((x0 - origin.x) / cell_unit) - 1, 
+                     (int)((y1 - origin.y) / cell_unit) + 1, (int)((x1 - origin.x) / cell_unit) + 1 );
+          cells.clip( maze.getHeight(), maze.getWidth() );
+        }
+
+        /* Maze Background */
+        for( int y = y0; y <= y1; y++ ) {
+          for( int x = x0; x <= x1; x++ ) {
+            pixels[ y * length + x ] = background;
+          }
+        }
+
+        /* Maze Foreground - one pass over the wall bitmap of the cleared region */
+        for( int row = cells.minRow; row <= cells.maxRow; row++ ) {
+          int top = Math.max( y0, origin.y + (int)(row * cell_unit) );
+          int bottom = origin.y + (int)((row + 1) * cell_unit);
+          for( int column = cells.minColumn; column <= cells.maxColumn; column++ ) {
+            MazeNode currentNode = maze.at( row, column );
+            int left = Math.max( x0, origin.x + (int)(column * cell_unit) );
+            int right = origin.x + (int)((column + 1) * cell_unit);
+
+            if( column < maze.getWidth() - 1 && right >= x0 && right <= x1 ) {
+              /* wall to the right of current cell */
+              int color = ( currentNode.right == null ) ? wall : no_wall;
+              for( int y = top; y <= Math.min(bottom, y1); y++ ) {
+                int index = y * length + right;
+                if( color == wall || pixels[ index ] != wall ) pixels[ index ] = color;
+              }
+            }
+            if( row < maze.getHeight() - 1 && bottom >= y0 && bottom <= y1 ) {
+              /* wall below current cell */
+              int color = ( currentNode.down == null ) ? wall : no_wall;
+              for( int x = left; x <= Math.min(right, x1); x++ ) {
+                int index = bottom * length + x;
+                if( color == wall || pixels[ index ] != wall ) pixels[ index ] = color;
+              }
+            }
+          }
+        }
+
+        /* Maze Border - visible part inside the cleared region */
+        int border_left = origin.x, border_right = origin.x + getBorderLength( maze.getWidth(), cell_unit );
+        int border_top = origin.y, border_bottom = origin.y + getBorderLength( maze.getHeight(), cell_unit );
+        for( int y = Math.max(y0, border_top); y <= Math.min(y1, border_bottom); y++ ) {
+          if( border_left >= x0 && border_left <= x1 ) pixels[ y * length + border_left ] = border;
+          if( border_right >= x0 && border_right <= x1 ) pixels[ y * length + border_right ] = border;
+        }
+        for( int x = Math.max(x0, border_left); x <= Math.min(x1, border_right); x++ ) {
+          if( border_top >= y0 && border_top <= y1 ) pixels[ border_top * length + x ] = border;
+          if( border_bottom >= y0 && border_bottom <= y1 ) pixels[ border_bottom * length + x ] = border;
+        }
+      }
+
+      /**
+       * Length of a side of the maze border - mazes need not be square.
+       * @param cells number of cells along the side.
+       * @param cell_unit side dimension of one cell in maze.
+       * @return length in pixels, the zoomed side along the longer side.
+       */
+      private int getBorderLength( int cells, double cell_unit ) {
+        return (int)Math.round( cells * cell_unit );
+      }
+    }
+  }
+
+  /**
+   * A micromouse streaming to the simulator in Periscope mode: the route of
+   * its port, the mouse its messages are applied to, and where its tile was
+   * last drawn. Fields other than the route and mouse are guarded by the
+   * mouse lock.
+   */
+  private class PeriscopeRobot {
+    private final SerialRoute route;
+    private final Mouse mouse;
+    private final String name;
+    private final CellBounds dirtyCells = new CellBounds();
+    private final Rectangle viewport = new Rectangle();
+    private final Point mazePoint = new Point();
+    private int side = 0;
+    private RenderPanel.MazeLayer layer = null;
+    private long unpainted_nanos = 0; /* receive time of the oldest message not painted yet */
+    private long newest_nanos = 0;    /* receive time of the newest message not painted yet */
+    private int unpainted = 0;        /* messages applied since the last paint */
+
+    /**
+     * Constructor: Creates a robot.
+     * @param route route the robot messages arrive on.
+     * @param mouse mouse the robot messages are applied to.
+     * @param name port name shown above the tile of the robot.
+     * @return Nothing.
+     */
+    public PeriscopeRobot( SerialRoute route, Mouse mouse, String name ) {
+      this.route = route;
+      this.mouse = mouse;
+      this.name = name;
+    }
+
+    /**
+     * Notes a message applied to the mouse that is not painted yet - caller
+     * holds the mouse lock.
+     * @param timestamp System.nanoTime() when the message was received.
+     * @return Nothing.
+     */
+    private void received( long timestamp ) {
+      if( unpainted == 0 ) unpainted_nanos = timestamp;
+      newest_nanos = timestamp;
+      unpainted++;
+    }
+
+    /**
+     * Records how long each message applied since the last paint waited to
+     * be painted - caller holds the mouse lock.
+     * @return Nothing.
+     */
+    private void painted() {
+      if( unpainted == 0 ) return;
+      long now = System.nanoTime();
+      route.getStats().recordLatencies( now - unpainted_nanos, now - newest_nanos, unpainted );
+      unpainted = 0;
+    }
+
+    /**
+     * Label of the robot, e.g. in the remove robot dialog.
+     * @return connected port name, or name if disconnected.
+     */
+    @Override
+    public String toString() {
+      String port = route.getConnectedPortName();
+      return ( port == null ) ? name : port;
+    }
+  }
+
+  /**
+   * Creates the translucent heat map colors used for flood fill values.
+   * @return ARGB colors from blue (low values) to red (high values).
+   */
+  private static int[] createHeatMapPalette() {
+    int[] palette = new int[ HEAT_MAP_COLORS ];
+    for( int index = 0; index < HEAT_MAP_COLORS; index++ ) {
+      /* hue sweep: blue -> cyan -> green -> yellow -> red */
+      float hue = 0.66f * (1.0f - (float) index / (HEAT_MAP_COLORS - 1));
+      int rgb = Color.HSBtoRGB( hue, 1.0f, 1.0f ) & 0x00FFFFFF;
+      palette[ index ] = (HEAT_MAP_ALPHA << 24) | rgb;
+    }
+    return palette;
+  }
+
+  /**
+   * MazeGUI program execution.
+   * @param args command line arguments.
+   * @return Nothing.
+   */
+  public static void main( String[] args ) {
+    int dimension = 16;
+    int non_tree_edges = 0;
+    boolean dijkstra = true;
+    boolean dfs = false;
+    boolean frameTime = false;
+    File export = null;
+    File log = null;
+    File record = null;
+    File replay = null;
+    double replaySpeed = 1.0;
+
+    for( int index = 0; index < args.length; index++ ) {
+      /* parse command line arguments */
+      String flag = args[ index ];
+      boolean independent_flag = false;
+      boolean invalidFlag = true;
+
+      for( String valid_flag : ParsingStrings.FLAGS ) {
+        /* search if arg is a valid flag  */
+        if( flag.equals(valid_flag) ) {
+          invalidFlag = false;
+          break;
+        }
+      }
+
+      if( invalidFlag ) {
+        /* no such flag defined */
+        System.out.println( "Unrecognized Argument: " + args[ index ] + "\n" );
+        System.out.println( ParsingStrings.USAGE );
+        System.exit( 1 );
+      }
+
+      /* independent args */
+      switch( flag ) {
+        case ParsingStrings.HELP_FLAG_1:
+        case ParsingStrings.HELP_FLAG_2:
+          /* program usage */
+          System.out.println( ParsingStrings.USAGE );
+          System.out.println( ParsingStrings.HELP_MSG );
+          System.exit( 1 );
+          break;
+        case ParsingStrings.DIJKSTRA_FLAG:
+          /* run dijkstra */
+          independent_flag = true;
+          dijkstra = true;
+          break;
+        case ParsingStrings.DFS_FLAG:
+          /* run dfs */
+          independent_flag = true;
+          dfs = true;
+          break;
+        case ParsingStrings.FRAME_TIME_FLAG:
+          /* paint latency readout */
+          independent_flag = true;
+          frameTime = true;
+          break;
+      }
+
+      if( independent_flag ) continue;
+
+      /* dependent args */
+      if( index + 1 == args.length ) {
+        /* invalid number of args */
+        System.out.println( "Flag " + args[ index ] + " is expecting an argument." );
+        System.out.println( ParsingStrings.USAGE );
+        System.exit( 1 );
+      }
+
+      switch( flag ) {
+        case ParsingStrings.DIM_FLAG_1:
+        case ParsingStrings.DIM_FLAG_2:
+          /* dimension input */
+          try {
+            dimension = Integer.parseInt( args[ index + 1 ] );
+          }
+          catch( NumberFormatException e ) {
+            System.out.println( "Integer Parsing Error: dimension: " + args[ index + 1 ] + "\n" );
+            System.exit( 1 );
+          }
+          break;
+        case ParsingStrings.NUM_PATHS_FLAG_1:
+        case ParsingStrings.NUM_PATHS_FLAG_2:
+          /* number of cycles in graph - number of alternative solutions */
+          try {
+            non_tree_edges = Integer.parseInt( args[ index + 1 ] );
+          }
+          catch( NumberFormatException e ) {
+            System.out.println( "Integer Parsing Error: non_tree_edges: " + args[ index + 1 ] + "\n" );
+            System.out.println( ParsingStrings.USAGE );
+            System.exit( 1 );
+          }
+          if( non_tree_edges < 0 ) {
+            System.out.println( "Max Non-Tree Edges Error: argument must be positive: " + non_tree_edges + "\n" );
+            System.out.println( ParsingStrings.USAGE );
+            System.exit( 1 );
+          }
+          break;
+        case ParsingStrings.EXPORT_FLAG:
+          /* offscreen frame export */
+          export = new File( args[ index + 1 ] );
+          System.setProperty( "java.awt.headless", "true" );
+          break;
+        case ParsingStrings.PERISCOPE_LOG_FLAG:
+          /* asynchronous periscope log */
+          log = new File( args[ index + 1 ] );
+          break;
+        case ParsingStrings.RECORD_FLAG:
+          /* periscope session recording */
+          record = new File( args[ index + 1 ] );
+          break;
+        case ParsingStrings.REPLAY_FLAG:
+          /* periscope session playback */
+          replay = new File( args[ index + 1 ] );
+          break;
+        case ParsingStrings.REPLAY_SPEED_FLAG:
+          /* playback speed factor */
+          if( args[ index + 1 ].equals(ParsingStrings.MAX_SPEED) ) {
+            replaySpeed = SessionReplayer.MAX_SPEED;
+            break;
+          }
+          try {
+            replaySpeed = Double.parseDouble( args[ index + 1 ] );
+          }
+          catch( NumberFormatException e ) {
+            System.out.println( "Number Parsing Error: replay_speed: " + args[ index + 1 ] + "\n" );
+            System.out.println( ParsingStrings.USAGE );
+            System.exit( 1 );
+          }
+          break;
+      }
+      index++;
+    }
+
+    if( dimension <= 0 ) {
+      System.out.println( "Dimension Argument Error: not positive\n" );
+      System.out.println( "Example: java MazeGUI -dimension 16\n" );
+      System.out.println( ParsingStrings.USAGE );
+      System.exit( 1 );
+    }
+
+    try {
+      Class.forName("com.fazecast.jSerialComm.SerialPort");
+    }
+    catch( ClassNotFoundException e ) {
+      System.out.println( "Incorrect program start-up. (invalid classpath)");
+      System.out.println( "Try following command to resolve issue: \n" );
+      System.out.println( "$ export CLASSPATH=\"$CLASSPATH:../lib/*:.\"\n" );
+      System.out.println( ParsingStrings.USAGE );
+      System.exit( 0 );
+    }
+
+    MazeGUI gui = new MazeGUI( dimension, non_tree_edges, dijkstra, dfs, frameTime, export, log );
+    if( export != null ) return;
+    if( record != null ) gui.recordSession( record );
+    if( replay != null ) gui.replaySession( replay, replaySpeed );
+  }
+}
@@ -0,0 +1,149 @@
+/**
+ * Jose Jimenez-Olivas
+ * Brandon Cramer
+ * Email: jjj023@ucsd.edu
+ *
+ *                 University of California, San Diego
+ *                           IEEE Micromouse
+ *
+ * File Name:   MouseShape.java
+ * Description: Draws a mouse on the GUI - kept out of Mouse so the maze and
+ *              solver do not depend on AWT.
+ */
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Point;
+import java.awt.Rectangle;
+
+/**
+ * Class: MouseShape: Consitiutes the generic mouse shape.
+ */
+public class MouseShape {
+  private static final double PROPORTION = 0.3;
+  private static final int MIN_PIXEL_SIZE = 3;
+  private static final double HEAD_PROPORTION = 1;
+  private static final int EVEN = 2;
+  private Rectangle body;
+  private Rectangle head;
+
+  /**
+   * Constructor for mouse shape.
+   * @param x Top left corner x-coordinate of shape.
+   * @param y Top left corner y-coordinate of shape.
+   * @param width Pixel width of mouse body.
+   * @param height Pixel height of mouse body.
+   * @param heading 0 north, 1 east, 2 south, 3 west.
+   */
+  public MouseShape( int x, int y, int width, int height, int heading ) {
+    body = new Rectangle( x, y, width, height );
+    head = new Rectangle( x, y, (int)(double)(HEAD_PROPORTION*body.width), (int)(double)(HEAD_PROPORTION*body.height) );
+    this.rotateTo( heading ); /* sets head location */
+  }
+
+  /**
+   * Default constructor for empty mouse shape.
+   */
+  public MouseShape() {
+    this( 0, 0, 0, 0, 0 );
+  }
+
+  /**
+   * Draws a mouse at its cell of the maze on the GUI.
+   * @param g Graphics environment variable.
+   * @param color Color of mouse shape.
+   * @param mouse mouse to be drawn.
+   * @param maze_draw_point top left corner of maze on GUI.
+   * @param maze_diameter   pixel diameter of maze on GUI.
+   * @return Nothing.
+   */
+  public void draw( Graphics g, Color color, Mouse mouse, Point maze_draw_point, int maze_diameter ) {
+    setGraphicsEnvironment( mouse, maze_draw_point, maze_diameter );
+    draw( g, color );
+  }
+
+  /**
+   * Sets the shape to the cell and orientation of a mouse, given the left
+   * corner of the maze on GUI and the maze diameter.
+   * @param mouse mouse to be drawn.
+   * @param maze_draw_point top left corner of maze on GUI.
+   * @param maze_diameter   pixel diameter of maze on GUI.
+   * @return Nothing.
+   */
+  public void setGraphicsEnvironment( Mouse mouse, Point maze_draw_point, int maze_diameter ) {
+    double UNIT = (1.0 / mouse.getMaze().getDimension()) * maze_diameter;
+    double unitCenterX = maze_draw_point.x + mouse.getColumn() * UNIT + (UNIT / 2.0);
+    double unitCenterY = maze_draw_point.y + mouse.getRow() * UNIT + (UNIT / 2.0);
+    /* mouse stays visible on mazes with sub-pixel cells */
+    double width = Math.max( MIN_PIXEL_SIZE, UNIT * PROPORTION );
+    double height = Math.max( MIN_PIXEL_SIZE, UNIT * PROPORTION );
+    double x = unitCenterX - width / 2.0;
+    double y = unitCenterY - height / 2.0;
+
+    setDimension( (int)width, (int)height );
+    setLocation( (int)x, (int)y );
+    rotateTo( mouse.getHeading() );
+  }
+
+  /**
+   * Draws the mouse shape on GUI.
+   * @param g Graphics environment variable.
+   * @param color Color of mouse shape.
+   * @return Nothing.
+   */
+  public void draw( Graphics g, Color color ) {
+    g.setColor( color );
+    g.fillRect( body.x, body.y, body.width, body.height );
+    g.fillOval( head.x, head.y, head.width, head.height);
+  }
+
+  /**
+   * Rotates the mouse shape on given orientation on GUI.
+   * @param heading Compass value that the mouse head points to - 0 north,
+   *                1 east, 2 south, 3 west.
+   * @return Nothing.
+   */
+  public void rotateTo( int heading ) {
+    int dx = ( heading % EVEN == 0 ) ? 0 : -1*(heading - 2);
+    int dy = ( heading % EVEN == 0 ) ? heading - 1 : 0;
+    int head_center_x = (int)(double)( body.x +  ((1.0 - HEAD_PROPORTION) / 3.0) * body.width );
+    int head_center_y = (int)(double)( body.y +  ((1.0 - HEAD_PROPORTION) / 3.0) * body.height );
+    int head_x = (heading % EVEN == 0) ? head_center_x : head_center_x + dx*(head.width/2);
+    int head_y = (heading % EVEN == 0) ? head_center_y + dy*(head.height/2) : head_center_y;
+
+    head.setLocation( head_x, head_y );
+  }
+
+  /**
+   * Sets new dimension of mouse shape.
+   * @param width width of mouse in dimensions.
+   * @param height height of mouse in dimensions.
+   * @return Nothing.
+   */
+  public void setDimension( int width, int height ) {
+    body.setSize( width, height );
+    head.setSize( (int)(double)(HEAD_PROPORTION* body.width), (int)(double)(HEAD_PROPORTION* body.height) );
+  }
+
+  /**
+   * Sets new location for mouse.
+   * @param x x-coordinate.
+   * @param y y-coordinate.
+   * @return Nothing.
+   */
+  public void setLocation( int x, int y ) {
+    head.translate( x - body.x, y - body.y );
+    body.setLocation( x, y );
+  }
+
+  /**
+   * Shifts the mouse shape by dx and dy pixels.
+   * @param dx Pixel differential in the x-axis.
+   * @param dy Pixel differential in the y-axis.
+   * @return Nothing.
+   */
+  public void translate( int dx, int dy ) {
+    body.translate( dx, dy );
+    head.translate( dx, dy );
+  }
+}
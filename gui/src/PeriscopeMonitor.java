@@ -0,0 +1,220 @@
+/**
+ * Jose Jimenez-Olivas
+ * Brandon Cramer
+ * Email: jjj023@ucsd.edu
+ *
+ *                 University of California, San Diego
+ *                           IEEE Micromouse
+ *
+ * File Name:   PeriscopeMonitor.java
+ * Description: In-process live stream monitor of the messages sent by the
+ *              micromouse, with an optional log file.
+ */
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import javax.swing.JScrollPane;
+import javax.swing.JTextArea;
+import javax.swing.Timer;
+import javax.swing.text.BadLocationException;
+
+/**
+ * PeriscopeMonitor keeps the most recent messages in a ring buffer. Any
+ * thread may add a message without blocking on I/O; a Swing timer appends
+ * the new messages to the text area in one batch, and a background thread
+ * writes them to the log file if one was given. The log is drained and
+ * flushed by close(), which also runs at exit.
+ */
+public class PeriscopeMonitor implements ActionListener {
+  private static final int MAX_LINES = 500;
+  private static final int MONITOR_DELAY = 100; /* milliseconds */
+  private static final int LOG_QUEUE_CAPACITY = 4096;
+  private static final int ROWS = 8;
+  private static final Color MONITOR_COLOR = Color.GREEN;
+
+  private final String[] lines = new String[ MAX_LINES ];
+  private int next = 0;    /* ring slot of the next message */
+  private int pending = 0; /* messages not displayed yet */
+  private final StringBuilder batch = new StringBuilder();
+
+  private final JTextArea textArea = new JTextArea( ROWS, 0 );
+  private final JScrollPane view = new JScrollPane( textArea );
+  private final Timer refreshCLK = new Timer( MONITOR_DELAY, this );
+
+  private volatile BlockingQueue<String> logQueue = null;
+  private Thread logger = null;
+  private Writer logWriter = null;
+  private final LongAdder dropped_log_lines = new LongAdder(); /* println runs on every dispatch thread */
+
+  /**
+   * Creates a monitor that displays messages only.
+   * @return Nothing.
+   */
+  public PeriscopeMonitor() {
+    textArea.setEditable( false );
+    textArea.setFont( new Font(Font.MONOSPACED, Font.PLAIN, 12) );
+    textArea.setBackground( Color.BLACK );
+    textArea.setForeground( MONITOR_COLOR );
+    view.setVisible( false );
+    refreshCLK.start();
+  }
+
+  /**
+   * Creates a monitor that also writes every message to a log file.
+   * @param log file the messages are written to, null to disable logging.
+   * @return Nothing.
+   * @throws IOException if the log file cannot be created.
+   */
+  public PeriscopeMonitor( File log ) throws IOException {
+    this();
+    if( log != null ) openLog( log );
+  }
+
+  /**
+   * Adds a message to the monitor - safe to call from any thread.
+   * @param message line to be displayed.
+   * @return Nothing.
+   */
+  public void println( String message ) {
+    synchronized( lines ) {
+      lines[ next ] = message;
+      next = (next + 1) % MAX_LINES;
+      if( pending < MAX_LINES ) pending++;
+    }
+    BlockingQueue<String> queue = logQueue;
+    if( queue != null && !queue.offer(message) ) {
+      /* log writer is behind - never block the caller */
+      dropped_log_lines.increment();
+    }
+  }
+
+  /**
+   * Swing component displaying the monitor.
+   * @return scrollable text area of the messages.
+   */
+  public JScrollPane getView() {
+    return view;
+  }
+
+  /**
+   * Number of messages that were not logged because the log writer fell behind.
+   * @return total dropped log lines.
+   */
+  public long getDroppedLogLines() {
+    return dropped_log_lines.sum();
+  }
+
+  /**
+   * Stops the log writer, then writes the messages still queued and flushes
+   * and closes the log file. Messages added afterwards are only displayed.
+   * @return Nothing.
+   */
+  public synchronized void close() {
+    BlockingQueue<String> queue = logQueue;
+    if( queue == null ) return;
+    logQueue = null;
+    logger.interrupt();
+    try {
+      logger.join();
+    }
+    catch( InterruptedException e ) {
+      Thread.currentThread().interrupt();
+    }
+    try {
+      for( String message = queue.poll(); message != null; message = queue.poll() ) {
+        /* lines the log writer did not reach */
+        logWriter.write( message );
+        logWriter.write( '\n' );
+      }
+      logWriter.close();
+    }
+    catch( IOException e ) {
+      System.err.println( "Periscope log closed: " + e );
+    }
+  }
+
+  /**
+   * Refresh timer tick - appends the pending messages in one batch and trims
+   * the text area to the most recent MAX_LINES lines.
+   * @param evt timer event.
+   * @return Nothing.
+   */
+  @Override
+  public void actionPerformed( ActionEvent evt ) {
+    synchronized( lines ) {
+      if( pending == 0 ) return;
+      batch.setLength( 0 );
+      for( int count = pending; count > 0; count-- ) {
+        /* oldest pending message first */
+        batch.append( lines[ (next - count + MAX_LINES) % MAX_LINES ] ).append( '\n' );
+      }
+      pending = 0;
+    }
+    textArea.append( batch.toString() );
+
+    int excess = textArea.getLineCount() - 1 - MAX_LINES;
+    if( excess > 0 ) {
+      try {
+        textArea.replaceRange( null, 0, textArea.getLineStartOffset(excess) );
+      }
+      catch( BadLocationException e ) {
+        e.printStackTrace();
+      }
+    }
+    textArea.setCaretPosition( textArea.getDocument().getLength() );
+  }
+
+  /**
+   * Starts the background thread writing messages to the log file.
+   * @param log file the messages are written to.
+   * @return Nothing.
+   * @throws IOException if the log file cannot be created.
+   */
+  private void openLog( File log ) throws IOException {
+    final Writer writer = new BufferedWriter( new FileWriter(log) );
+    final BlockingQueue<String> queue = new ArrayBlockingQueue<String>( LOG_QUEUE_CAPACITY );
+    logger = new Thread( new Runnable() {
+      @Override
+      public void run() {
+        try {
+          while( true ) {
+            /* write everything queued, then flush once */
+            String message = queue.take();
+            do {
+              writer.write( message );
+              writer.write( '\n' );
+            } while( (message = queue.poll()) != null );
+            writer.flush();
+          }
+        }
+        catch( InterruptedException e ) {
+          /* closed - remaining messages are written by close() */
+        }
+        catch( IOException e ) {
+          System.err.println( "Periscope log closed: " + e );
+        }
+      }
+    }, "PeriscopeMonitor-log" );
+    logger.setDaemon( true );
+    logger.start();
+    logWriter = writer;
+    logQueue = queue;
+    Runtime.getRuntime().addShutdownHook( new Thread(new Runnable() {
+      @Override
+      public void run() {
+        /* write queued lines on exit */
+        close();
+      }
+    }) );
+  }
+}
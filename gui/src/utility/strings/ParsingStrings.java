@@ -16,7 +16,7 @@
  */
 public class ParsingStrings {
 
-    public static final String USAGE = "Usage: java MazeGUI [-help] [-dimension <number>] [-non_tree_edges <number>] [-dijkstra] [-dfs]";
+    public static final String USAGE = "Usage: java MazeGUI [-help] [-dimension <number>] [-non_tree_edges <number>] [-dijkstra] [-dfs] [-frametime] [-export <directory | file.gif>] [-periscope_log <file>] [-record <file>] [-replay <file>] [-replay_speed <factor | max>]";
     public static final String HELP_FLAG_1 = "-h";
     public static final String HELP_FLAG_2 = "-help";
     public static final String DIM_FLAG_1 = "-d";
@@ -25,13 +25,27 @@ public class ParsingStrings {
     public static final String NUM_PATHS_FLAG_2 = "-nte";
     public static final String DIJKSTRA_FLAG = "-dijkstra";
     public static final String DFS_FLAG = "-dfs";
+    public static final String FRAME_TIME_FLAG = "-frametime";
+    public static final String EXPORT_FLAG = "-export";
+    public static final String PERISCOPE_LOG_FLAG = "-periscope_log";
+    public static final String RECORD_FLAG = "-record";
+    public static final String REPLAY_FLAG = "-replay";
+    public static final String REPLAY_SPEED_FLAG = "-replay_speed";
+    public static final String MAX_SPEED = "max";
     public static final String HELP_MSG = "\n-help | -h\t\tHelp message\n" + 
       "-dimension | -d\t\tDimension size of maze generated\n-non_tree_edges | -nte\t" +
       "Total number of non-tree edges in maze.\n-dijkstra\t\tDijkstra's " +
-      "Algorithm solution path traversal\n-dfs\t\t\tDepth First Search solution path traversal\n";
+      "Algorithm solution path traversal\n-dfs\t\t\tDepth First Search solution path traversal\n" +
+      "-frametime\t\tDisplay the time taken to paint each frame\n" +
+      "-export\t\t\tRender a mouse run offscreen to a PNG sequence directory or a .gif file\n" +
+      "-periscope_log\t\tAlso write received Periscope messages to a log file\n" +
+      "-record\t\t\tRecord received Periscope messages with timestamps to a session file\n" +
+      "-replay\t\t\tPlay a recorded Periscope session back\n" +
+      "-replay_speed\t\tPlayback speed factor of -replay, or max for no waiting\n";
 
     public static final String[] FLAGS = { 
       HELP_FLAG_1, HELP_FLAG_2, DIM_FLAG_1, DIM_FLAG_2, NUM_PATHS_FLAG_1, 
-      NUM_PATHS_FLAG_2, DIJKSTRA_FLAG, DFS_FLAG 
+      NUM_PATHS_FLAG_2, DIJKSTRA_FLAG, DFS_FLAG, FRAME_TIME_FLAG, EXPORT_FLAG,
+      PERISCOPE_LOG_FLAG, RECORD_FLAG, REPLAY_FLAG, REPLAY_SPEED_FLAG
     };
 }
@@ -0,0 +1,319 @@
+/**
+ * Jose Jimenez-Olivas
+ * Brandon Cramer
+ * Email: jjj023@ucsd.edu
+ *
+ *                 University of California, San Diego
+ *                           IEEE Micromouse
+ *
+ * File Name:   SessionReplayer.java
+ * Description: Plays a recorded Periscope session back into a mouse in real
+ *              time, faster, or as fast as possible, with seeking.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * SessionReplayer indexes a session file written by SessionRecorder and
+ * feeds its messages to Mouse.periscopeProtocol on its own thread, holding
+ * the mouse lock for each message like the serial dispatch thread does.
+ * Seeking restarts the mouse from the closest keyframe before the target
+ * and applies the messages in between without waiting.
+ */
+public class SessionReplayer implements Runnable {
+  public static final double MAX_SPEED = 0.0; /* no waiting between messages */
+
+  private static final long MAX_WAIT = 50000000L; /* nanoseconds - keeps seeks responsive */
+  private static final long BATCH_WINDOW = 1000000L; /* nanoseconds */
+  private static final int MAX_BATCH = 256;
+
+  private final Mouse mouse;
+  private final Runnable onUpdate;
+  private final byte[] data;
+  private int records = 0;
+  private long[] times;    /* nanoseconds from the start of the session */
+  private int[] offsets;   /* first byte of each record payload */
+  private int[] lengths;
+  private boolean[] keyframeFlags;
+  private int keyframes = 0;
+  private int[] keyframeRecords;
+
+  private volatile double speed;
+  private volatile long seekTarget = -1;
+  private volatile long position = 0;
+  private volatile boolean running = false;
+  private Thread thread = null;
+
+  /**
+   * Loads and indexes a session file.
+   * @param session file written by SessionRecorder.
+   * @param mouse mouse the messages are applied to.
+   * @param speed playback speed, 1.0 for real time, MAX_SPEED for no waiting.
+   * @param onUpdate called without the mouse lock after each batch of messages, e.g. to repaint.
+   * @return Nothing.
+   * @throws IOException if the file cannot be read or is not a session.
+   */
+  public SessionReplayer( File session, Mouse mouse, double speed, Runnable onUpdate ) throws IOException {
+    this.mouse = mouse;
+    this.speed = speed;
+    this.onUpdate = onUpdate;
+    data = Files.readAllBytes( session.toPath() );
+    if( data.length < SessionRecorder.HEADER_SIZE
+        || !Arrays.equals(Arrays.copyOf(data, SessionRecorder.MAGIC.length), SessionRecorder.MAGIC)
+        || data[ SessionRecorder.MAGIC.length ] != SessionRecorder.VERSION ) {
+      throw new IOException( "Not a Periscope session: " + session );
+    }
+    index();
+  }
+
+  /**
+   * Starts playback from the beginning on a background thread.
+   * @return Nothing.
+   */
+  public void start() {
+    running = true;
+    seekTarget = 0; /* restart the mouse */
+    thread = new Thread( this, "SessionReplayer" );
+    thread.setDaemon( true );
+    thread.start();
+  }
+
+  /**
+   * Stops playback.
+   * @return Nothing.
+   */
+  public void stop() {
+    running = false;
+    if( thread != null ) LockSupport.unpark( thread );
+  }
+
+  /**
+   * Jumps to a point of the session - safe to call from any thread.
+   * @param nanos time from the start of the session.
+   * @return Nothing.
+   */
+  public void seek( long nanos ) {
+    seekTarget = Math.max( 0, Math.min(nanos, getDuration()) );
+    if( thread != null ) LockSupport.unpark( thread );
+  }
+
+  /**
+   * Changes the playback speed.
+   * @param speed 1.0 for real time, MAX_SPEED for no waiting.
+   * @return Nothing.
+   */
+  public void setSpeed( double speed ) {
+    this.speed = speed;
+    seek( position ); /* rebase the playback clock */
+  }
+
+  /**
+   * Length of the session.
+   * @return time of the last message in nanoseconds from the start.
+   */
+  public long getDuration() {
+    return ( records == 0 ) ? 0 : times[ records - 1 ];
+  }
+
+  /**
+   * Playback position.
+   * @return time of the last applied message in nanoseconds from the start.
+   */
+  public long getPosition() {
+    return position;
+  }
+
+  /**
+   * Number of messages and keyframes in the session.
+   * @return total records.
+   */
+  public int getRecordCount() {
+    return records;
+  }
+
+  /**
+   * Playback loop - applies each message when it is due and handles seeks.
+   * @return Nothing.
+   */
+  @Override
+  public void run() {
+    running = true;
+    int next = 0;
+    int batch = 0;
+    long base_wall = System.nanoTime();
+    long base_session = 0;
+
+    while( running ) {
+      long target = seekTarget;
+      if( target >= 0 ) {
+        /* restart from keyframe */
+        seekTarget = -1;
+        next = applySeek( target );
+        base_wall = System.nanoTime();
+        base_session = target;
+        onUpdate.run();
+        continue;
+      }
+
+      long delay = 0;
+      if( next >= records ) {
+        delay = MAX_WAIT; /* end of session - wait for a seek */
+      }
+      else if( speed > MAX_SPEED ) {
+        delay = base_wall + (long)( (times[ next ] - base_session) / speed ) - System.nanoTime();
+      }
+      if( delay > BATCH_WINDOW ) {
+        /* one update for the messages that arrived together */
+        if( batch > 0 ) onUpdate.run();
+        batch = 0;
+        LockSupport.parkNanos( Math.min(delay, MAX_WAIT) );
+        continue;
+      }
+      if( next >= records ) continue;
+
+      if( !isKeyframe(next) ) {
+        synchronized( mouse ) {
+          mouse.periscopeProtocol( ByteBuffer.wrap(data, offsets[ next ], lengths[ next ]) );
+        }
+        batch++;
+      }
+      position = times[ next ];
+      next++;
+      if( batch >= MAX_BATCH || next == records ) {
+        onUpdate.run();
+        batch = 0;
+      }
+    }
+  }
+
+  /**
+   * Rebuilds the mouse state at a point of the session.
+   * @param target time from the start of the session.
+   * @return index of the first record after the target.
+   */
+  private int applySeek( long target ) {
+    /* latest keyframe at or before the target */
+    int low = 0, high = keyframes - 1, keyframe = -1;
+    while( low <= high ) {
+      int middle = (low + high) >>> 1;
+      if( times[ keyframeRecords[middle] ] <= target ) {
+        keyframe = middle;
+        low = middle + 1;
+      }
+      else {
+        high = middle - 1;
+      }
+    }
+
+    int next = 0;
+    synchronized( mouse ) {
+      mouse.restart();
+      if( keyframe >= 0 ) {
+        int record = keyframeRecords[ keyframe ];
+        applyKeyframe( record );
+        next = record + 1;
+      }
+      for( ; next < records && times[ next ] <= target; next++ ) {
+        /* catch up without waiting */
+        if( isKeyframe(next) ) continue;
+        mouse.periscopeProtocol( ByteBuffer.wrap(data, offsets[ next ], lengths[ next ]) );
+      }
+    }
+    position = target;
+    return next;
+  }
+
+  /**
+   * Applies every frame of a keyframe record - caller holds the mouse lock.
+   * @param record index of the keyframe record.
+   * @return Nothing.
+   */
+  private void applyKeyframe( int record ) {
+    int offset = offsets[ record ];
+    int end = offset + lengths[ record ];
+    while( offset < end ) {
+      int size = PeriscopeFrame.getFrameSize( data, offset, end - offset );
+      if( size < 0 || offset + size > end ) break;
+      mouse.periscopeProtocol( ByteBuffer.wrap(data, offset, size) );
+      offset += size;
+    }
+  }
+
+  /**
+   * Checks if a record is a keyframe.
+   * @param record index of the record.
+   * @return true for keyframes, false for messages.
+   */
+  private boolean isKeyframe( int record ) {
+    return keyframeFlags[ record ];
+  }
+
+  /**
+   * Scans the session once, recording where every record and keyframe is.
+   * A record cut short by a crash ends the session.
+   * @return Nothing.
+   */
+  private void index() {
+    int capacity = 1024;
+    times = new long[ capacity ];
+    offsets = new int[ capacity ];
+    lengths = new int[ capacity ];
+    keyframeFlags = new boolean[ capacity ];
+    keyframeRecords = new int[ 16 ];
+
+    long[] varint = new long[ 2 ];
+    int cursor = SessionRecorder.HEADER_SIZE;
+    long time = 0;
+    while( cursor < data.length ) {
+      int header = readVarint( cursor, varint, 0 );
+      if( header < 0 ) break;
+      int payload = readVarint( header, varint, 1 );
+      if( payload < 0 ) break;
+      long length = varint[ 1 ] >>> 1;
+      if( payload + length > data.length ) break;
+
+      if( records == times.length ) {
+        times = Arrays.copyOf( times, 2 * records );
+        offsets = Arrays.copyOf( offsets, 2 * records );
+        lengths = Arrays.copyOf( lengths, 2 * records );
+        keyframeFlags = Arrays.copyOf( keyframeFlags, 2 * records );
+      }
+      time += varint[ 0 ];
+      times[ records ] = time;
+      offsets[ records ] = payload;
+      lengths[ records ] = (int) length;
+      keyframeFlags[ records ] = (varint[ 1 ] & SessionRecorder.KEYFRAME_FLAG) != 0;
+      if( keyframeFlags[ records ] ) {
+        if( keyframes == keyframeRecords.length ) keyframeRecords = Arrays.copyOf( keyframeRecords, 2 * keyframes );
+        keyframeRecords[ keyframes++ ] = records;
+      }
+      records++;
+      cursor = payload + (int) length;
+    }
+  }
+
+  /**
+   * Reads an unsigned LEB128 varint.
+   * @param cursor index of the first byte.
+   * @param values destination of the value.
+   * @param slot index in values the value is stored at.
+   * @return index after the varint, -1 if it is cut short.
+   */
+  private int readVarint( int cursor, long[] values, int slot ) {
+    long value = 0;
+    for( int shift = 0; cursor < data.length && shift < Long.SIZE; shift += 7 ) {
+      byte next = data[ cursor++ ];
+      value |= (long)( next & 0x7F ) << shift;
+      if( (next & 0x80) == 0 ) {
+        values[ slot ] = value;
+        return cursor;
+      }
+    }
+    return -1;
+  }
+}
@@ -0,0 +1,126 @@
+/**
+ * Jose Jimenez-Olivas
+ * Brandon Cramer
+ * Email: jjj023@ucsd.edu
+ *
+ *                 University of California, San Diego
+ *                           IEEE Micromouse
+ *
+ * File Name:   JSerialCommTransport.java
+ * Description: Serial transport over a hardware port using jSerialComm.
+ * Sources of Help: In section "Data Available for Reading"
+ *        github.com/Fazecast/jSerialComm/wiki/Event-Based-Reading-Usage-Example
+ */
+
+import com.fazecast.jSerialComm.*;
+
+/**
+ * Reads a hardware serial port on the jSerialComm event thread.
+ * @see https://github.com/Fazecast/jSerialComm/wiki/Event-Based-Reading-Usage-Example
+ */
+public class JSerialCommTransport implements SerialTransport, SerialPortDataListener {
+  private static final int READ_BUFFER_SIZE = 4096;
+
+  private final SerialPort port;
+  private final byte[] readBuffer = new byte[ READ_BUFFER_SIZE ];
+  private Receiver receiver = null;
+
+  /**
+   * Creates a transport over a hardware port.
+   * @param port port as enumerated by SerialPort.getCommPorts().
+   * @return Nothing.
+   */
+  public JSerialCommTransport( SerialPort port ) {
+    this.port = port;
+  }
+
+  /**
+   * Opens the port and listens to serial data asynchronously.
+   * @param receiver destination of the received bytes.
+   * @return True upon success, false otherwise.
+   */
+  @Override
+  public boolean open( Receiver receiver ) {
+    this.receiver = receiver;
+    if( !port.openPort() ) return false;
+    port.addDataListener( this );
+    return true;
+  }
+
+  /**
+   * Closes the port.
+   * @return Nothing.
+   */
+  @Override
+  public void close() {
+    if( port.isOpen() ) {
+      port.removeDataListener();
+      port.closePort();
+    }
+  }
+
+  /**
+   * Checks if the port is open.
+   * @return True if bytes can be transferred, false otherwise.
+   */
+  @Override
+  public boolean isOpen() {
+    return port.isOpen();
+  }
+
+  /**
+   * Transmits bytes through the port.
+   * @param buffer bytes to be sent.
+   * @param length number of bytes in buffer to send.
+   * @return Number of bytes successfully written otherwise return -1 for error.
+   */
+  @Override
+  public int write( byte[] buffer, int length ) {
+    return port.writeBytes( buffer, length );
+  }
+
+  /**
+   * Line rate of the connection.
+   * @return configured baud rate of the port in bits per second.
+   */
+  @Override
+  public int getBaudRate() {
+    return port.getBaudRate();
+  }
+
+  /**
+   * Port name as described by the host system.
+   * @return system port name.
+   */
+  @Override
+  public String getName() {
+    return port.getSystemPortName();
+  }
+
+  /**
+   * Drains the available bytes into a reusable buffer.
+   * @param event Serial port event signaling that data can be read.
+   * @return Nothing.
+   */
+  @Override
+  public void serialEvent( SerialPortEvent event ) {
+    if( event.getEventType() != SerialPort.LISTENING_EVENT_DATA_AVAILABLE ) return;
+    int available;
+    while( (available = port.bytesAvailable()) > 0 ) {
+      /* drain port without allocating */
+      int length = port.readBytes( readBuffer, Math.min(available, readBuffer.length) );
+      if( length <= 0 ) break;
+      receiver.bytesReceived( readBuffer, length );
+    }
+  }
+
+  /**
+   * Signify that events are triggered when data is available to be read.
+   * @return Serial port constant that signifies that events should be triggered from
+   *         data available.
+   */
+  @Override
+  public int getListeningEvents() {
+    return SerialPort.LISTENING_EVENT_DATA_AVAILABLE;
+  }
+}
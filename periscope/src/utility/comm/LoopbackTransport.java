@@ -0,0 +1,91 @@
+/**
+ * Jose Jimenez-Olivas
+ * Brandon Cramer
+ * Email: jjj023@ucsd.edu
+ *
+ *                 University of California, San Diego
+ *                           IEEE Micromouse
+ *
+ * File Name:   LoopbackTransport.java
+ * Description: In-memory serial transport that receives whatever is written
+ *              to it, for exercising Periscope without hardware.
+ */
+
+/**
+ * Bytes written to a loopback transport, by the simulator or by a
+ * TelemetryGenerator playing the micromouse, are delivered straight back to
+ * its receiver on the writing thread. Writers are serialized so the receiver
+ * still sees one thread at a time, and close() waits for a delivery in
+ * flight, so no bytes reach the receiver once it returns.
+ */
+public class LoopbackTransport implements SerialTransport {
+  public static final String NAME = "loopback";
+
+  private final Object lock = new Object();
+  private volatile Receiver receiver = null;
+
+  /**
+   * Starts delivering written bytes to the receiver.
+   * @param receiver destination of the received bytes.
+   * @return True, a loopback always opens.
+   */
+  @Override
+  public boolean open( Receiver receiver ) {
+    this.receiver = receiver;
+    return true;
+  }
+
+  /**
+   * Stops delivering written bytes, waiting for a delivery in flight.
+   * @return Nothing.
+   */
+  @Override
+  public void close() {
+    synchronized( lock ) {
+      receiver = null;
+    }
+  }
+
+  /**
+   * Checks if the loopback is open.
+   * @return True if bytes can be transferred, false otherwise.
+   */
+  @Override
+  public boolean isOpen() {
+    return receiver != null;
+  }
+
+  /**
+   * Delivers bytes to the receiver as if the device had sent them.
+   * @param buffer bytes to be sent.
+   * @param length number of bytes in buffer to send.
+   * @return Number of bytes successfully written otherwise return -1 for error.
+   */
+  @Override
+  public int write( byte[] buffer, int length ) {
+    synchronized( lock ) {
+      Receiver destination = receiver;
+      if( destination == null ) return -1;
+      destination.bytesReceived( buffer, length );
+      return length;
+    }
+  }
+
+  /**
+   * Line rate of the connection.
+   * @return 0, the loopback has no line rate.
+   */
+  @Override
+  public int getBaudRate() {
+    return 0;
+  }
+
+  /**
+   * Name of the loopback.
+   * @return loopback name.
+   */
+  @Override
+  public String getName() {
+    return NAME;
+  }
+}
@@ -0,0 +1,202 @@
+/**
+ * Jose Jimenez-Olivas
+ * Brandon Cramer
+ * Email: jjj023@ucsd.edu
+ *
+ *                 University of California, San Diego
+ *                           IEEE Micromouse
+ *
+ * File Name:   MazeUploader.java
+ * Description: Uploads a serialized maze to the micromouse in checksummed
+ *              Periscope chunks with acknowledgements and retransmission.
+ */
+
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * MazeUploader streams a bulk transfer as TYPE_MAZE_CHUNK frames and waits
+ * for TYPE_MAZE_ACK frames (see PeriscopeFrame). Up to WINDOW chunks are in
+ * flight at once. A repeated acknowledgement means a chunk was lost or
+ * corrupted, and silence for ACK_TIMEOUT means chunks or acknowledgements
+ * were lost; either way every chunk after the last acknowledged byte is sent
+ * again (go-back-N). The upload fails after MAX_RETRIES timeouts without
+ * progress.
+ */
+public class MazeUploader implements ActionListener, Runnable {
+  public static final int WINDOW = 4;            /* chunks */
+  public static final long ACK_TIMEOUT = 200;    /* milliseconds */
+  public static final int MAX_RETRIES = 10;
+
+  private static final AtomicInteger transferCount = new AtomicInteger();
+  private static final long NANOS_PER_MILLI = 1000000L;
+
+  private final SerialRoute route;
+  private final byte[] data;
+  private final Runnable onUpdate;
+  private final int transfer = transferCount.getAndIncrement() & 0xFF;
+  private final PeriscopeFrame ackFrame = new PeriscopeFrame();
+  private final byte[] frame = new byte[ PeriscopeFrame.MAX_FRAME_SIZE ];
+  private final int windowBytes;
+
+  private int acknowledged = 0;    /* bytes the micromouse received in order */
+  private int next = 0;            /* next byte to send */
+  private int rewound = -1;        /* acknowledged when chunks were last resent */
+  private boolean resend = false;
+  private int retries = 0;
+  private int retransmits = 0;
+  private boolean done = false;
+  private boolean success = false;
+  private long start_nanos = 0;
+  private long end_nanos = 0;
+
+  /**
+   * Creates an upload.
+   * @param route connected route of the micromouse.
+   * @param data bytes to transfer, e.g. from Maze.serialize.
+   * @param onUpdate called after every acknowledgement and once the upload
+   *                 finished, from the upload or dispatch thread.
+   * @return Nothing.
+   */
+  public MazeUploader( SerialRoute route, byte[] data, Runnable onUpdate ) {
+    this.route = route;
+    this.data = data;
+    this.onUpdate = onUpdate;
+    /* every chunk but the last is full */
+    windowBytes = WINDOW * Math.max( 1, PeriscopeFrame.writeMazeChunk(frame, 0, transfer, data, 0) );
+  }
+
+  /**
+   * Starts the upload on a background thread.
+   * @return Nothing.
+   */
+  public void start() {
+    Thread thread = new Thread( this, "MazeUploader" );
+    thread.setDaemon( true );
+    thread.start();
+  }
+
+  /**
+   * Upload loop - keeps the window full and resends on loss.
+   * @return Nothing.
+   */
+  @Override
+  public void run() {
+    route.addActionListener( this );
+    synchronized( this ) {
+      start_nanos = System.nanoTime();
+      try {
+        while( acknowledged < data.length && retries <= MAX_RETRIES ) {
+          if( resend ) {
+            /* go back to the first unacknowledged byte */
+            resend = false;
+            retransmits++;
+            next = acknowledged;
+          }
+          while( next < data.length && next - acknowledged < windowBytes ) {
+            int count = PeriscopeFrame.writeMazeChunk( frame, 0, transfer, data, next );
+            if( route.sendBytes(frame, PeriscopeFrame.getFrameSize(frame, 0, frame.length)) < 0 ) break; /* outbound queue full */
+            next += count;
+          }
+
+          int before = acknowledged;
+          long wait_nanos = System.nanoTime();
+          wait( ACK_TIMEOUT );
+          boolean timed_out = System.nanoTime() - wait_nanos >= ACK_TIMEOUT * NANOS_PER_MILLI;
+          if( acknowledged == before && !resend && timed_out ) {
+            /* nothing heard back - acknowledgement or chunks lost */
+            retries++;
+            resend = true;
+          }
+        }
+      }
+      catch( InterruptedException e ) {
+        Thread.currentThread().interrupt();
+      }
+      success = acknowledged == data.length;
+      done = true;
+      end_nanos = System.nanoTime();
+    }
+    route.removeActionListener( this );
+    onUpdate.run();
+  }
+
+  /**
+   * Handles acknowledgements - called on the dispatch thread of the route.
+   * @param evt Event that was fired by SerialRoute when data is recieved.
+   * @return Nothing.
+   */
+  @Override
+  public void actionPerformed( ActionEvent evt ) {
+    SerialRouteEvent serialEvt = (SerialRouteEvent) evt;
+    if( !PeriscopeFrame.isBinary(serialEvt.getReceivedBytes()) ) return;
+    if( !ackFrame.parse(serialEvt.getReceivedBytes()) ) return;
+    if( ackFrame.getType() != PeriscopeFrame.TYPE_MAZE_ACK || ackFrame.getTransfer() != transfer ) return;
+
+    synchronized( this ) {
+      int received = ackFrame.getTransferOffset();
+      if( received > acknowledged && received <= data.length ) {
+        /* progress */
+        acknowledged = received;
+        retries = 0;
+      }
+      else if( received == acknowledged && next > acknowledged && rewound != acknowledged ) {
+        /* repeated acknowledgement - resend once per lost chunk */
+        rewound = acknowledged;
+        resend = true;
+      }
+      notifyAll();
+    }
+    onUpdate.run();
+  }
+
+  /**
+   * Number of bytes the micromouse acknowledged.
+   * @return acknowledged bytes.
+   */
+  public synchronized int getAcknowledgedBytes() {
+    return acknowledged;
+  }
+
+  /**
+   * Size of the upload.
+   * @return total bytes.
+   */
+  public int getTotalBytes() {
+    return data.length;
+  }
+
+  /**
+   * Number of times unacknowledged chunks were sent again.
+   * @return retransmissions.
+   */
+  public synchronized int getRetransmitCount() {
+    return retransmits;
+  }
+
+  /**
+   * Checks if the upload finished, successfully or not.
+   * @return true once the upload thread ended.
+   */
+  public synchronized boolean isDone() {
+    return done;
+  }
+
+  /**
+   * Checks if every byte was acknowledged.
+   * @return true if the upload succeeded.
+   */
+  public synchronized boolean isSuccessful() {
+    return success;
+  }
+
+  /**
+   * Time from the first chunk until the upload finished.
+   * @return milliseconds, or the time so far while uploading.
+   */
+  public synchronized long getElapsedMillis() {
+    long end = done ? end_nanos : System.nanoTime();
+    return (end - start_nanos) / NANOS_PER_MILLI;
+  }
+}
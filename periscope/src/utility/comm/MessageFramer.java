@@ -0,0 +1,172 @@
+/**
+ * Jose Jimenez-Olivas
+ * Brandon Cramer
+ * Email: jjj023@ucsd.edu
+ *
+ *                 University of California, San Diego
+ *                           IEEE Micromouse
+ *
+ * File Name:   MessageFramer.java
+ * Description: Splits a raw serial byte stream into delimited messages using
+ *              a single reusable buffer.
+ */
+
+import java.nio.ByteBuffer;
+
+/**
+ * MessageFramer accumulates received bytes and hands out each "\r\n"
+ * terminated message as a view into its buffer. Bytes are scanned for the
+ * delimiter exactly once and are never copied, except for the trailing
+ * partial message that is moved to the front of the buffer on the next feed.
+ * Messages that start with the Periscope binary preamble are framed by their
+ * length field instead, since their payload may contain the delimiter. A
+ * frame whose CRC does not match is dropped: its first byte is skipped and
+ * the bytes up to the next preamble, or through the next delimiter, are
+ * discarded, so a corrupted length byte loses one message instead of
+ * desynchronizing the stream.
+ */
+public class MessageFramer {
+  private static final int INITIAL_CAPACITY = 1024;
+  private static final int MAX_CAPACITY = 1 << 16;
+  private static final byte CARRIAGE_RETURN = '\r';
+  private static final byte LINE_FEED = '\n';
+
+  private ByteBuffer buffer = ByteBuffer.allocate( INITIAL_CAPACITY );
+  private int start = 0; /* first byte of the current message */
+  private int scan = 0;  /* next byte to check for the delimiter */
+  private boolean resync = false; /* discarding bytes after a corrupted frame */
+  private int corrupted = 0;      /* frames dropped since pollCorruptedCount */
+
+  /**
+   * Appends received bytes to the stream. Messages returned by next() are
+   * invalid after this call.
+   * @param data bytes received from the port.
+   * @param length number of valid bytes in data.
+   * @return Nothing.
+   */
+  public void feed( byte[] data, int length ) {
+    if( start > 0 ) {
+      /* discard framed messages - keep partial message */
+      buffer.flip();
+      buffer.position( start );
+      buffer.compact();
+      scan -= start;
+      start = 0;
+    }
+    if( buffer.position() + length > MAX_CAPACITY ) {
+      /* delimiter never arrived - drop the runaway message */
+      System.err.println( "MessageFramer: message exceeds " + MAX_CAPACITY + " bytes, discarding" );
+      buffer.clear();
+      scan = 0;
+      if( length > MAX_CAPACITY ) return;
+    }
+    if( buffer.remaining() < length ) {
+      /* grow to fit message */
+      int capacity = buffer.capacity();
+      while( capacity < buffer.position() + length ) capacity *= 2;
+      ByteBuffer grown = ByteBuffer.allocate( capacity );
+      buffer.flip();
+      grown.put( buffer );
+      buffer = grown;
+    }
+    buffer.put( data, 0, length );
+  }
+
+  /**
+   * Gets the next complete message without its delimiter.
+   * @return buffer whose position and limit bound the message, valid until
+   *         the next call to feed(); null if no complete message is buffered.
+   */
+  public ByteBuffer next() {
+    byte[] array = buffer.array();
+    int end = buffer.position();
+
+    while( true ) {
+      if( resync && !resync(array, end) ) return null;
+      if( end - start >= 2 && array[ start ] == PeriscopeFrame.PREAMBLE_HIGH && array[ start + 1 ] == PeriscopeFrame.PREAMBLE_LOW ) {
+        /* binary frame - length delimited */
+        int size = PeriscopeFrame.getFrameSize( array, start, end - start );
+        if( size < 0 || end - start < size ) return null;
+        if( !PeriscopeFrame.hasValidCrc(array, start, size) ) {
+          /* corrupted length or stray preamble - skip a byte and find the next message */
+          corrupted++;
+          start = scan = start + 1;
+          resync = true;
+          continue;
+        }
+        ByteBuffer frame = view( start, start + size );
+        start = scan = start + size;
+        return frame;
+      }
+
+      /* text message - delimiter terminated */
+      scan = Math.max( scan, start );
+      while( scan + 1 < end && !(array[ scan ] == CARRIAGE_RETURN && array[ scan + 1 ] == LINE_FEED) ) scan++;
+      if( scan + 1 >= end ) return null;
+      int message_start = start;
+      int message_end = scan;
+      start = scan = scan + 2;
+      if( message_end > message_start ) return view( message_start, message_end );
+      /* empty line - keep looking */
+    }
+  }
+
+  /**
+   * Discards bytes after a corrupted frame up to the next preamble, or up to
+   * and including the next delimiter. The last byte is kept until the byte
+   * after it arrives, since it may start either of them.
+   * @param array buffered bytes.
+   * @param end index one past the last buffered byte.
+   * @return true once the next message starts at start, false if more bytes are needed.
+   */
+  private boolean resync( byte[] array, int end ) {
+    for( ; start + 1 < end; start++ ) {
+      if( array[ start ] == PeriscopeFrame.PREAMBLE_HIGH && array[ start + 1 ] == PeriscopeFrame.PREAMBLE_LOW ) {
+        resync = false;
+        break;
+      }
+      if( array[ start ] == CARRIAGE_RETURN && array[ start + 1 ] == LINE_FEED ) {
+        start += 2;
+        resync = false;
+        break;
+      }
+    }
+    scan = start;
+    return !resync;
+  }
+
+  /**
+   * Gets the number of binary frames dropped for a bad CRC since the last
+   * call - called on the same thread as next().
+   * @return number of corrupted frames.
+   */
+  public int pollCorruptedCount() {
+    int count = corrupted;
+    corrupted = 0;
+    return count;
+  }
+
+  /**
+   * Creates a view of a range of the buffer without copying.
+   * @param from index of the first byte.
+   * @param to index one past the last byte.
+   * @return buffer whose position and limit bound the range.
+   */
+  private ByteBuffer view( int from, int to ) {
+    ByteBuffer message = buffer.duplicate();
+    message.limit( to );
+    message.position( from );
+    return message;
+  }
+
+  /**
+   * Discards all buffered bytes, e.g. when a port is reconnected.
+   * @return Nothing.
+   */
+  public void reset() {
+    buffer.clear();
+    start = 0;
+    scan = 0;
+    resync = false;
+  }
+}
@@ -0,0 +1,149 @@
+/**
+ * Jose Jimenez-Olivas
+ * Brandon Cramer
+ * Email: jjj023@ucsd.edu
+ *
+ *                 University of California, San Diego
+ *                           IEEE Micromouse
+ *
+ * File Name:   MessageQueue.java
+ * Description: Bounded single-producer/single-consumer queue of serial
+ *              messages backed by preallocated byte slots.
+ */
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * MessageQueue hands messages from the serial reader thread to a single
+ * dispatch thread. Messages are copied into a ring of reusable slots, so the
+ * reader never waits on listeners and no memory is allocated per message. If
+ * the ring is full the newest message is dropped and counted. Exactly one
+ * thread may call offer() and exactly one other thread may call await(),
+ * peek() and release().
+ */
+public class MessageQueue {
+  private static final int SLOT_SIZE = 256;
+
+  private final byte[][] slots;
+  private final ByteBuffer[] views;
+  private final long[] timestamps;
+  private final int mask;
+  private volatile long head = 0; /* next slot to consume - consumer writes */
+  private volatile long tail = 0; /* next slot to produce - producer writes */
+  private volatile long dropped = 0;
+  private volatile Thread waiter = null;
+
+  /**
+   * Creates a queue with preallocated slots.
+   * @param capacity number of slots, rounded up to a power of two.
+   * @return Nothing.
+   */
+  public MessageQueue( int capacity ) {
+    int size = Integer.highestOneBit( Math.max(1, capacity - 1) ) << 1;
+    slots = new byte[ size ][];
+    views = new ByteBuffer[ size ];
+    timestamps = new long[ size ];
+    mask = size - 1;
+    for( int index = 0; index < size; index++ ) {
+      slots[ index ] = new byte[ SLOT_SIZE ];
+      views[ index ] = ByteBuffer.wrap( slots[index] );
+    }
+  }
+
+  /**
+   * Copies a message into the next free slot - producer thread only.
+   * @param message buffer whose position and limit bound the message.
+   * @param timestamp System.nanoTime() when the message was received.
+   * @return true if the message was queued, false if the queue was full.
+   */
+  public boolean offer( ByteBuffer message, long timestamp ) {
+    long position = tail;
+    if( position - head > mask ) {
+      /* consumer is behind - drop newest */
+      dropped++;
+      return false;
+    }
+    int index = (int)( position & mask );
+    int length = message.remaining();
+    if( slots[ index ].length < length ) {
+      /* grow slot to fit message */
+      slots[ index ] = new byte[ Math.max(length, 2 * slots[ index ].length) ];
+      views[ index ] = ByteBuffer.wrap( slots[index] );
+    }
+    message.duplicate().get( slots[ index ], 0, length );
+    views[ index ].limit( length ).position( 0 );
+    timestamps[ index ] = timestamp;
+    tail = position + 1;
+
+    Thread consumer = waiter;
+    if( consumer != null ) LockSupport.unpark( consumer );
+    return true;
+  }
+
+  /**
+   * Blocks until at least one message is queued - consumer thread only.
+   * @return Nothing.
+   * @throws InterruptedException if the consumer is interrupted while waiting.
+   */
+  public void await() throws InterruptedException {
+    while( head == tail ) {
+      waiter = Thread.currentThread();
+      /* re-check after publishing the waiter so a wakeup is never missed */
+      if( head == tail ) LockSupport.park( this );
+      waiter = null;
+      if( Thread.interrupted() ) throw new InterruptedException();
+    }
+  }
+
+  /**
+   * Gets the oldest message without removing it - consumer thread only.
+   * @return buffer whose position and limit bound the message, valid until
+   *         release() is called; null if the queue is empty.
+   */
+  public ByteBuffer peek() {
+    long position = head;
+    if( position == tail ) return null;
+    return views[ (int)(position & mask) ];
+  }
+
+  /**
+   * Gets the receive time of the message returned by peek() - consumer thread only.
+   * @return System.nanoTime() when the message was received.
+   */
+  public long peekTimestamp() {
+    return timestamps[ (int)(head & mask) ];
+  }
+
+  /**
+   * Frees the slot of the message returned by peek() - consumer thread only.
+   * @return Nothing.
+   */
+  public void release() {
+    if( head != tail ) head = head + 1;
+  }
+
+  /**
+   * Number of messages waiting to be consumed.
+   * @return current queue depth.
+   */
+  public int size() {
+    return (int)( tail - head );
+  }
+
+  /**
+   * Maximum number of messages the queue holds.
+   * @return number of slots.
+   */
+  public int getCapacity() {
+    return slots.length;
+  }
+
+  /**
+   * Number of messages dropped because the queue was full.
+   * @return total dropped messages.
+   */
+  public long getDroppedCount() {
+    return dropped;
+  }
+}
@@ -0,0 +1,344 @@
+/**
+ * Jose Jimenez-Olivas
+ * Brandon Cramer
+ * Email: jjj023@ucsd.edu
+ *
+ *                 University of California, San Diego
+ *                           IEEE Micromouse
+ *
+ * File Name:   OutboundQueue.java
+ * Description: Asynchronous, flow-controlled queue of commands sent from the
+ *              simulator to the micromouse.
+ */
+
+/**
+ * OutboundQueue lets any thread queue commands without waiting on the port.
+ * Commands are copied into a ring of bytes and written by one background
+ * thread, which coalesces every queued command that fits into a single write.
+ *
+ * With a window of N, at most N commands are in flight: commands are only
+ * written while fewer than N were sent without being acknowledged by the
+ * micromouse. A window of 0 never waits for acknowledgements. If no
+ * acknowledgement arrives for ACK_TIMEOUT the window is reopened, so a
+ * micromouse that stops answering cannot stall the queue for good.
+ */
+public class OutboundQueue implements Runnable {
+  public static final int CAPACITY = 1 << 16;  /* bytes */
+  public static final int MAX_COMMANDS = 4096;
+  public static final long ACK_TIMEOUT = 1000000000L; /* nanoseconds */
+
+  private static final int MAX_WRITE = 4096; /* bytes per coalesced write */
+  private static final long NANOS_PER_MILLI = 1000000L;
+
+  /**
+   * Destination of the coalesced writes.
+   */
+  public interface Writer {
+    /**
+     * Writes bytes to the device.
+     * @param buffer bytes to be sent.
+     * @param length number of bytes in buffer to send.
+     * @return Number of bytes successfully written otherwise return -1 for error.
+     */
+    int write( byte[] buffer, int length );
+  }
+
+  private final Writer writer;
+  private final byte[] ring = new byte[ CAPACITY ];
+  private final int[] commandLengths = new int[ MAX_COMMANDS ];
+  private final byte[] writeBuffer = new byte[ CAPACITY ];
+  private int head = 0;          /* first queued byte */
+  private int used = 0;          /* queued bytes */
+  private int firstCommand = 0;  /* first queued command length */
+  private int commands = 0;      /* queued commands */
+  private int window = 0;
+  private int inFlight = 0;
+  private long ack_nanos = 0;    /* last write or acknowledgement while waiting */
+  private boolean writing = false;
+  private Thread thread = null;
+
+  private long bytesWritten = 0;
+  private long commandsWritten = 0;
+  private long writes = 0;
+  private long dropped = 0;
+  private long failed = 0;
+  private long timeouts = 0;
+  private long write_nanos = 0;  /* time spent inside writes */
+
+  /**
+   * Creates a queue - call start() before sending.
+   * @param writer destination of the coalesced writes.
+   * @return Nothing.
+   */
+  public OutboundQueue( Writer writer ) {
+    this.writer = writer;
+  }
+
+  /**
+   * Starts the background writer thread.
+   * @param name name of the thread.
+   * @return Nothing.
+   */
+  public synchronized void start( String name ) {
+    thread = new Thread( this, name );
+    thread.setDaemon( true );
+    thread.start();
+  }
+
+  /**
+   * Stops the background writer thread; queued commands are discarded.
+   * @return Nothing.
+   */
+  public synchronized void stop() {
+    if( thread != null ) thread.interrupt();
+    thread = null;
+  }
+
+  /**
+   * Queues one command followed by a delimiter - never blocks.
+   * @param command bytes of the command.
+   * @param length number of bytes of command to send.
+   * @param delimiter bytes appended to the command, may be empty.
+   * @return true if the command was queued, false if the queue was full.
+   */
+  public synchronized boolean offer( byte[] command, int length, byte[] delimiter ) {
+    int size = length + delimiter.length;
+    if( size > CAPACITY - used || commands == MAX_COMMANDS ) {
+      dropped++;
+      return false;
+    }
+    put( command, length );
+    put( delimiter, delimiter.length );
+    commandLengths[ (firstCommand + commands) % MAX_COMMANDS ] = size;
+    commands++;
+    notifyAll();
+    return true;
+  }
+
+  /**
+   * Releases window slots for commands the micromouse acknowledged.
+   * @param count number of acknowledged commands.
+   * @return Nothing.
+   */
+  public synchronized void acknowledge( int count ) {
+    inFlight = Math.max( 0, inFlight - count );
+    ack_nanos = System.nanoTime();
+    notifyAll();
+  }
+
+  /**
+   * Discards queued commands and forgets commands in flight, e.g. after
+   * connecting to another device.
+   * @return Nothing.
+   */
+  public synchronized void clear() {
+    head = used = 0;
+    firstCommand = commands = 0;
+    inFlight = 0;
+    notifyAll();
+  }
+
+  /**
+   * Waits until every queued command was written and, with a window,
+   * acknowledged.
+   * @param timeout_millis longest time to wait.
+   * @return true if the queue drained, false on timeout.
+   * @throws InterruptedException if the caller is interrupted while waiting.
+   */
+  public synchronized boolean drain( long timeout_millis ) throws InterruptedException {
+    long deadline = System.nanoTime() + timeout_millis * NANOS_PER_MILLI;
+    while( commands > 0 || writing || (window > 0 && inFlight > 0) ) {
+      long remaining = deadline - System.nanoTime();
+      if( remaining <= 0 ) return false;
+      wait( Math.max(1, remaining / NANOS_PER_MILLI) );
+    }
+    return true;
+  }
+
+  /**
+   * Sets the maximum number of unacknowledged commands.
+   * @param window commands in flight, 0 to never wait for acknowledgements.
+   * @return Nothing.
+   */
+  public synchronized void setWindow( int window ) {
+    this.window = Math.max( 0, window );
+    notifyAll();
+  }
+
+  /**
+   * Maximum number of unacknowledged commands.
+   * @return window size, 0 if acknowledgements are not awaited.
+   */
+  public synchronized int getWindow() {
+    return window;
+  }
+
+  /**
+   * Writer thread loop - writes as many queued commands at once as the
+   * window and MAX_WRITE allow.
+   * @return Nothing.
+   */
+  @Override
+  public void run() {
+    try {
+      while( true ) {
+        int length = takeBatch();
+        long start = System.nanoTime();
+        int remaining = length;
+        while( remaining > 0 ) {
+          int result = writer.write( writeBuffer, remaining );
+          if( result <= 0 ) break;
+          remaining -= result;
+          /* port accepted part of the write - move the rest to the front */
+          System.arraycopy( writeBuffer, result, writeBuffer, 0, remaining );
+        }
+        finishBatch( length - remaining, length, System.nanoTime() - start );
+      }
+    }
+    catch( InterruptedException e ) {
+      /* stopped */
+    }
+  }
+
+  /**
+   * Waits for writable commands and copies them into the write buffer.
+   * @return number of bytes to write.
+   * @throws InterruptedException if the writer thread is stopped.
+   */
+  private synchronized int takeBatch() throws InterruptedException {
+    while( commands == 0 || (window > 0 && inFlight >= window) ) {
+      if( commands > 0 && System.nanoTime() - ack_nanos >= ACK_TIMEOUT ) {
+        /* micromouse stopped answering - reopen the window */
+        timeouts++;
+        inFlight = 0;
+        continue;
+      }
+      if( commands > 0 ) wait( ACK_TIMEOUT / NANOS_PER_MILLI );
+      else wait();
+    }
+
+    /* coalesce commands - a command larger than MAX_WRITE goes alone */
+    int length = 0;
+    int batch = 0;
+    while( batch < commands && (window == 0 || inFlight + batch < window) ) {
+      int size = commandLengths[ (firstCommand + batch) % MAX_COMMANDS ];
+      if( length > 0 && length + size > MAX_WRITE ) break;
+      length += size;
+      batch++;
+    }
+    int first = Math.min( length, CAPACITY - head );
+    System.arraycopy( ring, head, writeBuffer, 0, first );
+    System.arraycopy( ring, 0, writeBuffer, first, length - first );
+    head = (head + length) % CAPACITY;
+    used -= length;
+    firstCommand = (firstCommand + batch) % MAX_COMMANDS;
+    commands -= batch;
+    inFlight += batch;
+    commandsWritten += batch;
+    if( window > 0 ) ack_nanos = System.nanoTime();
+    writing = true;
+    return length;
+  }
+
+  /**
+   * Records the outcome of a write and wakes threads waiting for a drain.
+   * @param sent number of bytes written.
+   * @param length number of bytes that should have been written.
+   * @param nanos time spent writing.
+   * @return Nothing.
+   */
+  private synchronized void finishBatch( int sent, int length, long nanos ) {
+    writes++;
+    bytesWritten += sent;
+    write_nanos += nanos;
+    if( sent < length ) failed++;
+    writing = false;
+    notifyAll();
+  }
+
+  /**
+   * Appends bytes to the ring - caller holds the lock and checked the space.
+   * @param bytes bytes to be appended.
+   * @param length number of bytes to append.
+   * @return Nothing.
+   */
+  private void put( byte[] bytes, int length ) {
+    int tail = (head + used) % CAPACITY;
+    int first = Math.min( length, CAPACITY - tail );
+    System.arraycopy( bytes, 0, ring, tail, first );
+    System.arraycopy( bytes, first, ring, 0, length - first );
+    used += length;
+  }
+
+  /**
+   * Number of commands waiting to be written.
+   * @return queued commands.
+   */
+  public synchronized int getQueuedCount() {
+    return commands;
+  }
+
+  /**
+   * Number of written commands not acknowledged yet.
+   * @return commands in flight.
+   */
+  public synchronized int getInFlightCount() {
+    return inFlight;
+  }
+
+  /**
+   * Total bytes written to the device.
+   * @return bytes written.
+   */
+  public synchronized long getBytesWritten() {
+    return bytesWritten;
+  }
+
+  /**
+   * Total commands written to the device.
+   * @return commands written.
+   */
+  public synchronized long getCommandsWritten() {
+    return commandsWritten;
+  }
+
+  /**
+   * Number of writes the commands were coalesced into.
+   * @return writes issued.
+   */
+  public synchronized long getWriteCount() {
+    return writes;
+  }
+
+  /**
+   * Time spent inside writes to the device.
+   * @return nanoseconds.
+   */
+  public synchronized long getWriteNanos() {
+    return write_nanos;
+  }
+
+  /**
+   * Number of commands dropped because the queue was full.
+   * @return dropped commands.
+   */
+  public synchronized long getDroppedCount() {
+    return dropped;
+  }
+
+  /**
+   * Number of writes the device did not fully accept.
+   * @return failed writes.
+   */
+  public synchronized long getFailedWriteCount() {
+    return failed;
+  }
+
+  /**
+   * Number of times the window was reopened without acknowledgements.
+   * @return acknowledgement timeouts.
+   */
+  public synchronized long getAckTimeoutCount() {
+    return timeouts;
+  }
+}
@@ -0,0 +1,352 @@
+/**
+ * Jose Jimenez-Olivas
+ * Brandon Cramer
+ * Email: jjj023@ucsd.edu
+ *
+ *                 University of California, San Diego
+ *                           IEEE Micromouse
+ *
+ * File Name:   PeriscopeStats.java
+ * Description: Lock-free statistics of a Periscope link - throughput, parse
+ *              failures, queue depth and receive-to-paint latency.
+ */
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * PeriscopeStats is updated by the transport reader, dispatch and paint
+ * threads of a route without taking locks: counters are LongAdders and
+ * latencies are counted in a histogram of atomic buckets. Buckets are
+ * log-linear like HdrHistogram - every power of two is split into
+ * SUB_BUCKETS buckets - so any latency is reported within 1/SUB_BUCKETS of
+ * its value. Rates and percentiles are computed when read, at most once per
+ * SAMPLE_INTERVAL, from the difference to the previous sample.
+ */
+public class PeriscopeStats implements PeriscopeStatsMBean {
+  public static final long SAMPLE_INTERVAL = 1000000000L; /* nanoseconds */
+
+  private static final String DOMAIN = "Micromouse";
+  private static final int SUB_BUCKET_BITS = 3;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+  private static final double NANOS_PER_MILLI = 1e6;
+  private static final double NANOS_PER_SECOND = 1e9;
+
+  private final SerialRoute route;
+  private final LongAdder bytes = new LongAdder();
+  private final LongAdder messages = new LongAdder();
+  private final LongAdder failures = new LongAdder();
+  private final AtomicLongArray latencies = new AtomicLongArray( BUCKETS );
+  private ObjectName objectName = null;
+
+  /* previous sample - guarded by this */
+  private final long[] sampleLatencies = new long[ BUCKETS ];
+  private final long[] interval = new long[ BUCKETS ];
+  private long sample_nanos = System.nanoTime();
+  private long sample_bytes = 0;
+  private long sample_messages = 0;
+  private double byteRate = 0;
+  private double messageRate = 0;
+  private double median_millis = 0;
+  private double p99_millis = 0;
+  private double max_millis = 0;
+
+  /**
+   * Creates the statistics of a route.
+   * @param route route whose dispatch queue depth is reported.
+   * @return Nothing.
+   */
+  public PeriscopeStats( SerialRoute route ) {
+    this.route = route;
+  }
+
+  /**
+   * Counts bytes received from the port - called on the reader thread.
+   * @param length number of bytes received.
+   * @return Nothing.
+   */
+  public void recordBytes( int length ) {
+    bytes.add( length );
+  }
+
+  /**
+   * Counts a framed message - called on the reader thread.
+   * @return Nothing.
+   */
+  public void recordMessage() {
+    messages.increment();
+  }
+
+  /**
+   * Counts a Periscope message that could not be parsed.
+   * @return Nothing.
+   */
+  public void recordParseFailure() {
+    failures.increment();
+  }
+
+  /**
+   * Counts the time from receiving a message until it was painted.
+   * @param nanos latency in nanoseconds.
+   * @return Nothing.
+   */
+  public void recordLatency( long nanos ) {
+    latencies.incrementAndGet( getBucket(Math.max(0, nanos)) );
+  }
+
+  /**
+   * Counts the time until it was painted for every message applied since the
+   * last paint. Only the oldest and newest receive times are kept, so the
+   * messages between them are taken as received at even intervals.
+   * @param oldest_nanos latency of the oldest message in nanoseconds.
+   * @param newest_nanos latency of the newest message in nanoseconds.
+   * @param count number of messages painted, at least 1.
+   * @return Nothing.
+   */
+  public void recordLatencies( long oldest_nanos, long newest_nanos, int count ) {
+    if( count <= 1 ) {
+      recordLatency( oldest_nanos );
+      return;
+    }
+    for( int message = 0; message < count; message++ ) {
+      recordLatency( oldest_nanos - (oldest_nanos - newest_nanos) * message / (count - 1) );
+    }
+  }
+
+  /**
+   * Registers the statistics with the platform MBean server, so they can be
+   * watched with jconsole.
+   * @param name name of the route, unique within the program.
+   * @return Nothing.
+   */
+  public synchronized void register( String name ) {
+    try {
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      objectName = new ObjectName( DOMAIN + ":type=PeriscopeStats,name=" + ObjectName.quote(name) );
+      server.registerMBean( this, objectName );
+    }
+    catch( JMException e ) {
+      System.err.println( "Periscope statistics not registered: " + e.getMessage() );
+      objectName = null;
+    }
+  }
+
+  /**
+   * Removes the statistics from the platform MBean server.
+   * @return Nothing.
+   */
+  public synchronized void unregister() {
+    if( objectName == null ) return;
+    try {
+      ManagementFactory.getPlatformMBeanServer().unregisterMBean( objectName );
+    }
+    catch( JMException e ) {
+      /* already gone */
+    }
+    objectName = null;
+  }
+
+  /**
+   * Total bytes received from the micromouse.
+   * @return received bytes.
+   */
+  @Override
+  public long getBytesReceived() {
+    return bytes.sum();
+  }
+
+  /**
+   * Total messages received from the micromouse.
+   * @return received messages.
+   */
+  @Override
+  public long getMessagesReceived() {
+    return messages.sum();
+  }
+
+  /**
+   * Total Periscope messages that could not be parsed.
+   * @return malformed messages.
+   */
+  @Override
+  public long getParseFailures() {
+    return failures.sum();
+  }
+
+  /**
+   * Total received messages dropped because listeners fell behind.
+   * @return dropped messages.
+   */
+  @Override
+  public long getDroppedMessages() {
+    return route.getDroppedMessageCount();
+  }
+
+  /**
+   * Number of received messages waiting to be dispatched.
+   * @return current depth of the dispatch queue.
+   */
+  @Override
+  public int getQueueDepth() {
+    return route.getQueueDepth();
+  }
+
+  /**
+   * Bytes received per second.
+   * @return byte rate of the last sample interval.
+   */
+  @Override
+  public synchronized double getBytesPerSecond() {
+    sample();
+    return byteRate;
+  }
+
+  /**
+   * Messages received per second.
+   * @return message rate of the last sample interval.
+   */
+  @Override
+  public synchronized double getMessagesPerSecond() {
+    sample();
+    return messageRate;
+  }
+
+  /**
+   * Median time from receiving a message until it was painted.
+   * @return milliseconds, over the last sample interval.
+   */
+  @Override
+  public synchronized double getLatencyMedianMillis() {
+    sample();
+    return median_millis;
+  }
+
+  /**
+   * 99th percentile of the time from receiving a message until it was painted.
+   * @return milliseconds, over the last sample interval.
+   */
+  @Override
+  public synchronized double getLatency99Millis() {
+    sample();
+    return p99_millis;
+  }
+
+  /**
+   * Longest time from receiving a message until it was painted.
+   * @return milliseconds, over the last sample interval.
+   */
+  @Override
+  public synchronized double getLatencyMaxMillis() {
+    sample();
+    return max_millis;
+  }
+
+  /**
+   * Clears every counter and the latency histogram.
+   * @return Nothing.
+   */
+  @Override
+  public synchronized void reset() {
+    bytes.reset();
+    messages.reset();
+    failures.reset();
+    for( int bucket = 0; bucket < BUCKETS; bucket++ ) {
+      latencies.set( bucket, 0 );
+      sampleLatencies[ bucket ] = 0;
+    }
+    sample_nanos = System.nanoTime();
+    sample_bytes = sample_messages = 0;
+    byteRate = messageRate = 0;
+    median_millis = p99_millis = max_millis = 0;
+  }
+
+  /**
+   * One line summary for the Periscope panel.
+   * @return rates, failures, queue and latency of the last sample interval.
+   */
+  @Override
+  public synchronized String toString() {
+    sample();
+    return String.format( "%6.1f kB/s %6.0f msg/s  fail %d  queue %d  drop %d  lag p50 %5.1f p99 %5.1f max %5.1f ms",
+                          byteRate / 1000, messageRate, getParseFailures(), getQueueDepth(), getDroppedMessages(),
+                          median_millis, p99_millis, max_millis );
+  }
+
+  /**
+   * Computes rates and latency percentiles of the interval since the last
+   * sample, once the sample interval passed - caller holds the lock.
+   * @return Nothing.
+   */
+  private void sample() {
+    long now = System.nanoTime();
+    long elapsed = now - sample_nanos;
+    if( elapsed < SAMPLE_INTERVAL ) return;
+
+    long total_bytes = bytes.sum();
+    long total_messages = messages.sum();
+    byteRate = (total_bytes - sample_bytes) * NANOS_PER_SECOND / elapsed;
+    messageRate = (total_messages - sample_messages) * NANOS_PER_SECOND / elapsed;
+    sample_bytes = total_bytes;
+    sample_messages = total_messages;
+    sample_nanos = now;
+
+    /* latencies painted during the interval */
+    long count = 0;
+    for( int bucket = 0; bucket < BUCKETS; bucket++ ) {
+      long total = latencies.get( bucket );
+      interval[ bucket ] = total - sampleLatencies[ bucket ];
+      sampleLatencies[ bucket ] = total;
+      count += interval[ bucket ];
+    }
+    median_millis = getPercentile( count, 0.50 ) / NANOS_PER_MILLI;
+    p99_millis = getPercentile( count, 0.99 ) / NANOS_PER_MILLI;
+    max_millis = getPercentile( count, 1.0 ) / NANOS_PER_MILLI;
+  }
+
+  /**
+   * Finds a percentile of the interval histogram - caller holds the lock.
+   * @param count number of latencies in the interval.
+   * @param fraction percentile between 0 and 1.
+   * @return highest latency of the bucket holding the percentile, 0 if empty.
+   */
+  private long getPercentile( long count, double fraction ) {
+    if( count == 0 ) return 0;
+    long rank = Math.max( 1, (long)Math.ceil(fraction * count) );
+    long seen = 0;
+    for( int bucket = 0; bucket < BUCKETS; bucket++ ) {
+      seen += interval[ bucket ];
+      if( seen >= rank ) return getHighestValue( bucket );
+    }
+    return getHighestValue( BUCKETS - 1 );
+  }
+
+  /**
+   * Maps a latency to its bucket: values below SUB_BUCKETS have a bucket
+   * each, larger values share a bucket with values of the same top
+   * SUB_BUCKET_BITS + 1 bits.
+   * @param value non-negative latency.
+   * @return index of the bucket.
+   */
+  private static int getBucket( long value ) {
+    if( value < SUB_BUCKETS ) return (int) value;
+    int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+    return (shift + 1) * SUB_BUCKETS + (int)( (value >>> shift) & (SUB_BUCKETS - 1) );
+  }
+
+  /**
+   * Largest latency that maps to a bucket.
+   * @param bucket index of the bucket.
+   * @return latency in nanoseconds.
+   */
+  private static long getHighestValue( int bucket ) {
+    if( bucket < SUB_BUCKETS ) return bucket;
+    int shift = bucket / SUB_BUCKETS - 1;
+    long lowest = (long)( SUB_BUCKETS + bucket % SUB_BUCKETS ) << shift;
+    return lowest + (1L << shift) - 1;
+  }
+}
@@ -0,0 +1,84 @@
+/**
+ * Jose Jimenez-Olivas
+ * Brandon Cramer
+ * Email: jjj023@ucsd.edu
+ *
+ *                 University of California, San Diego
+ *                           IEEE Micromouse
+ *
+ * File Name:   PeriscopeStatsMBean.java
+ * Description: JMX management interface of the Periscope link statistics.
+ */
+
+/**
+ * Attributes of a PeriscopeStats object as seen by JMX clients such as
+ * jconsole. Rates and latency percentiles cover the last sample interval.
+ */
+public interface PeriscopeStatsMBean {
+
+  /**
+   * Total bytes received from the micromouse.
+   * @return received bytes.
+   */
+  long getBytesReceived();
+
+  /**
+   * Total messages received from the micromouse.
+   * @return received messages.
+   */
+  long getMessagesReceived();
+
+  /**
+   * Total Periscope messages that could not be parsed.
+   * @return malformed messages.
+   */
+  long getParseFailures();
+
+  /**
+   * Total received messages dropped because listeners fell behind.
+   * @return dropped messages.
+   */
+  long getDroppedMessages();
+
+  /**
+   * Number of received messages waiting to be dispatched.
+   * @return current depth of the dispatch queue.
+   */
+  int getQueueDepth();
+
+  /**
+   * Bytes received per second.
+   * @return byte rate of the last sample interval.
+   */
+  double getBytesPerSecond();
+
+  /**
+   * Messages received per second.
+   * @return message rate of the last sample interval.
+   */
+  double getMessagesPerSecond();
+
+  /**
+   * Median time from receiving a message until it was painted.
+   * @return milliseconds, over the last sample interval.
+   */
+  double getLatencyMedianMillis();
+
+  /**
+   * 99th percentile of the time from receiving a message until it was painted.
+   * @return milliseconds, over the last sample interval.
+   */
+  double getLatency99Millis();
+
+  /**
+   * Longest time from receiving a message until it was painted.
+   * @return milliseconds, over the last sample interval.
+   */
+  double getLatencyMaxMillis();
+
+  /**
+   * Clears every counter and the latency histogram.
+   * @return Nothing.
+   */
+  void reset();
+}
@@ -0,0 +1,196 @@
+/**
+ * Jose Jimenez-Olivas
+ * Brandon Cramer
+ * Email: jjj023@ucsd.edu
+ *
+ *                 University of California, San Diego
+ *                           IEEE Micromouse
+ *
+ * File Name:   PortRegistry.java
+ * Description: Cached list of the serial ports of the machine, kept up to
+ *              date by a background watcher that reports hot-plug events.
+ */
+
+import com.fazecast.jSerialComm.*;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Vector;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.awt.event.ActionListener;
+
+/**
+ * Enumerating serial ports takes tens of milliseconds on machines with many
+ * USB devices, so ports are enumerated once and then only when the device
+ * directory changes. Where /dev can be watched (Linux) device nodes appearing
+ * or disappearing trigger a new enumeration; everywhere else, and as a safety
+ * net for missed events, ports are enumerated every RESCAN_INTERVAL.
+ * Listeners are notified with a PortRegistryEvent on the watcher thread for
+ * every port that was attached or detached.
+ * - Singleton design
+ */
+public class PortRegistry implements Runnable {
+  private static final Path DEVICE_DIRECTORY = Paths.get( "/dev" );
+  private static final long RESCAN_INTERVAL = 5000; /* milliseconds */
+  private static final long SETTLE_DELAY = 100;     /* milliseconds - device nodes come in bursts */
+  private static final PortRegistry instance = new PortRegistry();
+
+  private final List<ActionListener> listenerList = new CopyOnWriteArrayList<ActionListener>();
+  private volatile Map<String, SerialPort> ports;
+  private long enumerations = 0;
+
+  /*
+   * Private constructor for singleton design - enumerates the ports once and
+   * starts the watcher thread.
+   */
+  private PortRegistry() {
+    ports = enumerate();
+    Thread watcher = new Thread( this, "PortRegistry" );
+    watcher.setDaemon( true );
+    watcher.start();
+  }
+
+  /**
+   * Gets single instance of the port registry.
+   * @return The Port Registry object.
+   */
+  public static PortRegistry getInstance() {
+    return instance;
+  }
+
+  /**
+   * Gets the names of the ports attached right now, without enumerating.
+   * @return List of system port names.
+   */
+  public Vector<String> getPortNames() {
+    return new Vector<String>( ports.keySet() );
+  }
+
+  /**
+   * Looks up an attached port by name, without enumerating.
+   * @param portName system port name.
+   * @return port, null if no such port is attached.
+   */
+  public SerialPort getPort( String portName ) {
+    return ports.get( portName );
+  }
+
+  /**
+   * Number of times the ports were enumerated, to verify the cache works.
+   * @return total enumerations.
+   */
+  public synchronized long getEnumerationCount() {
+    return enumerations;
+  }
+
+  /**
+   * Enumerates the ports now and notifies listeners of any change.
+   * @return Nothing.
+   */
+  public synchronized void refresh() {
+    Map<String, SerialPort> previous = ports;
+    Map<String, SerialPort> current = enumerate();
+    ports = current;
+    for( String name : previous.keySet() ) {
+      if( !current.containsKey(name) ) fireActionPerformed( new PortRegistryEvent(this, name, false) );
+    }
+    for( String name : current.keySet() ) {
+      if( !previous.containsKey(name) ) fireActionPerformed( new PortRegistryEvent(this, name, true) );
+    }
+  }
+
+  /**
+   * Watcher thread loop - enumerates after the device directory changed or
+   * the rescan interval passed.
+   * @return Nothing.
+   */
+  @Override
+  public void run() {
+    WatchService watch = null;
+    try {
+      watch = FileSystems.getDefault().newWatchService();
+      DEVICE_DIRECTORY.register( watch, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE );
+    }
+    catch( IOException | UnsupportedOperationException e ) {
+      /* no device directory - rescan on the interval only */
+      watch = null;
+    }
+
+    try {
+      while( true ) {
+        if( watch == null ) {
+          Thread.sleep( RESCAN_INTERVAL );
+        }
+        else {
+          WatchKey key = watch.poll( RESCAN_INTERVAL, TimeUnit.MILLISECONDS );
+          if( key != null ) {
+            /* let the burst of device nodes settle, then enumerate once */
+            Thread.sleep( SETTLE_DELAY );
+            key.pollEvents();
+            key.reset();
+            while( (key = watch.poll()) != null ) {
+              key.pollEvents();
+              key.reset();
+            }
+          }
+        }
+        refresh();
+      }
+    }
+    catch( InterruptedException e ) {
+      /* watcher stopped */
+    }
+  }
+
+  /**
+   * Lists the ports of the machine.
+   * @return ports by system name, in enumeration order.
+   */
+  private synchronized Map<String, SerialPort> enumerate() {
+    enumerations++;
+    Map<String, SerialPort> current = new LinkedHashMap<String, SerialPort>();
+    for( SerialPort commPort : SerialPort.getCommPorts() ) {
+      /* name port as described by the host system */
+      current.put( commPort.getSystemPortName(), commPort );
+    }
+    return current;
+  }
+
+  /**
+   * Notify all listeners that a port was attached or detached.
+   * @param evt PortRegistryEvent of the port.
+   * @return Nothing.
+   */
+  private void fireActionPerformed( PortRegistryEvent evt ) {
+    for( ActionListener listener : listenerList ) {
+      /* notify all action listeners of new event */
+      listener.actionPerformed( evt );
+    }
+  }
+
+  /**
+   * Adds new action listener for hot-plug events.
+   * @param listener Action listener object notified on the watcher thread.
+   * @return Nothing.
+   */
+  public void addActionListener( ActionListener listener ) {
+    listenerList.add( listener );
+  }
+
+  /**
+   * Removes an action listener.
+   * @param listener listener object that was previosly listening.
+   * @return Nothing.
+   */
+  public void removeActionListener( ActionListener listener ) {
+    listenerList.remove( listener );
+  }
+}
@@ -0,0 +1,52 @@
+/**
+ * Jose Jimenez-Olivas
+ * Brandon Cramer
+ * Email: jjj023@ucsd.edu
+ *
+ *                 University of California, San Diego
+ *                           IEEE Micromouse
+ *
+ * File Name:   PortRegistryEvent.java
+ * Description: Event fired by the PortRegistry when a serial port is
+ *              attached to or detached from the machine.
+ */
+
+import java.awt.event.ActionEvent;
+
+/*
+ * Class definition of port hot-plug events.
+ */
+public class PortRegistryEvent extends ActionEvent {
+  public static final String ATTACHED = "Port Attached";
+  public static final String DETACHED = "Port Detached";
+
+  private final String portName;
+
+  /**
+   * Creates a hot-plug event.
+   * @param registry registry that noticed the change.
+   * @param portName system name of the port.
+   * @param attached true if the port appeared, false if it disappeared.
+   * @return Nothing.
+   */
+  public PortRegistryEvent( PortRegistry registry, String portName, boolean attached ) {
+    super( registry, ActionEvent.ACTION_PERFORMED, attached ? ATTACHED : DETACHED );
+    this.portName = portName;
+  }
+
+  /**
+   * Gets the name of the port that changed.
+   * @return system port name.
+   */
+  public String getPortName() {
+    return portName;
+  }
+
+  /**
+   * Checks if the port appeared or disappeared.
+   * @return true if the port was attached, false if it was detached.
+   */
+  public boolean isAttached() {
+    return getActionCommand() == ATTACHED;
+  }
+}
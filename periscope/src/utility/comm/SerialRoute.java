@@ -0,0 +1,421 @@
+/**
+ * Jose Jimenez-Olivas 
+ * Brandon Cramer
+ * Email: jjj023@ucsd.edu
+ * 
+ *                 University of California, San Diego
+ *                           IEEE Micromouse
+ *
+ * File Name:   SerialRoute.java
+ * Description: This class reads data from a serial port and notifies it's
+ *              listeners with message recieved
+ * Sources of Help: In section "Data Available for Reading"
+ *        github.com/Fazecast/jSerialComm/wiki/Event-Based-Reading-Usage-Example
+ */
+
+import com.fazecast.jSerialComm.*;
+import java.io.File;
+import java.util.List;
+import java.util.Vector;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Serial Route object that interacts and connects to hardware ports
+ * - getInstance() is the shared route of the simulator; every additional
+ *   device connected at the same time gets a route of its own.
+ * Messages are framed on the transport reader thread and queued; listeners
+ * are notified in order on a dedicated dispatch thread so a slow listener
+ * never blocks the port. Routes share no state, so a slow or noisy device
+ * only fills its own queue.
+ * Commands sent to the device are queued and written by a background thread
+ * (see OutboundQueue); a device that limits the commands in flight answers
+ * each command with an acknowledgement line, "ACK" or "ACK <count>". These
+ * lines are only consumed while a window is set (see setMaxInFlight); without
+ * one they reach listeners like any other line.
+ * @see https://github.com/Fazecast/jSerialComm/wiki/Event-Based-Reading-Usage-Example
+ */
+public class SerialRoute implements SerialTransport.Receiver {
+
+  private static final AtomicInteger routeCount = new AtomicInteger();
+  private static final SerialRoute instance = new SerialRoute();
+  private static final byte[] MESSAGE_DELIMITER = { '\r', '\n' };
+  private static final byte[] ACK = { 'A', 'C', 'K' };
+  private static final byte[] NO_DELIMITER = {};
+  private static final int QUEUE_CAPACITY = 1024;
+  private static final int MAX_BATCH = 64;
+  private static final long DROP_REPORT_INTERVAL = 1000000000L; /* nanoseconds */
+  private List<ActionListener> listenerList;
+  private volatile SerialTransport transport = null;
+  private final MessageFramer framer = new MessageFramer();
+  private final MessageQueue queue = new MessageQueue( QUEUE_CAPACITY );
+  private final OutboundQueue outbound;
+  private final PeriscopeStats stats = new PeriscopeStats( this );
+  private final Thread dispatcher;
+  private long reported_drops = 0;
+  private long drop_report_nanos = 0;
+
+  /**
+   * Constructor: Creates an unconnected route with its own listener list,
+   * framer, queue and dispatch thread.
+   * @return Nothing.
+   */
+  public SerialRoute() {
+    int route = routeCount.getAndIncrement();
+    listenerList = new CopyOnWriteArrayList<ActionListener>();
+    dispatcher = new Thread( new Runnable() {
+      @Override
+      public void run() {
+        dispatch();
+      }
+    }, "SerialRoute-dispatch-" + route );
+    dispatcher.setDaemon( true );
+    dispatcher.start();
+    outbound = new OutboundQueue( new OutboundQueue.Writer() {
+      @Override
+      public int write( byte[] buffer, int length ) {
+        return writeBytes( buffer, length );
+      }
+    });
+    outbound.start( "SerialRoute-outbound-" + route );
+    stats.register( "SerialRoute-" + route );
+  }
+
+  /**
+   * Gets single instance of the serial route object.
+   * @return A Serial Route object.
+   */
+  public static SerialRoute getInstance() {
+    return instance;
+  }
+
+  /**
+   * Transmits bytes through serial port.
+   * @param buffer byte buffer to be sent through serial port.
+   * @param bytesToWrite number of bytes in byte buffer to send.
+   * @return Number of bytes successfully written otherwise return -1 for error.
+   */
+  public int writeBytes( byte[] buffer, long bytesToWrite ) {
+    SerialTransport connection = transport;
+    if( connection == null ) return -1;
+    return connection.write( buffer, (int) bytesToWrite );
+  }
+
+  /**
+   * Queues a message to be sent through the port with implicit append of
+   * delimeter - returns without waiting for the port.
+   * @param message String message to be sent, encoded as UTF-8.
+   * @return Number of bytes queued otherwise return -1 if the outbound queue is full.
+   */
+  public int sendMessage( String message ) {
+    byte[] command = message.getBytes( StandardCharsets.UTF_8 );
+    if( !outbound.offer(command, command.length, MESSAGE_DELIMITER) ) return -1;
+    return command.length + MESSAGE_DELIMITER.length;
+  }
+
+  /**
+   * Queues bytes to be sent through the port as they are, e.g. binary
+   * Periscope frames, which need no delimiter.
+   * @param buffer bytes to be sent.
+   * @param length number of bytes in buffer to send.
+   * @return Number of bytes queued otherwise return -1 if the outbound queue is full.
+   */
+  public int sendBytes( byte[] buffer, int length ) {
+    if( !outbound.offer(buffer, length, NO_DELIMITER) ) return -1;
+    return length;
+  }
+
+  /**
+   * Sets how many sent messages may wait for an acknowledgement from the
+   * device before further messages are held back.
+   * @param window messages in flight, 0 to never wait for acknowledgements.
+   * @return Nothing.
+   */
+  public void setMaxInFlight( int window ) {
+    outbound.setWindow( window );
+  }
+
+  /**
+   * Gets the queue of messages waiting to be sent, e.g. for its statistics.
+   * @return outbound queue of this route.
+   */
+  public OutboundQueue getOutboundQueue() {
+    return outbound;
+  }
+
+  /**
+   * Gets the link statistics of this route, also published through JMX.
+   * Listeners report parse failures and paint latency to it.
+   * @return statistics of the received messages.
+   */
+  public PeriscopeStats getStats() {
+    return stats;
+  }
+
+  /**
+   * Connects to a specific port by string name: a hardware port from the port
+   * list, the in-memory loopback, or the path of a pseudo-terminal, named
+   * pipe or capture file.
+   * @param selectedPortName User friendly port name.
+   * @return True upon success, false otherwise.
+   */
+  public boolean connectTo( String selectedPortName ) {
+    SerialPort commPort = PortRegistry.getInstance().getPort( selectedPortName );
+    if( commPort != null ) {
+      /* bindable hardware port */
+      return connect( new JSerialCommTransport(commPort) );
+    }
+    if( selectedPortName.equals(LoopbackTransport.NAME) ) {
+      return connect( new LoopbackTransport() );
+    }
+    File device = new File( selectedPortName );
+    if( device.exists() && !device.isDirectory() ) {
+      return connect( new StreamTransport(device) );
+    }
+    return false;
+  }
+
+  /**
+   * Connects to a transport and listens to its data asynchronously.
+   * @param connection transport to the device.
+   * @return True upon success, false otherwise.
+   */
+  public boolean connect( SerialTransport connection ) {
+    disconnect();
+    framer.reset();
+    /* commands were meant for the previous device */
+    outbound.clear();
+    if( !connection.open(this) ) return false;
+    transport = connection;
+    return true;
+  }
+
+  /**
+   * Disconnects port from being open.
+   * @return Nothing.
+   */
+  public void disconnect() {
+    SerialTransport connection = transport;
+    transport = null;
+    if( connection != null ) {
+      /* clean-up previous port connection */
+      connection.close();
+    }
+  }
+
+  /**
+   * Disconnects and stops the dispatch thread for good - for routes that are
+   * no longer needed, never the shared instance.
+   * @return Nothing.
+   */
+  public void close() {
+    if( this == instance ) return;
+    disconnect();
+    dispatcher.interrupt();
+    outbound.stop();
+    stats.unregister();
+  }
+
+  /**
+   * Gets the transport of the current connection.
+   * @return connected transport, null if disconnected.
+   */
+  public SerialTransport getTransport() {
+    return transport;
+  }
+
+  /**
+   * Gets list of user friendly port names, followed by the in-memory loopback.
+   * Ports come from the PortRegistry cache, so this never enumerates devices.
+   * @return List of port names.
+   */
+  public Vector<String> getPortList() {
+    Vector<String> portList = PortRegistry.getInstance().getPortNames();
+    portList.add( LoopbackTransport.NAME );
+    return portList;
+  }
+ 
+  /**
+   * Dispatch thread loop - notifies listeners of queued messages in batches.
+   * The last message of a batch is flagged so listeners can coalesce work
+   * such as repaints.
+   * @return Nothing.
+   */
+  private void dispatch() {
+    int batch = 0;
+    while( true ) {
+      try {
+        queue.await();
+      }
+      catch( InterruptedException e ) {
+        return;
+      }
+
+      ByteBuffer message;
+      while( (message = queue.peek()) != null ) {
+        /* last queued message or batch limit ends the batch */
+        boolean end_of_batch = queue.size() == 1 || ++batch == MAX_BATCH;
+        if( end_of_batch ) batch = 0;
+        try {
+          fireActionPerformed( new SerialRouteEvent(this, message, queue.peekTimestamp(), end_of_batch) );
+        }
+        catch( RuntimeException e ) {
+          /* keep dispatching after a faulty listener */
+          e.printStackTrace();
+        }
+        queue.release();
+      }
+
+      long drops = queue.getDroppedCount();
+      long now = System.nanoTime();
+      if( drops != reported_drops && now - drop_report_nanos >= DROP_REPORT_INTERVAL ) {
+        /* at most one report per interval */
+        System.err.println( "SerialRoute: dispatch queue full, " + (drops - reported_drops) + " messages dropped" );
+        reported_drops = drops;
+        drop_report_nanos = now;
+      }
+    }
+  }
+
+  /**
+   * Notify all listeners that a message was recieved.
+   * @param evt Action event - likely a SeroualRouteEvent.
+   * @return Nothing.
+   */
+  private void fireActionPerformed( ActionEvent evt ) {
+    for( ActionListener listener : listenerList ) {
+      /* notify all action listeners of new event */
+      listener.actionPerformed( evt );
+    }
+  }
+
+  /**
+   * Adds new action listener for complete data messages from serial port.
+   * @param listener Action listener object that wants to asynchronous listen
+   *                 to message events.
+   * @return Nothing.
+   */
+  public void addActionListener( ActionListener listener ) {
+    listenerList.add( listener ); 
+  }
+
+  /**
+   * Removes an action listener.
+   * @param listener listener object that was previosly listening.
+   * @return Nothing.
+   */
+  public void removeActionListener( ActionListener listener ) {
+    listenerList.remove( listener );
+  }
+
+
+  /**
+   * Frames received bytes into delimited messages and queues each message for
+   * the dispatch thread - called on the transport reader thread.
+   * @param data buffer holding the received bytes.
+   * @param length number of valid bytes in data.
+   * @return Nothing.
+   */
+  @Override
+  public void bytesReceived( byte[] data, int length ) {
+    long timestamp = System.nanoTime();
+    stats.recordBytes( length );
+    framer.feed( data, length );
+    ByteBuffer message;
+    while( (message = framer.next()) != null ) {
+      int acknowledged = getAcknowledgedCount( message );
+      if( acknowledged > 0 && outbound.getWindow() > 0 ) {
+        /* flow control - never reaches listeners */
+        outbound.acknowledge( acknowledged );
+        continue;
+      }
+      /* copy out of framer buffer - dropped if listeners fall behind */
+      stats.recordMessage();
+      queue.offer( message, timestamp );
+    }
+    for( int corrupted = framer.pollCorruptedCount(); corrupted > 0; corrupted-- ) {
+      /* frames that failed their CRC never reach listeners */
+      stats.recordParseFailure();
+    }
+  }
+
+  /**
+   * Parses an acknowledgement line, "ACK" or "ACK <count>".
+   * @param message buffer whose position and limit bound the message.
+   * @return number of acknowledged messages, 0 if it is not an acknowledgement.
+   */
+  private static int getAcknowledgedCount( ByteBuffer message ) {
+    int start = message.position();
+    int end = message.limit();
+    if( end - start < ACK.length ) return 0;
+    for( int index = 0; index < ACK.length; index++ ) {
+      if( message.get(start + index) != ACK[ index ] ) return 0;
+    }
+    int cursor = start + ACK.length;
+    if( cursor == end ) return 1;
+    if( message.get(cursor++) != ' ' || cursor == end ) return 0;
+    int count = 0;
+    for( ; cursor < end; cursor++ ) {
+      int digit = message.get( cursor ) - '0';
+      if( digit < 0 || digit > 9 || count > Integer.MAX_VALUE / 10 ) return 0;
+      count = 10 * count + digit;
+    }
+    return count;
+  }
+
+  /**
+   * Getter for the delimiter.
+   * @return Byte array that will be treated as the delimiter.
+   */
+  public byte[] getMessageDelimiter() { 
+    return MESSAGE_DELIMITER.clone(); 
+  }
+ 
+  /**
+   * Getter method to recieve the number of ports available on the machine.
+   * @return Total number ports available.
+   */
+  public int getAvailablePortCount() {
+    return getPortList().size();
+  }
+
+  /**
+   * Number of received messages waiting to be dispatched to listeners.
+   * @return current depth of the dispatch queue.
+   */
+  public int getQueueDepth() {
+    return queue.size();
+  }
+
+  /**
+   * Number of received messages dropped because listeners fell behind.
+   * @return total dropped messages.
+   */
+  public long getDroppedMessageCount() {
+    return queue.getDroppedCount();
+  }
+
+  /**
+   * Gets the line rate of the connected port, to compare the achieved
+   * throughput against.
+   * @return bits per second, 0 if disconnected or the port has no line rate.
+   */
+  public int getBaudRate() {
+    SerialTransport connection = transport;
+    return (connection == null) ? 0 : connection.getBaudRate();
+  }
+
+  /**
+   * Gets system name of connected port.
+   * @return System port name if port is connected, otherwise null.
+   */
+  public String getConnectedPortName() {
+    SerialTransport connection = transport;
+    return (connection == null) ? null : connection.getName();
+  }
+  
+}
@@ -0,0 +1,112 @@
+/**
+ * Jose Jimenez-Olivas 
+ * Brandon Cramer
+ * Email: jjj023@ucsd.edu
+ * 
+ *                 University of California, San Diego
+ *                           IEEE Micromouse
+ *
+ * File Name:   SerialRouteEvent.java
+ * Description: This class notifies the serialRoute listeners by firing 
+ *              an event asynchronously with the data recieved on a serial 
+ *              port.
+ * Sources of Help: In section "Byte- or Multibyte-Delimited Message Received"
+ *        github.com/Fazecast/jSerialComm/wiki/Event-Based-Reading-Usage-Example
+ */
+
+import java.awt.event.ActionEvent;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/*
+ * Class definition of serial message events.
+ * This class allows asynchronous multithreading. 
+ */
+public class SerialRouteEvent extends ActionEvent {
+  SerialRoute port;
+  ByteBuffer bytes;
+  String data;
+  boolean endOfBatch = true;
+  long timestamp;
+
+  /**
+   * Creates a serial route event - used to notify listeners of string messages
+   * fired from a serial port.
+   * @param port Serial port used for listening to hardware peripherals.
+   * @param data String of data that will be requested from listeners.
+   * @return Nothing.
+   */
+  public SerialRouteEvent( SerialRoute port, String data ) {
+    this( port, ByteBuffer.wrap(data.getBytes(StandardCharsets.ISO_8859_1)) );
+    this.data = data;
+  }
+
+  /**
+   * Creates a serial route event from raw message bytes. The message is only
+   * decoded to text if a listener asks for it.
+   * @param port Serial port used for listening to hardware peripherals.
+   * @param bytes buffer whose position and limit bound the message.
+   * @return Nothing.
+   */
+  public SerialRouteEvent( SerialRoute port, ByteBuffer bytes ) {
+    super( port, ActionEvent.ACTION_PERFORMED, "Serial Communication" );
+    this.port = port;
+    this.bytes = bytes;
+    this.timestamp = System.nanoTime();
+  }
+
+  /**
+   * Creates a serial route event for a message dispatched as part of a batch.
+   * @param port Serial port used for listening to hardware peripherals.
+   * @param bytes buffer whose position and limit bound the message.
+   * @param timestamp System.nanoTime() when the message was received.
+   * @param endOfBatch true if no more messages are immediately pending.
+   * @return Nothing.
+   */
+  public SerialRouteEvent( SerialRoute port, ByteBuffer bytes, long timestamp, boolean endOfBatch ) {
+    this( port, bytes );
+    this.timestamp = timestamp;
+    this.endOfBatch = endOfBatch;
+  }
+
+  /**
+   * Gets the monotonic time the message was received at, before it waited in
+   * any queue.
+   * @return System.nanoTime() when the message was received.
+   */
+  public long getTimestamp() {
+    return timestamp;
+  }
+
+  /**
+   * Checks if this is the last message of a dispatch batch. Listeners can
+   * defer expensive work such as repainting until the end of a batch.
+   * @return true if no more messages are immediately pending.
+   */
+  public boolean isEndOfBatch() {
+    return endOfBatch;
+  }
+
+  /**
+   * Gets the raw bytes of the message that fired this event. The bytes are a
+   * view of the receive buffer and are only valid while the event is being
+   * dispatched.
+   * @return buffer whose position and limit bound the message.
+   */
+  public ByteBuffer getReceivedBytes() {
+    return bytes.duplicate();
+  }
+
+  /**
+   * Gets the message that fired this event. Bytes are decoded one to one as
+   * ISO-8859-1 characters, so the binary preamble survives decoding.
+   * @return character string representation of message.
+   */
+  public String getReceivedMessage() {
+    if( data == null ) {
+      /* decode on first request */
+      data = new String( bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining(), StandardCharsets.ISO_8859_1 );
+    }
+    return data;
+  }
+}
@@ -0,0 +1,73 @@
+/**
+ * Jose Jimenez-Olivas
+ * Brandon Cramer
+ * Email: jjj023@ucsd.edu
+ *
+ *                 University of California, San Diego
+ *                           IEEE Micromouse
+ *
+ * File Name:   SerialTransport.java
+ * Description: Byte stream connection to a micromouse that a SerialRoute
+ *              reads messages from and writes messages to.
+ */
+
+/**
+ * A serial transport moves raw bytes between the simulator and a device,
+ * whether that is a USB serial port, a pseudo-terminal or named pipe, or an
+ * in-memory loopback. Received bytes are pushed to a single receiver from one
+ * thread at a time; framing them into messages is left to the SerialRoute.
+ */
+public interface SerialTransport {
+
+  /**
+   * Destination of the bytes received by a transport.
+   */
+  public interface Receiver {
+    /**
+     * Called with newly received bytes, never from two threads at once.
+     * @param data buffer holding the received bytes - only valid during the call.
+     * @param length number of valid bytes in data.
+     * @return Nothing.
+     */
+    void bytesReceived( byte[] data, int length );
+  }
+
+  /**
+   * Opens the connection and starts delivering received bytes.
+   * @param receiver destination of the received bytes.
+   * @return True upon success, false otherwise.
+   */
+  boolean open( Receiver receiver );
+
+  /**
+   * Closes the connection; no bytes are delivered afterwards.
+   * @return Nothing.
+   */
+  void close();
+
+  /**
+   * Checks if the connection is open.
+   * @return True if bytes can be transferred, false otherwise.
+   */
+  boolean isOpen();
+
+  /**
+   * Transmits bytes to the device.
+   * @param buffer bytes to be sent.
+   * @param length number of bytes in buffer to send.
+   * @return Number of bytes successfully written otherwise return -1 for error.
+   */
+  int write( byte[] buffer, int length );
+
+  /**
+   * Line rate of the connection.
+   * @return bits per second, 0 if the connection has no line rate.
+   */
+  int getBaudRate();
+
+  /**
+   * User friendly name of the connection.
+   * @return name of the port, pipe or loopback.
+   */
+  String getName();
+}
@@ -0,0 +1,269 @@
+/**
+ * Jose Jimenez-Olivas
+ * Brandon Cramer
+ * Email: jjj023@ucsd.edu
+ *
+ *                 University of California, San Diego
+ *                           IEEE Micromouse
+ *
+ * File Name:   SessionRecorder.java
+ * Description: Records every received Periscope message with its receive
+ *              time into a compact, append-only binary session file.
+ */
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Session file:
+ *
+ *   MAGIC | VERSION | START_MILLIS | RECORD ...
+ *
+ * START_MILLIS is the wall clock time the recording started at, as an 8 byte
+ * big-endian integer. Each record is
+ *
+ *   DELTA_NANOS | HEADER | BYTES ...
+ *
+ * DELTA_NANOS is the receive time minus the receive time of the previous
+ * record (or of the start of the recording) and HEADER is the number of
+ * BYTES shifted left once, with KEYFRAME_FLAG in bit 0; both are unsigned
+ * LEB128 varints. A message record holds one message without its delimiter.
+ * A keyframe record holds Periscope binary frames that rebuild the whole
+ * mouse state at that time, so playback can seek without replaying the
+ * session from the start.
+ *
+ * Records are encoded into pooled blocks on the caller thread and written by
+ * a background thread, so recording never waits on the disk unless every
+ * block is full.
+ */
+public class SessionRecorder {
+  public static final byte[] MAGIC = { 'P', 'S', 'C', 'N' };
+  public static final int VERSION = 1;
+  public static final int HEADER_SIZE = MAGIC.length + 1 + Long.BYTES;
+  public static final int KEYFRAME_FLAG = 0x01;
+  public static final long KEYFRAME_INTERVAL = 1000000000L; /* nanoseconds */
+
+  private static final int BLOCK_SIZE = 1 << 16;
+  private static final int BLOCKS = 4;
+  private static final long FLUSH_INTERVAL = 1000000000L; /* nanoseconds */
+  private static final int MAX_VARINT_SIZE = 10;
+  private static final ByteBuffer END_OF_SESSION = ByteBuffer.allocate( 0 );
+
+  private final FileChannel channel;
+  private final BlockingQueue<ByteBuffer> freeBlocks = new ArrayBlockingQueue<ByteBuffer>( BLOCKS );
+  private final BlockingQueue<ByteBuffer> fullBlocks = new ArrayBlockingQueue<ByteBuffer>( BLOCKS + 1 );
+  private final Thread writer;
+  private volatile IOException error = null;
+  private ByteBuffer active;
+  private long previous_nanos;
+  private long block_nanos;
+  private long keyframe_nanos;
+  private boolean closed = false;
+
+  /**
+   * Creates the session file and starts the writer thread.
+   * @param session file the session is written to; replaced if it exists.
+   * @return Nothing.
+   * @throws IOException if the file cannot be created.
+   */
+  public SessionRecorder( File session ) throws IOException {
+    channel = new FileOutputStream( session ).getChannel();
+    ByteBuffer header = ByteBuffer.allocate( HEADER_SIZE );
+    header.put( MAGIC ).put( (byte) VERSION ).putLong( System.currentTimeMillis() );
+    header.flip();
+    channel.write( header );
+
+    for( int index = 0; index < BLOCKS - 1; index++ ) freeBlocks.add( ByteBuffer.allocate(BLOCK_SIZE) );
+    active = ByteBuffer.allocate( BLOCK_SIZE );
+    previous_nanos = block_nanos = System.nanoTime();
+    keyframe_nanos = previous_nanos - KEYFRAME_INTERVAL; /* first message gets a keyframe */
+
+    writer = new Thread( new Runnable() {
+      @Override
+      public void run() {
+        write();
+      }
+    }, "SessionRecorder" );
+    writer.setDaemon( true );
+    writer.start();
+  }
+
+  /**
+   * Appends a received message - only one thread may record.
+   * @param timestamp System.nanoTime() when the message was received.
+   * @param message buffer whose position and limit bound the message.
+   * @return Nothing.
+   * @throws IOException if an earlier block failed to be written.
+   */
+  public void record( long timestamp, ByteBuffer message ) throws IOException {
+    ByteBuffer block = reserve( message.remaining() );
+    putRecordHeader( block, timestamp, message.remaining(), 0 );
+    block.put( message.duplicate() );
+    flushIfStale( timestamp );
+  }
+
+  /**
+   * Appends a keyframe - only one thread may record.
+   * @param timestamp System.nanoTime() the state was captured at.
+   * @param frames Periscope binary frames that rebuild the mouse state.
+   * @param length number of bytes of frames.
+   * @return Nothing.
+   * @throws IOException if an earlier block failed to be written.
+   */
+  public void recordKeyframe( long timestamp, byte[] frames, int length ) throws IOException {
+    ByteBuffer block = reserve( length );
+    putRecordHeader( block, timestamp, length, KEYFRAME_FLAG );
+    block.put( frames, 0, length );
+    keyframe_nanos = timestamp;
+    flushIfStale( timestamp );
+  }
+
+  /**
+   * Checks if enough time passed since the last keyframe to record another.
+   * @param timestamp System.nanoTime() of the latest message.
+   * @return true if a keyframe should be recorded.
+   */
+  public boolean isKeyframeDue( long timestamp ) {
+    return timestamp - keyframe_nanos >= KEYFRAME_INTERVAL;
+  }
+
+  /**
+   * Writes every recorded message and closes the session file.
+   * @return Nothing.
+   * @throws IOException if any block failed to be written.
+   */
+  public void close() throws IOException {
+    if( closed ) return;
+    closed = true;
+    handOff( active );
+    handOff( END_OF_SESSION );
+    try {
+      writer.join();
+    }
+    catch( InterruptedException e ) {
+      Thread.currentThread().interrupt();
+    }
+    channel.close();
+    if( error != null ) throw error;
+  }
+
+  /**
+   * Gets a block with room for one record, handing off the active block if it is full.
+   * @param length number of bytes of the record payload.
+   * @return block to encode the record into.
+   * @throws IOException if an earlier block failed to be written.
+   */
+  private ByteBuffer reserve( int length ) throws IOException {
+    if( error != null ) throw error;
+    if( closed ) throw new IOException( "Session recording is closed" );
+    int size = 2 * MAX_VARINT_SIZE + length;
+    if( active.remaining() >= size ) return active;
+
+    handOff( active );
+    if( size > BLOCK_SIZE ) {
+      /* oversized record gets a block of its own - not pooled */
+      active = ByteBuffer.allocate( size );
+      return active;
+    }
+    try {
+      active = freeBlocks.take();
+    }
+    catch( InterruptedException e ) {
+      Thread.currentThread().interrupt();
+      throw new IOException( "Interrupted while waiting for the session writer", e );
+    }
+    return active;
+  }
+
+  /**
+   * Encodes the time and header of a record.
+   * @param block destination of the record.
+   * @param timestamp System.nanoTime() of the record.
+   * @param length number of bytes of the record payload.
+   * @param flags KEYFRAME_FLAG or 0.
+   * @return Nothing.
+   */
+  private void putRecordHeader( ByteBuffer block, long timestamp, int length, int flags ) {
+    putVarint( block, Math.max(0, timestamp - previous_nanos) );
+    putVarint( block, ((long) length << 1) | flags );
+    previous_nanos = Math.max( previous_nanos, timestamp );
+  }
+
+  /**
+   * Hands off the active block if it has held records for too long, so a
+   * crash loses at most about FLUSH_INTERVAL of the session.
+   * @param timestamp System.nanoTime() of the latest record.
+   * @return Nothing.
+   */
+  private void flushIfStale( long timestamp ) {
+    if( timestamp - block_nanos < FLUSH_INTERVAL ) return;
+    ByteBuffer next = freeBlocks.poll();
+    if( next == null ) return; /* writer busy - it will catch up */
+    handOff( active );
+    active = next;
+  }
+
+  /**
+   * Queues a block for the writer thread.
+   * @param block filled block, or END_OF_SESSION.
+   * @return Nothing.
+   */
+  private void handOff( ByteBuffer block ) {
+    block_nanos = System.nanoTime();
+    if( block != END_OF_SESSION && block.position() == 0 ) {
+      /* nothing recorded - keep block */
+      freeBlocks.offer( block );
+      return;
+    }
+    block.flip();
+    try {
+      fullBlocks.put( block );
+    }
+    catch( InterruptedException e ) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Writer thread loop - writes full blocks in order and recycles them.
+   * @return Nothing.
+   */
+  private void write() {
+    try {
+      while( true ) {
+        ByteBuffer block = fullBlocks.take();
+        if( block == END_OF_SESSION ) return;
+        try {
+          while( block.hasRemaining() ) channel.write( block );
+        }
+        catch( IOException e ) {
+          if( error == null ) error = e;
+        }
+        block.clear();
+        if( block.capacity() == BLOCK_SIZE ) freeBlocks.offer( block );
+      }
+    }
+    catch( InterruptedException e ) {
+      /* recording abandoned */
+    }
+  }
+
+  /**
+   * Writes an unsigned LEB128 varint.
+   * @param block destination buffer.
+   * @param value value to be written.
+   * @return Nothing.
+   */
+  private static void putVarint( ByteBuffer block, long value ) {
+    while( (value & ~0x7FL) != 0 ) {
+      block.put( (byte)((value & 0x7F) | 0x80) );
+      value >>>= 7;
+    }
+    block.put( (byte) value );
+  }
+}
@@ -0,0 +1,156 @@
+/**
+ * Jose Jimenez-Olivas
+ * Brandon Cramer
+ * Email: jjj023@ucsd.edu
+ *
+ *                 University of California, San Diego
+ *                           IEEE Micromouse
+ *
+ * File Name:   StreamTransport.java
+ * Description: Serial transport over a device file such as a Linux
+ *              pseudo-terminal, a named pipe or a captured byte stream.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Reads a device file on its own thread. Pseudo-terminals and named pipes are
+ * opened for reading and writing, which on Linux never blocks waiting for the
+ * other end; regular files such as captures are only read, once to the end.
+ * The file is read through its channel so that closing the transport wakes a
+ * blocked read, and close() waits for the reader thread to finish.
+ */
+public class StreamTransport implements SerialTransport {
+  private static final int READ_BUFFER_SIZE = 4096;
+
+  private final File path;
+  private final byte[] readBuffer = new byte[ READ_BUFFER_SIZE ];
+  private volatile RandomAccessFile stream = null;
+  private Thread reader = null;
+
+  /**
+   * Creates a transport over a device file.
+   * @param path pseudo-terminal, named pipe or file to read from.
+   * @return Nothing.
+   */
+  public StreamTransport( File path ) {
+    this.path = path;
+  }
+
+  /**
+   * Opens the file and starts the reader thread.
+   * @param receiver destination of the received bytes, null to only write,
+   *                 e.g. when playing the device end of a named pipe.
+   * @return True upon success, false otherwise.
+   */
+  @Override
+  public boolean open( final Receiver receiver ) {
+    try {
+      stream = new RandomAccessFile( path, path.isFile() ? "r" : "rw" );
+    }
+    catch( IOException e ) {
+      System.err.println( "StreamTransport: unable to open " + path + ": " + e.getMessage() );
+      return false;
+    }
+    if( receiver == null ) return true;
+    final FileChannel input = stream.getChannel();
+    reader = new Thread( new Runnable() {
+      @Override
+      public void run() {
+        ByteBuffer buffer = ByteBuffer.wrap( readBuffer );
+        try {
+          int length;
+          while( (length = input.read(buffer)) > 0 ) {
+            receiver.bytesReceived( readBuffer, length );
+            buffer.clear();
+          }
+        }
+        catch( IOException e ) {
+          /* closed or interrupted while reading */
+        }
+      }
+    }, "StreamTransport-" + path.getName() );
+    reader.setDaemon( true );
+    reader.start();
+    return true;
+  }
+
+  /**
+   * Closes the file and waits for the reader thread to end, so no bytes are
+   * delivered to the receiver once this returns.
+   * @return Nothing.
+   */
+  @Override
+  public void close() {
+    RandomAccessFile input = stream;
+    Thread thread = reader;
+    stream = null;
+    reader = null;
+    if( input == null ) return;
+    try {
+      input.close();
+    }
+    catch( IOException e ) {
+      e.printStackTrace();
+    }
+    if( thread == null || thread == Thread.currentThread() ) return;
+    /* wake a read the close did not end */
+    thread.interrupt();
+    try {
+      thread.join();
+    }
+    catch( InterruptedException e ) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Checks if the file is open.
+   * @return True if bytes can be transferred, false otherwise.
+   */
+  @Override
+  public boolean isOpen() {
+    return stream != null;
+  }
+
+  /**
+   * Writes bytes to the device file.
+   * @param buffer bytes to be sent.
+   * @param length number of bytes in buffer to send.
+   * @return Number of bytes successfully written otherwise return -1 for error.
+   */
+  @Override
+  public int write( byte[] buffer, int length ) {
+    RandomAccessFile output = stream;
+    if( output == null ) return -1;
+    try {
+      output.write( buffer, 0, length );
+      return length;
+    }
+    catch( IOException e ) {
+      return -1;
+    }
+  }
+
+  /**
+   * Line rate of the connection.
+   * @return 0, device files have no line rate.
+   */
+  @Override
+  public int getBaudRate() {
+    return 0;
+  }
+
+  /**
+   * Path of the device file.
+   * @return absolute path.
+   */
+  @Override
+  public String getName() {
+    return path.getPath();
+  }
+}
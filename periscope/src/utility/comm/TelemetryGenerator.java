@@ -0,0 +1,367 @@
+/**
+ * Jose Jimenez-Olivas
+ * Brandon Cramer
+ * Email: jjj023@ucsd.edu
+ *
+ *                 University of California, San Diego
+ *                           IEEE Micromouse
+ *
+ * File Name:   TelemetryGenerator.java
+ * Description: Plays the micromouse by sending recorded or synthetic
+ *              Periscope telemetry through a serial transport at a fixed
+ *              rate or as fast as possible.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+
+/**
+ * TelemetryGenerator loops over a list of messages, writing each one to a
+ * transport on the schedule of the requested rate. Falling behind the
+ * schedule sends the late messages back to back, so rates above what the
+ * receiver sustains turn into line-rate stress.
+ *
+ * Run without hardware: java TelemetryGenerator [-rate <msgs/s>] [-count <n>]
+ *   [-dimension <n>] [-capture <file>] [loopback | <pty or named pipe>]
+ * The loopback target also applies every message to a Mouse in process and
+ * reports the sustained throughput.
+ *
+ * Measure commands sent to the device: java TelemetryGenerator -outbound
+ *   [-count <n>] [-window <n>] [loopback | <port or pty>]
+ * Commands go through SerialRoute.sendMessage; the throughput is compared
+ * against the baud rate of hardware ports. The loopback echoes every command,
+ * and the echo acknowledges it.
+ */
+public class TelemetryGenerator implements Runnable {
+  private static final long NANOS_PER_SECOND = 1000000000L;
+  private static final byte[] MESSAGE_DELIMITER = { '\r', '\n' };
+  private static final int SNAPSHOT_INTERVAL = 8; /* rows between snapshots */
+  private static final int BITS_PER_BYTE = 10; /* start, 8 data and stop bits */
+  private static final long DRAIN_TIMEOUT = 60000; /* milliseconds */
+
+  private final SerialTransport transport;
+  private final List<byte[]> messages;
+  private final double rate;
+  private final long count;
+  private volatile boolean running = false;
+  private volatile long sent = 0;
+  private Thread thread = null;
+
+  /**
+   * Creates a generator.
+   * @param transport open transport the messages are written to.
+   * @param messages messages including their delimiter, sent in a loop.
+   * @param rate messages per second, zero or less for as fast as possible.
+   * @param count total number of messages to send.
+   * @return Nothing.
+   */
+  public TelemetryGenerator( SerialTransport transport, List<byte[]> messages, double rate, long count ) {
+    this.transport = transport;
+    this.messages = messages;
+    this.rate = rate;
+    this.count = count;
+  }
+
+  /**
+   * Starts sending on a background thread.
+   * @return Nothing.
+   */
+  public void start() {
+    running = true;
+    thread = new Thread( this, "TelemetryGenerator" );
+    thread.setDaemon( true );
+    thread.start();
+  }
+
+  /**
+   * Stops sending and waits for the background thread to finish.
+   * @return Nothing.
+   */
+  public void stop() {
+    running = false;
+    join();
+  }
+
+  /**
+   * Waits until every message was sent or the generator was stopped.
+   * @return Nothing.
+   */
+  public void join() {
+    if( thread == null ) return;
+    try {
+      thread.join();
+    }
+    catch( InterruptedException e ) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Number of messages written so far.
+   * @return total messages sent.
+   */
+  public long getSentCount() {
+    return sent;
+  }
+
+  /**
+   * Sends the messages on the rate schedule.
+   * @return Nothing.
+   */
+  @Override
+  public void run() {
+    running = true;
+    long start = System.nanoTime();
+    long period = ( rate > 0 ) ? (long)( NANOS_PER_SECOND / rate ) : 0;
+    int index = 0;
+
+    while( running && sent < count && !messages.isEmpty() ) {
+      if( period > 0 ) {
+        /* absolute schedule - late messages are sent back to back */
+        long delay = start + sent * period - System.nanoTime();
+        if( delay > 0 ) LockSupport.parkNanos( delay );
+      }
+      byte[] message = messages.get( index );
+      if( transport.write(message, message.length) < 0 ) break;
+      index = (index + 1) % messages.size();
+      sent++;
+    }
+    running = false;
+  }
+
+  /**
+   * Splits a raw capture of the serial stream, e.g. from cat /dev/ttyUSB0,
+   * into messages.
+   * @param capture file holding the received bytes.
+   * @return messages including their delimiter.
+   * @throws IOException if the file cannot be read.
+   */
+  public static List<byte[]> loadCapture( File capture ) throws IOException {
+    byte[] data = Files.readAllBytes( capture.toPath() );
+    MessageFramer framer = new MessageFramer();
+    framer.feed( data, data.length );
+
+    List<byte[]> messages = new ArrayList<byte[]>();
+    ByteBuffer message;
+    while( (message = framer.next()) != null ) {
+      boolean binary = PeriscopeFrame.isBinary( message );
+      int length = message.remaining();
+      byte[] bytes = new byte[ length + (binary ? 0 : MESSAGE_DELIMITER.length) ];
+      message.get( bytes, 0, length );
+      /* text messages need their delimiter back */
+      if( !binary ) System.arraycopy( MESSAGE_DELIMITER, 0, bytes, length, MESSAGE_DELIMITER.length );
+      messages.add( bytes );
+    }
+    return messages;
+  }
+
+  /**
+   * Creates the telemetry of a micromouse sweeping an empty maze row by row:
+   * a cell frame with flood values for every step and a full distance
+   * snapshot every few rows.
+   * @param dimension number of unit cells per side of the maze.
+   * @return binary Periscope frames.
+   */
+  public static List<byte[]> synthesize( int dimension ) {
+    List<byte[]> messages = new ArrayList<byte[]>();
+    byte[] frame = new byte[ PeriscopeFrame.MAX_FRAME_SIZE ];
+    int[] table = new int[ dimension * dimension ];
+    int[] distances = new int[ 1 + PeriscopeFrame.DIRECTIONS ];
+    for( int index = 0; index < table.length; index++ ) {
+      table[ index ] = getManhattanDistance( dimension, index / dimension, index % dimension );
+    }
+
+    for( int row = dimension - 1; row >= 0; row-- ) {
+      boolean eastbound = (dimension - 1 - row) % 2 == 0;
+      for( int step = 0; step < dimension; step++ ) {
+        /* serpentine sweep from the bottom left corner */
+        int column = eastbound ? step : dimension - 1 - step;
+        int walls = 0;
+        if( row == 0 ) walls |= PeriscopeFrame.WALL_NORTH;
+        if( column == dimension - 1 ) walls |= PeriscopeFrame.WALL_EAST;
+        if( row == dimension - 1 ) walls |= PeriscopeFrame.WALL_SOUTH;
+        if( column == 0 ) walls |= PeriscopeFrame.WALL_WEST;
+
+        distances[ 0 ] = getManhattanDistance( dimension, row, column );
+        distances[ 1 ] = getManhattanDistance( dimension, row - 1, column );
+        distances[ 2 ] = getManhattanDistance( dimension, row, column + 1 );
+        distances[ 3 ] = getManhattanDistance( dimension, row + 1, column );
+        distances[ 4 ] = getManhattanDistance( dimension, row, column - 1 );
+        int heading = eastbound ? 1 : 3;
+        int size = PeriscopeFrame.writeCell( frame, 0, dimension, dimension, row, column, heading, walls, distances );
+        messages.add( Arrays.copyOf(frame, size) );
+      }
+
+      if( row % SNAPSHOT_INTERVAL == 0 ) {
+        for( int start = 0; start < table.length; ) {
+          /* full table in as many frames as needed */
+          start += PeriscopeFrame.writeSnapshot( frame, 0, dimension, dimension, table, start );
+          messages.add( Arrays.copyOf(frame, PeriscopeFrame.getFrameSize(frame, 0, frame.length)) );
+        }
+      }
+    }
+    return messages;
+  }
+
+  /**
+   * Manhattan distance of a cell to the closest center cell.
+   * @param dimension number of unit cells per side of the maze.
+   * @param row row of the cell.
+   * @param column column of the cell.
+   * @return distance in cells.
+   */
+  private static int getManhattanDistance( int dimension, int row, int column ) {
+    int low = (dimension - 1) / 2;
+    int high = dimension / 2;
+    int row_distance = Math.max( 0, Math.max(low - row, row - high) );
+    int column_distance = Math.max( 0, Math.max(low - column, column - high) );
+    return row_distance + column_distance;
+  }
+
+  /**
+   * Sends parameter commands through a SerialRoute as fast as its outbound
+   * queue accepts them and reports the achieved throughput.
+   * @param target port, pty or loopback the commands are sent to.
+   * @param count number of commands to send.
+   * @param window commands in flight, 0 to never wait for acknowledgements.
+   * @return Nothing.
+   */
+  private static void measureOutbound( String target, long count, int window ) {
+    final SerialRoute route = new SerialRoute();
+    final boolean loopback = target.equals( LoopbackTransport.NAME );
+    final AtomicLong echoed = new AtomicLong();
+    route.addActionListener( new ActionListener() {
+      @Override
+      public void actionPerformed( ActionEvent evt ) {
+        echoed.incrementAndGet();
+        /* loopback echo stands in for the acknowledgement of the device */
+        if( loopback ) route.getOutboundQueue().acknowledge( 1 );
+      }
+    });
+    if( !route.connectTo(target) ) {
+      System.err.println( "Unable to connect to " + target );
+      System.exit( 1 );
+    }
+    route.setMaxInFlight( window );
+
+    long begin = System.nanoTime();
+    for( long index = 0; index < count; index++ ) {
+      String command = "SET " + (index % 64) + " " + index;
+      /* queue full - wait for the writer */
+      while( route.sendMessage(command) < 0 ) Thread.yield();
+    }
+    OutboundQueue queue = route.getOutboundQueue();
+    try {
+      if( !queue.drain(DRAIN_TIMEOUT) ) System.err.println( "Outbound queue did not drain" );
+    }
+    catch( InterruptedException e ) {
+      Thread.currentThread().interrupt();
+    }
+    double seconds = (System.nanoTime() - begin) / 1e9;
+    int baud = route.getBaudRate();
+    route.close();
+
+    long bytes = queue.getBytesWritten();
+    System.out.printf( "sent %d commands, %d bytes in %d writes in %.2f s (window %d, echoed %d, ack timeouts %d)%n", 
+                       queue.getCommandsWritten(), bytes, queue.getWriteCount(), seconds, window, echoed.get(), queue.getAckTimeoutCount() );
+    System.out.printf( "%.0f commands/s  %.1f KB/s%n", queue.getCommandsWritten() / seconds, bytes / seconds / 1e3 );
+    if( baud > 0 ) {
+      System.out.printf( "%.1f%% of %d baud%n", 100.0 * bytes * BITS_PER_BYTE / seconds / baud, baud );
+    }
+    else {
+      System.out.println( "no baud rate to compare against on " + target );
+    }
+  }
+
+  /**
+   * Sends telemetry to a pseudo-terminal or named pipe, or load tests the
+   * Periscope decoder through the in-memory loopback.
+   * @param args command line arguments.
+   * @return Nothing.
+   * @throws IOException if the capture file cannot be read.
+   */
+  public static void main( String[] args ) throws IOException {
+    double rate = 0;
+    long count = 1000000;
+    int dimension = 16;
+    File capture = null;
+    String target = LoopbackTransport.NAME;
+    boolean outbound = false;
+    int window = 0;
+
+    for( int index = 0; index < args.length; index++ ) {
+      /* parse command line arguments */
+      switch( args[ index ] ) {
+        case "-rate": rate = Double.parseDouble( args[ ++index ] ); break;
+        case "-count": count = Long.parseLong( args[ ++index ] ); break;
+        case "-dimension": dimension = Integer.parseInt( args[ ++index ] ); break;
+        case "-capture": capture = new File( args[ ++index ] ); break;
+        case "-outbound": outbound = true; break;
+        case "-window": window = Integer.parseInt( args[ ++index ] ); break;
+        default: target = args[ index ];
+      }
+    }
+    if( dimension < 1 || dimension > PeriscopeFrame.MAX_DIMENSION ) {
+      System.err.println( "Dimension must be between 1 and " + PeriscopeFrame.MAX_DIMENSION );
+      System.exit( 1 );
+    }
+    if( outbound ) {
+      measureOutbound( target, count, window );
+      return;
+    }
+    List<byte[]> messages = ( capture != null ) ? loadCapture( capture ) : synthesize( dimension );
+
+    if( !target.equals(LoopbackTransport.NAME) ) {
+      /* act as the device on the other end of a pty or pipe */
+      SerialTransport device = new StreamTransport( new File(target) );
+      /* commands from the simulator are not read */
+      if( !device.open(null) ) System.exit( 1 );
+      long begin = System.nanoTime();
+      new TelemetryGenerator( device, messages, rate, count ).run();
+      device.close();
+      System.err.printf( "Sent %d messages in %.2f s%n", count, (System.nanoTime() - begin) / 1e9 );
+      return;
+    }
+
+    /* in-process load test: generator -> loopback -> SerialRoute -> Mouse */
+    final Maze maze = new Maze( dimension );
+    final Mouse mouse = new Mouse( dimension - 1, 0, maze, new Maze(dimension) );
+    final AtomicLong received = new AtomicLong();
+    long bytes = 0;
+    for( byte[] message : messages ) bytes += message.length;
+
+    SerialRoute route = SerialRoute.getInstance();
+    route.addActionListener( new ActionListener() {
+      @Override
+      public void actionPerformed( ActionEvent evt ) {
+        synchronized( mouse ) {
+          mouse.periscopeProtocol( ((SerialRouteEvent) evt).getReceivedBytes() );
+        }
+        received.incrementAndGet();
+      }
+    });
+    LoopbackTransport loopback = new LoopbackTransport();
+    route.connect( loopback );
+
+    long begin = System.nanoTime();
+    TelemetryGenerator generator = new TelemetryGenerator( loopback, messages, rate, count );
+    generator.run();
+    while( route.getQueueDepth() > 0 ) Thread.yield();
+    double seconds = (System.nanoTime() - begin) / 1e9;
+    route.disconnect();
+
+    long sent = generator.getSentCount();
+    double average_size = (double) bytes / messages.size();
+    System.out.printf( "sent %d  applied %d  dropped %d  in %.2f s%n", sent, received.get(), route.getDroppedMessageCount(), seconds );
+    System.out.printf( "%.0f msgs/s  %.2f MB/s offered%n", sent / seconds, sent * average_size / seconds / 1e6 );
+  }
+}